@@ -0,0 +1,21 @@
+package com.library.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.ZoneId;
+
+// The clock behind every due date, overdue check and hold deadline
+@Configuration
+public class ClockConfig {
+
+    @Value("${library.clock.zone:}")
+    private String zone; // Empty: the JVM's default zone
+
+    @Bean
+    public Clock clock() {
+        return zone.isBlank() ? Clock.systemDefaultZone() : Clock.system(ZoneId.of(zone));
+    }
+}
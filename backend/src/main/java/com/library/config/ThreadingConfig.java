@@ -0,0 +1,79 @@
+package com.library.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual-thread mode, switched on with spring.threads.virtual.enabled. On Java 21+
+ * Spring Boot then runs Tomcat requests on virtual threads, and the library's own
+ * background threads (hold expiry, snapshots, log flusher) come from threadFactory
+ * below. The code still targets Java 17, so virtual threads are created through
+ * reflection; on an older runtime the switch is ignored with a warning.
+ *
+ * The service is safe to run on virtual threads: it never blocks inside a
+ * synchronized block (every lock is a ReentrantLock and waits use Conditions),
+ * so a blocked request releases its carrier thread.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    private static final Method OF_VIRTUAL = lookup();
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @PostConstruct
+    public void report() {
+        if (!virtualThreads) {
+            log.info("Running requests and background jobs on platform threads");
+        } else if (virtualThreadsAvailable()) {
+            log.info("Running requests and background jobs on virtual threads");
+        } else {
+            log.warn("Virtual threads need Java 21 or later (running {}); using platform threads",
+                    Runtime.version().feature());
+        }
+    }
+
+    // Thread.ofVirtual(), present from Java 21
+    private static Method lookup() {
+        try {
+            return Thread.class.getMethod("ofVirtual");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Factory for a background job's threads: virtual ones named name-0, name-1...
+     * when asked for and available, otherwise daemon platform threads called name.
+     */
+    public static ThreadFactory threadFactory(String name, boolean virtual) {
+        if (virtual && OF_VIRTUAL != null) {
+            try {
+                Object builder = OF_VIRTUAL.invoke(null);
+                Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+                builder = builderType.getMethod("name", String.class, long.class).invoke(builder, name + "-", 0L);
+                return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot create virtual threads", e);
+            }
+        }
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
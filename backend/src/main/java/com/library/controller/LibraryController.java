@@ -1,26 +1,69 @@
 package com.library.controller;
 
 import com.library.model.Book;
+import com.library.model.CirculationOperation;
+import com.library.model.Hold;
+import com.library.model.ImportJob;
+import com.library.model.LibraryStats;
 import com.library.model.Member;
-import com.library.model.OverdueRecord;
 import com.library.model.Reservation;
 import com.library.ds.CustomHashMap;
+import com.library.metrics.MetricsRegistry;
+import com.library.metrics.RecordingManager;
+import com.library.model.RecordingInfo;
+import com.library.service.ImportService;
 import com.library.service.LibraryService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 
 @RestController
 @RequestMapping("/api")
 public class LibraryController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final String UNSUPPORTED_IMPORT =
+            "Unsupported import format; send csv (text/csv) or ndjson (application/x-ndjson)";
+
     @Autowired
     private LibraryService libraryService;
 
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Autowired
+    private RecordingManager recordingManager;
+
     // --- Book Endpoints ---
 
     @PostMapping("/books")
@@ -28,9 +71,21 @@ public class LibraryController {
         return libraryService.addBook(book);
     }
 
+    // Without cursor/limit the whole catalog is returned; with either, one keyset page
     @GetMapping("/books")
-    public List<Book> getAllBooks() {
-        return libraryService.getAllBooks();
+    public ResponseEntity<?> getAllBooks(@RequestParam(required = false) Integer cursor,
+                                         @RequestParam(required = false) Integer limit) {
+        if (cursor == null && limit == null) {
+            return ResponseEntity.ok(libraryService.getAllBooks());
+        }
+        return ResponseEntity.ok(libraryService.getBooksPage(cursor != null ? cursor : 0, pageSize(limit)));
+    }
+
+    @GetMapping(value = "/books/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBooks(@RequestParam(defaultValue = "0") int cursor) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(ndjson(libraryService.getBooksAfter(cursor)));
     }
 
     @GetMapping("/books/{id}")
@@ -39,10 +94,29 @@ public class LibraryController {
     }
 
     @GetMapping("/books/search")
-    public List<Book> searchBooks(@RequestParam String q) {
-        return libraryService.searchBooks(q);
+    public List<Book> searchBooks(@RequestParam String q,
+                                  @RequestParam(defaultValue = "100") int limit) {
+        return libraryService.searchBooks(q, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+    }
+    
+    @GetMapping("/books/autocomplete")
+    public List<Book> autocomplete(@RequestParam String prefix,
+                                   @RequestParam(defaultValue = "10") int k) {
+        return libraryService.autocomplete(prefix, Math.max(k, 1));
     }
     
+    @GetMapping("/books/popular")
+    public List<Book> getPopularBooks(@RequestParam(required = false) String category,
+                                      @RequestParam(defaultValue = "10") int k) {
+        return libraryService.getPopularBooks(category, Math.min(Math.max(k, 1), MAX_PAGE_SIZE));
+    }
+
+    @GetMapping("/books/{id}/rank")
+    public ResponseEntity<?> getPopularityRank(@PathVariable int id) {
+        HashMap<String, Object> rank = libraryService.getPopularityRank(id);
+        return rank != null ? ResponseEntity.ok(rank) : ResponseEntity.notFound().build();
+    }
+
     @GetMapping("/books/category/{category}")
     public List<Book> getBooksByCategory(@PathVariable String category) {
         return libraryService.getBooksByCategory(category);
@@ -60,8 +134,31 @@ public class LibraryController {
     }
 
     @GetMapping("/members")
-    public List<Member> getAllMembers() {
-        return libraryService.getAllMembers();
+    public ResponseEntity<?> getAllMembers(@RequestParam(required = false) Integer cursor,
+                                           @RequestParam(required = false) Integer limit) {
+        if (cursor == null && limit == null) {
+            return ResponseEntity.ok(libraryService.getAllMembers());
+        }
+        return ResponseEntity.ok(libraryService.getMembersPage(cursor != null ? cursor : 0, pageSize(limit)));
+    }
+
+    @GetMapping(value = "/members/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamMembers(@RequestParam(defaultValue = "0") int cursor) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(ndjson(libraryService.getMembersAfter(cursor)));
+    }
+
+    @GetMapping("/members/by-email")
+    public ResponseEntity<Member> getMemberByEmail(@RequestParam String email) {
+        Member member = libraryService.getMemberByEmail(email);
+        return member != null ? ResponseEntity.ok(member) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/members/by-phone")
+    public ResponseEntity<Member> getMemberByPhone(@RequestParam String phone) {
+        Member member = libraryService.getMemberByPhone(phone);
+        return member != null ? ResponseEntity.ok(member) : ResponseEntity.notFound().build();
     }
 
     @GetMapping("/members/{id}")
@@ -80,12 +177,27 @@ public class LibraryController {
     public String returnBook(@RequestParam int bookId, @RequestParam int memberId) {
         return libraryService.returnBook(bookId, memberId);
     }
+
+    // Issue, return and reserve operations applied in order, with one result each
+    @PostMapping("/circulation/batch")
+    public ResponseEntity<?> processCirculationBatch(@RequestBody List<CirculationOperation> operations) {
+        if (operations.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body("At most " + MAX_BATCH_SIZE + " operations per batch");
+        }
+        return ResponseEntity.ok(libraryService.processBatch(operations));
+    }
     
     // --- Overdue & Fines Endpoints ---
     
+    // Most overdue first; without a limit, the first MAX_PAGE_SIZE records
     @GetMapping("/overdue")
-    public List<OverdueRecord> getOverdueBooks() {
-        return libraryService.getOverdueBooks();
+    public ResponseEntity<?> getOverdueBooks(@RequestParam(defaultValue = "0") int offset,
+                                             @RequestParam(required = false) Integer limit) {
+        if (offset < 0 || (limit != null && limit < 0)) {
+            return ResponseEntity.badRequest().body("offset and limit must not be negative");
+        }
+        return ResponseEntity.ok(libraryService.getOverdueBooks(offset,
+                limit != null ? Math.min(limit, MAX_PAGE_SIZE) : MAX_PAGE_SIZE));
     }
     
     // --- Reservation Endpoints ---
@@ -94,6 +206,11 @@ public class LibraryController {
     public String reserveBook(@RequestParam int bookId, @RequestParam int memberId) {
         return libraryService.reserveBook(bookId, memberId);
     }
+
+    @PostMapping("/reserve/cancel")
+    public String cancelReservation(@RequestParam int bookId, @RequestParam int memberId) {
+        return libraryService.cancelReservation(bookId, memberId);
+    }
     
     @GetMapping("/reservations")
     public List<Reservation> getAllReservations() {
@@ -105,6 +222,11 @@ public class LibraryController {
         return libraryService.getReservationsForBook(bookId);
     }
     
+    @GetMapping("/holds")
+    public List<Hold> getHolds(@RequestParam(required = false) Integer memberId) {
+        return memberId != null ? libraryService.getHoldsForMember(memberId) : libraryService.getHolds();
+    }
+
     // --- Enhanced Member Details ---
     
     @GetMapping("/members/{id}/details")
@@ -112,6 +234,75 @@ public class LibraryController {
         return libraryService.getMemberDetails(id);
     }
     
+    // --- Statistics ---
+
+    @GetMapping("/stats")
+    public LibraryStats getStats() {
+        return libraryService.getStats();
+    }
+
+    // --- Metrics ---
+
+    // Latency percentiles (microseconds) per endpoint and service method, plus structure gauges
+    @GetMapping("/metrics")
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("endpoints", metricsRegistry.getEndpoints());
+        metrics.put("methods", metricsRegistry.getMethods());
+        metrics.put("structures", libraryService.getStructureMetrics());
+        return metrics;
+    }
+
+    @PostMapping("/metrics/reset")
+    public ResponseEntity<Void> resetMetrics() {
+        metricsRegistry.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    // --- Flight Recording ---
+
+    // settings: "default" (low overhead) or "profile"; stops on its own after durationSeconds
+    @PostMapping("/recording/start")
+    public ResponseEntity<?> startRecording(@RequestParam(defaultValue = "default") String settings,
+                                            @RequestParam(required = false) Long durationSeconds) {
+        try {
+            Duration duration = durationSeconds != null ? Duration.ofSeconds(Math.max(durationSeconds, 1)) : null;
+            return ResponseEntity.ok(recordingManager.start(settings, duration));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (IOException | ParseException e) {
+            return ResponseEntity.badRequest().body("Cannot start recording: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/recording/stop")
+    public ResponseEntity<?> stopRecording() {
+        try {
+            return ResponseEntity.ok(recordingManager.stop());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/recording")
+    public ResponseEntity<RecordingInfo> getRecording() {
+        RecordingInfo info = recordingManager.status();
+        return info != null ? ResponseEntity.ok(info) : ResponseEntity.notFound().build();
+    }
+
+    // The last finished recording, for opening in JDK Mission Control or `jfr print`
+    @GetMapping("/recording/file")
+    public ResponseEntity<Resource> downloadRecording() {
+        Path file = recordingManager.lastFile();
+        if (file == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                .body(new FileSystemResource(file));
+    }
+
     // --- Sample Data Loading ---
     
     @PostMapping("/load-sample-books")
@@ -131,4 +322,80 @@ public class LibraryController {
         response.put("members", members);
         return ResponseEntity.ok(response);
     }
+
+    // --- Bulk Import Endpoints ---
+
+    // The body is streamed, never buffered; format is csv or ndjson (default: from Content-Type)
+    @PostMapping(value = "/import/books", consumes = MediaType.ALL_VALUE)
+    public ResponseEntity<?> importBooks(@RequestParam(required = false) String format,
+                                         HttpServletRequest request) throws IOException {
+        String resolved = importFormat(format, request.getContentType());
+        if (resolved == null) {
+            return ResponseEntity.badRequest().body(UNSUPPORTED_IMPORT);
+        }
+        return importResult(importService.importBooks(request.getInputStream(), resolved));
+    }
+
+    @PostMapping(value = "/import/members", consumes = MediaType.ALL_VALUE)
+    public ResponseEntity<?> importMembers(@RequestParam(required = false) String format,
+                                           HttpServletRequest request) throws IOException {
+        String resolved = importFormat(format, request.getContentType());
+        if (resolved == null) {
+            return ResponseEntity.badRequest().body(UNSUPPORTED_IMPORT);
+        }
+        return importResult(importService.importMembers(request.getInputStream(), resolved));
+    }
+
+    // Progress of running and finished imports
+    @GetMapping("/import/jobs")
+    public List<ImportJob> getImportJobs() {
+        return importService.getJobs();
+    }
+
+    @GetMapping("/import/jobs/{id}")
+    public ResponseEntity<ImportJob> getImportJob(@PathVariable int id) {
+        ImportJob job = importService.getJob(id);
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
+
+    // --- Helpers ---
+
+    private static String importFormat(String format, String contentType) {
+        if (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE)) {
+            return null; // The container consumes form bodies as parameters
+        }
+        if (format != null) {
+            String f = format.toLowerCase(Locale.ROOT);
+            return f.equals(ImportService.FORMAT_CSV) || f.equals(ImportService.FORMAT_NDJSON) ? f : null;
+        }
+        if (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("text/csv")) {
+            return ImportService.FORMAT_CSV;
+        }
+        return ImportService.FORMAT_NDJSON;
+    }
+
+    private static ResponseEntity<ImportJob> importResult(ImportJob job) {
+        return job.getStatus() == ImportJob.Status.FAILED
+                ? ResponseEntity.badRequest().body(job)
+                : ResponseEntity.ok(job);
+    }
+
+    private int pageSize(Integer limit) {
+        if (limit == null || limit <= 0) return DEFAULT_PAGE_SIZE;
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    // Writes one JSON document per line straight to the response, never buffering the list
+    private StreamingResponseBody ndjson(List<?> records) {
+        return out -> {
+            ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                for (Object record : records) {
+                    writer.writeValue(generator, record);
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+    }
 }
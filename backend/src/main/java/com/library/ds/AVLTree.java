@@ -116,6 +116,34 @@ public class AVLTree {
         return node;
     }
 
+    // Builds a perfectly balanced tree from books sorted by ID - O(n) instead of n inserts
+    public void bulkLoad(java.util.List<Book> sortedById) {
+        for (int i = 1; i < sortedById.size(); i++) {
+            if (sortedById.get(i - 1).getId() >= sortedById.get(i).getId()) {
+                throw new IllegalArgumentException("Books must be sorted by ascending, unique ID");
+            }
+        }
+        if (root != null) {
+            throw new IllegalStateException("Bulk load requires an empty tree");
+        }
+        root = build(sortedById, 0, sortedById.size() - 1);
+    }
+
+    private Node build(java.util.List<Book> sorted, int lo, int hi) {
+        if (lo > hi) return null;
+        int mid = (lo + hi) >>> 1;
+        Book book = sorted.get(mid);
+        Node node = new Node(book.getId(), book);
+        node.left = build(sorted, lo, mid - 1);
+        node.right = build(sorted, mid + 1, hi);
+        node.height = 1 + max(height(node.left), height(node.right));
+        return node;
+    }
+
+    public int height() {
+        return height(root);
+    }
+
     public Book search(int key) {
         Node current = root;
         while (current != null) {
@@ -129,6 +157,34 @@ public class AVLTree {
         return null;
     }
 
+    // Keyset pagination: up to limit values with key > afterKey, in key order - O(log n + limit)
+    public java.util.List<Book> rangeAfter(int afterKey, int limit) {
+        java.util.List<Book> result = new java.util.ArrayList<>();
+        CustomStack<Node> stack = new CustomStack<>();
+
+        // Push the path of nodes whose key is > afterKey; the top is the smallest such key
+        Node current = root;
+        while (current != null) {
+            if (current.key > afterKey) {
+                stack.push(current);
+                current = current.left;
+            } else {
+                current = current.right;
+            }
+        }
+
+        while (!stack.isEmpty() && result.size() < limit) {
+            Node node = stack.pop();
+            result.add(node.value);
+            current = node.right;
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+        }
+        return result;
+    }
+
     // In-order traversal helper
     public void inorderTraversal(Node node, java.util.List<Book> result) {
         if (node != null) {
@@ -0,0 +1,108 @@
+package com.library.ds;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Chunked Array List Implementation.
+ * Elements live in fixed-size array chunks, so appending is O(1) and never copies
+ * existing elements (only the small chunk directory is copied when it fills up),
+ * and indexed access is two array reads.
+ *
+ * Append-only and safe to share: appends serialize on an internal lock, while
+ * reads are lock-free because the size is published after the element is stored.
+ * view() exposes the current contents as a read-only List without copying.
+ */
+public class ChunkedArrayList<T> implements Iterable<T> {
+
+    private static final int CHUNK_SHIFT = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT; // 1024 elements per chunk
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private volatile Object[][] chunks = new Object[4][];
+    private volatile int size;
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    // Add to end - O(1)
+    public void add(T data) {
+        appendLock.lock();
+        try {
+            int index = size;
+            int chunk = index >>> CHUNK_SHIFT;
+            Object[][] dir = chunks;
+            if (chunk == dir.length) {
+                dir = Arrays.copyOf(dir, dir.length * 2);
+                chunks = dir;
+            }
+            if (dir[chunk] == null) {
+                dir[chunk] = new Object[CHUNK_SIZE];
+            }
+            dir[chunk][index & CHUNK_MASK] = data;
+            size = index + 1; // Publishes the element to readers
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // Get by index - O(1)
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return (T) chunks[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Read-only view of the first size() elements at the time of the call - O(1), no copy
+    public List<T> view() {
+        return new View<>(this, size);
+    }
+
+    @Override
+    public java.util.Iterator<T> iterator() {
+        return view().iterator();
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        int n = size;
+        for (int i = 0; i < n; i++) {
+            action.accept(get(i));
+        }
+    }
+
+    private static final class View<T> extends AbstractList<T> implements RandomAccess {
+        private final ChunkedArrayList<T> list;
+        private final int size;
+
+        View(ChunkedArrayList<T> list, int size) {
+            this.list = list;
+            this.size = size;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return list.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
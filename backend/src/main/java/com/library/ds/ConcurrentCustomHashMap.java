@@ -0,0 +1,353 @@
+package com.library.ds;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent Hash Map Implementation.
+ * Separate chaining like CustomHashMap, but safe to share between threads:
+ * - Reads never lock: buckets and chain links are published through volatile writes.
+ * - Writes lock one of a fixed set of stripes chosen by the key's hash.
+ * - Resizing is incremental: once the table passes its load factor a table twice
+ *   the size is allocated and every following write migrates a few buckets into it,
+ *   so no single write pays for a full rehash.
+ * Null keys and values are not supported (get returns null for a missing key).
+ */
+public class ConcurrentCustomHashMap<K, V> {
+
+    private static final int STRIPES = 16; // Table length never drops below this
+    private static final int MIGRATE_CHUNK = 4; // Buckets migrated per write during a resize
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private static class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    // Placed in a bucket of the old table once it has been copied to the new one
+    private static final class Forward<K, V> extends Node<K, V> {
+        final Table<K, V> target;
+
+        Forward(Table<K, V> target) {
+            super(0, null, null, null);
+            this.target = target;
+        }
+    }
+
+    private static final class Table<K, V> {
+        final AtomicReferenceArray<Node<K, V>> buckets;
+        final int mask;
+
+        Table(int capacity) {
+            this.buckets = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+
+        int length() {
+            return mask + 1;
+        }
+    }
+
+    // Progress of one table doubling, shared by every writer that helps with it
+    private static final class Resize<K, V> {
+        final Table<K, V> from;
+        final Table<K, V> to;
+        final AtomicInteger cursor = new AtomicInteger();
+        final AtomicInteger migrated = new AtomicInteger();
+
+        Resize(Table<K, V> from) {
+            this.from = from;
+            this.to = new Table<>(from.length() << 1);
+        }
+    }
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private final ReentrantLock resizeLock = new ReentrantLock();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private volatile Table<K, V> table;
+    // Non-null while a resize is in progress
+    private volatile Resize<K, V> resize;
+
+    public ConcurrentCustomHashMap(int capacity) {
+        int cap = STRIPES;
+        while (cap < capacity) {
+            cap <<= 1;
+        }
+        this.table = new Table<>(cap);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public ConcurrentCustomHashMap() {
+        this(16); // Default capacity
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    // The stripe only depends on the low bits, so a bucket and both of its
+    // halves in the doubled table always share the same stripe.
+    private ReentrantLock stripeFor(int hash) {
+        return stripes[hash & (STRIPES - 1)];
+    }
+
+    // Follows forwarding nodes until reaching the table that owns the bucket.
+    // Only stable while holding the bucket's stripe, which migration also takes
+    private Table<K, V> ownerOf(int hash) {
+        Table<K, V> tab = table;
+        Node<K, V> head = tab.buckets.get(hash & tab.mask);
+        while (head instanceof Forward) {
+            tab = ((Forward<K, V>) head).target;
+            head = tab.buckets.get(hash & tab.mask);
+        }
+        return tab;
+    }
+
+    public V get(K key) {
+        int h = hash(key);
+        // Resolve forwarding from the head actually walked: reading the bucket again
+        // after ownerOf could find it migrated meanwhile and walk the Forward itself
+        Table<K, V> tab = table;
+        Node<K, V> current = tab.buckets.get(h & tab.mask);
+        while (current instanceof Forward) {
+            tab = ((Forward<K, V>) current).target;
+            current = tab.buckets.get(h & tab.mask);
+        }
+        while (current != null) {
+            if (current.hash == h && current.key.equals(key)) {
+                return current.value;
+            }
+            current = current.next;
+        }
+        return null; // Not found
+    }
+
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    public void put(K key, V value) {
+        putInternal(key, value, false);
+    }
+
+    // Returns the existing value if present, otherwise stores value and returns null
+    public V putIfAbsent(K key, V value) {
+        return putInternal(key, value, true);
+    }
+
+    private V putInternal(K key, V value, boolean onlyIfAbsent) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Null keys and values are not supported");
+        }
+        int h = hash(key);
+        ReentrantLock lock = stripeFor(h);
+        lock.lock();
+        try {
+            // Migration of this bucket also needs the stripe, so the owner is stable here
+            Table<K, V> tab = ownerOf(h);
+            int index = h & tab.mask;
+            Node<K, V> head = tab.buckets.get(index);
+
+            Node<K, V> current = head;
+            while (current != null) {
+                if (current.hash == h && current.key.equals(key)) {
+                    V old = current.value;
+                    if (!onlyIfAbsent) {
+                        current.value = value; // Update existing
+                    }
+                    return old;
+                }
+                current = current.next;
+            }
+
+            // Add to front; the volatile set publishes the fully built node
+            tab.buckets.set(index, new Node<>(h, key, value, head));
+        } finally {
+            lock.unlock();
+        }
+        size.incrementAndGet();
+        afterWrite();
+        return null;
+    }
+
+    public void remove(K key) {
+        int h = hash(key);
+        ReentrantLock lock = stripeFor(h);
+        lock.lock();
+        try {
+            Table<K, V> tab = ownerOf(h);
+            int index = h & tab.mask;
+            Node<K, V> current = tab.buckets.get(index);
+            Node<K, V> prev = null;
+
+            while (current != null) {
+                if (current.hash == h && current.key.equals(key)) {
+                    // Readers already on this node still see its next link
+                    if (prev == null) {
+                        tab.buckets.set(index, current.next);
+                    } else {
+                        prev.next = current.next;
+                    }
+                    size.decrementAndGet();
+                    break;
+                }
+                prev = current;
+                current = current.next;
+            }
+        } finally {
+            lock.unlock();
+        }
+        afterWrite();
+    }
+
+    // --- Incremental Resizing ---
+
+    private void afterWrite() {
+        if (resize == null && size.get() > table.length() * LOAD_FACTOR) {
+            startResize();
+        }
+        Resize<K, V> r = resize;
+        if (r != null) {
+            migrateChunk(r);
+        }
+    }
+
+    private void startResize() {
+        resizeLock.lock();
+        try {
+            if (resize == null && size.get() > table.length() * LOAD_FACTOR) {
+                resize = new Resize<>(table);
+            }
+        } finally {
+            resizeLock.unlock();
+        }
+    }
+
+    private void migrateChunk(Resize<K, V> r) {
+        int length = r.from.length();
+        int start = r.cursor.getAndAdd(MIGRATE_CHUNK);
+        if (start >= length) {
+            return; // Every bucket is already claimed
+        }
+        int end = Math.min(start + MIGRATE_CHUNK, length);
+        for (int i = start; i < end; i++) {
+            migrateBucket(r.from, r.to, i);
+        }
+        if (r.migrated.addAndGet(end - start) == length) {
+            resizeLock.lock();
+            try {
+                table = r.to;
+                resize = null;
+            } finally {
+                resizeLock.unlock();
+            }
+        }
+    }
+
+    private void migrateBucket(Table<K, V> from, Table<K, V> to, int index) {
+        ReentrantLock lock = stripes[index & (STRIPES - 1)];
+        lock.lock();
+        try {
+            Node<K, V> low = null;
+            Node<K, V> high = null;
+            // Copy rather than relink so readers still walking the old chain are unaffected
+            for (Node<K, V> n = from.buckets.get(index); n != null; n = n.next) {
+                if ((n.hash & from.length()) == 0) {
+                    low = new Node<>(n.hash, n.key, n.value, low);
+                } else {
+                    high = new Node<>(n.hash, n.key, n.value, high);
+                }
+            }
+            to.buckets.set(index, low);
+            to.buckets.set(index + from.length(), high);
+            from.buckets.set(index, new Forward<>(to));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // --- Views (weakly consistent: reflect some state during the traversal) ---
+
+    private interface Visitor<K, V> {
+        void visit(Node<K, V> node);
+    }
+
+    private void forEachNode(Visitor<K, V> visitor) {
+        Table<K, V> tab = table;
+        for (int i = 0; i < tab.length(); i++) {
+            visitBucket(tab, i, visitor);
+        }
+    }
+
+    private void visitBucket(Table<K, V> tab, int index, Visitor<K, V> visitor) {
+        Node<K, V> head = tab.buckets.get(index);
+        if (head instanceof Forward) {
+            Table<K, V> target = ((Forward<K, V>) head).target;
+            visitBucket(target, index, visitor);
+            visitBucket(target, index + tab.length(), visitor);
+            return;
+        }
+        for (Node<K, V> n = head; n != null; n = n.next) {
+            visitor.visit(n);
+        }
+    }
+
+    public List<V> values() {
+        List<V> values = new ArrayList<>();
+        forEachNode(n -> values.add(n.value));
+        return values;
+    }
+
+    public List<K> keySet() {
+        List<K> keys = new ArrayList<>();
+        forEachNode(n -> keys.add(n.key));
+        return keys;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public int capacity() {
+        return table.length();
+    }
+
+    // Longest collision chain - O(capacity), for monitoring
+    public int maxChainLength() {
+        Table<K, V> tab = table;
+        int max = 0;
+        for (int i = 0; i < tab.length(); i++) {
+            max = Math.max(max, chainLength(tab, i));
+        }
+        return max;
+    }
+
+    private int chainLength(Table<K, V> tab, int index) {
+        Node<K, V> head = tab.buckets.get(index);
+        if (head instanceof Forward) {
+            Table<K, V> target = ((Forward<K, V>) head).target;
+            return Math.max(chainLength(target, index), chainLength(target, index + tab.length()));
+        }
+        int length = 0;
+        for (Node<K, V> n = head; n != null; n = n.next) {
+            length++;
+        }
+        return length;
+    }
+}
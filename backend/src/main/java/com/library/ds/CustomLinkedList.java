@@ -11,6 +11,7 @@ import java.util.function.Consumer;
 public class CustomLinkedList<T> {
 
     private Node<T> head;
+    private Node<T> tail;
     private int size;
 
     private static class Node<T> {
@@ -25,21 +26,19 @@ public class CustomLinkedList<T> {
 
     public CustomLinkedList() {
         this.head = null;
+        this.tail = null;
         this.size = 0;
     }
 
-    // Add to end - O(n)
+    // Add to end - O(1) using the tail pointer
     public void add(T data) {
         Node<T> newNode = new Node<>(data);
         if (head == null) {
             head = newNode;
         } else {
-            Node<T> current = head;
-            while (current.next != null) {
-                current = current.next;
-            }
-            current.next = newNode;
+            tail.next = newNode;
         }
+        tail = newNode;
         size++;
     }
 
@@ -48,6 +47,9 @@ public class CustomLinkedList<T> {
         Node<T> newNode = new Node<>(data);
         newNode.next = head;
         head = newNode;
+        if (tail == null) {
+            tail = newNode;
+        }
         size++;
     }
 
@@ -69,6 +71,9 @@ public class CustomLinkedList<T> {
 
         if (head.data.equals(data)) {
             head = head.next;
+            if (head == null) {
+                tail = null;
+            }
             size--;
             return true;
         }
@@ -76,6 +81,9 @@ public class CustomLinkedList<T> {
         Node<T> current = head;
         while (current.next != null) {
             if (current.next.data.equals(data)) {
+                if (current.next == tail) {
+                    tail = current;
+                }
                 current.next = current.next.next;
                 size--;
                 return true;
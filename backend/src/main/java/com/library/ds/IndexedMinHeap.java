@@ -0,0 +1,199 @@
+package com.library.ds;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Indexed Min-Heap Implementation.
+ * Like MinHeap, but remembers where every element sits in the array so an
+ * arbitrary element can be removed or re-positioned in O(log n). Elements are
+ * tracked by identity. Used as a persistent due-date index for open loans.
+ * Not thread-safe.
+ */
+public class IndexedMinHeap<T> {
+
+    private Object[] heap;
+    private int size;
+    private final Comparator<? super T> comparator;
+    private final Map<T, Integer> positions = new IdentityHashMap<>();
+
+    public IndexedMinHeap(Comparator<? super T> comparator, int capacity) {
+        this.comparator = comparator;
+        this.heap = new Object[Math.max(capacity, 1)];
+    }
+
+    public IndexedMinHeap(Comparator<? super T> comparator) {
+        this(comparator, 64);
+    }
+
+    private int parent(int i) { return (i - 1) / 2; }
+    private int leftChild(int i) { return (2 * i) + 1; }
+    private int rightChild(int i) { return (2 * i) + 2; }
+
+    @SuppressWarnings("unchecked")
+    private T at(int i) {
+        return (T) heap[i];
+    }
+
+    private int compare(int i, int j) {
+        return comparator.compare(at(i), at(j));
+    }
+
+    private void place(int i, Object item) {
+        heap[i] = item;
+        positions.put(at(i), i);
+    }
+
+    private void swap(int i, int j) {
+        Object temp = heap[i];
+        place(i, heap[j]);
+        place(j, temp);
+    }
+
+    public void insert(T item) {
+        if (positions.containsKey(item)) {
+            throw new IllegalArgumentException("Element is already in the heap");
+        }
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        place(size, item);
+        siftUp(size++);
+    }
+
+    // Removes an arbitrary element - O(log n). Returns false if it is not present.
+    public boolean remove(T item) {
+        Integer pos = positions.remove(item);
+        if (pos == null) return false;
+
+        int last = --size;
+        T moved = at(last);
+        heap[last] = null;
+        if (pos != last) {
+            place(pos, moved);
+            // The moved element may need to go either way
+            siftUp(pos);
+            siftDown(positions.get(moved));
+        }
+        return true;
+    }
+
+    // Restores heap order after the ordering key of an element has changed
+    public void update(T item) {
+        Integer pos = positions.get(item);
+        if (pos == null) return;
+        siftUp(pos);
+        siftDown(positions.get(item));
+    }
+
+    public boolean contains(T item) {
+        return positions.containsKey(item);
+    }
+
+    private void siftUp(int i) {
+        while (i != 0 && compare(parent(i), i) > 0) {
+            swap(i, parent(i));
+            i = parent(i);
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int l = leftChild(i);
+            int r = rightChild(i);
+            int smallest = i;
+
+            if (l < size && compare(l, smallest) < 0)
+                smallest = l;
+            if (r < size && compare(r, smallest) < 0)
+                smallest = r;
+
+            if (smallest == i) return;
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    public T peek() {
+        if (size <= 0) return null;
+        return at(0);
+    }
+
+    public T extractMin() {
+        T min = peek();
+        if (min != null) {
+            remove(min);
+        }
+        return min;
+    }
+
+    /**
+     * Returns up to k smallest elements in ascending order without modifying the
+     * heap, stopping early at the first element that fails the condition.
+     * Walks the heap best-first with a small frontier heap: O(k log k).
+     */
+    public List<T> peekSmallest(int k, Predicate<? super T> condition) {
+        List<T> result = new ArrayList<>(Math.min(k, size));
+        if (size == 0 || k <= 0) return result;
+
+        // Frontier of heap indices, itself kept as a binary heap
+        int[] frontier = new int[16];
+        int frontierSize = 0;
+        frontier[frontierSize++] = 0;
+
+        while (frontierSize > 0 && result.size() < k) {
+            int top = frontier[0];
+            frontier[0] = frontier[--frontierSize];
+            frontierSiftDown(frontier, frontierSize, 0);
+
+            T item = at(top);
+            if (!condition.test(item)) break;
+            result.add(item);
+
+            for (int child = leftChild(top); child <= rightChild(top) && child < size; child++) {
+                if (frontierSize == frontier.length) {
+                    frontier = Arrays.copyOf(frontier, frontier.length * 2);
+                }
+                int i = frontierSize++;
+                frontier[i] = child;
+                while (i != 0 && compare(frontier[parent(i)], frontier[i]) > 0) {
+                    int temp = frontier[i];
+                    frontier[i] = frontier[parent(i)];
+                    frontier[parent(i)] = temp;
+                    i = parent(i);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void frontierSiftDown(int[] frontier, int frontierSize, int i) {
+        while (true) {
+            int l = leftChild(i);
+            int r = rightChild(i);
+            int smallest = i;
+            if (l < frontierSize && compare(frontier[l], frontier[smallest]) < 0)
+                smallest = l;
+            if (r < frontierSize && compare(frontier[r], frontier[smallest]) < 0)
+                smallest = r;
+            if (smallest == i) return;
+            int temp = frontier[i];
+            frontier[i] = frontier[smallest];
+            frontier[smallest] = temp;
+            i = smallest;
+        }
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,244 @@
+package com.library.ds;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Open-Addressing Hash Map specialised for int keys.
+ * Keys are stored in a plain int[] next to an Object[] of values, so lookups never
+ * box the key and allocate nothing. Tables are powers of two and collisions are
+ * resolved with linear probing.
+ *
+ * Reads are lock-free: a writer stores the key before publishing the value with
+ * release semantics, and readers treat an empty value slot as the end of the probe.
+ * Removed entries become tombstones until the next resize. Writers serialize on a
+ * single lock, which suits indexes that are read far more often than written.
+ */
+public class IntObjectMap<V> {
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final Object TOMBSTONE = new Object();
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private static final class Table {
+        final int[] keys;
+        final Object[] values;
+        final int mask;
+
+        Table(int capacity) {
+            this.keys = new int[capacity];
+            this.values = new Object[capacity];
+            this.mask = capacity - 1;
+        }
+    }
+
+    public interface EntryConsumer<V> {
+        void accept(int key, V value);
+    }
+
+    private volatile Table table;
+    private volatile int size;
+    private int used; // Live entries plus tombstones, guarded by writeLock
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public IntObjectMap(int expectedSize) {
+        int cap = 16;
+        while (cap * LOAD_FACTOR < expectedSize) {
+            cap <<= 1;
+        }
+        this.table = new Table(cap);
+    }
+
+    public IntObjectMap() {
+        this(8);
+    }
+
+    // Fibonacci hashing spreads sequential IDs over the whole table
+    private static int slot(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        Table tab = table;
+        int i = slot(key, tab.mask);
+        while (true) {
+            Object v = SLOTS.getAcquire(tab.values, i);
+            if (v == null) {
+                return null; // Reached an empty slot
+            }
+            if (v != TOMBSTONE && tab.keys[i] == key) {
+                return (V) v;
+            }
+            i = (i + 1) & tab.mask;
+        }
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    public void put(int key, V value) {
+        putInternal(key, value, false);
+    }
+
+    // Returns the existing value if present, otherwise stores value and returns null
+    public V putIfAbsent(int key, V value) {
+        return putInternal(key, value, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V putInternal(int key, V value, boolean onlyIfAbsent) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        writeLock.lock();
+        try {
+            Table tab = table;
+            int i = slot(key, tab.mask);
+            while (true) {
+                Object v = tab.values[i];
+                if (v == null) {
+                    break;
+                }
+                if (v != TOMBSTONE && tab.keys[i] == key) {
+                    if (!onlyIfAbsent) {
+                        SLOTS.setRelease(tab.values, i, value); // Update existing
+                    }
+                    return (V) v;
+                }
+                i = (i + 1) & tab.mask;
+            }
+
+            // Key first, then publish the value
+            tab.keys[i] = key;
+            SLOTS.setRelease(tab.values, i, value);
+            size++;
+            used++;
+            if (used > (tab.mask + 1) * LOAD_FACTOR) {
+                rehash(size * 2 > (tab.mask + 1) * LOAD_FACTOR ? (tab.mask + 1) << 1 : tab.mask + 1);
+            }
+            return null;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(int key) {
+        writeLock.lock();
+        try {
+            Table tab = table;
+            int i = slot(key, tab.mask);
+            while (true) {
+                Object v = tab.values[i];
+                if (v == null) {
+                    return;
+                }
+                if (v != TOMBSTONE && tab.keys[i] == key) {
+                    SLOTS.setRelease(tab.values, i, TOMBSTONE);
+                    size--;
+                    return;
+                }
+                i = (i + 1) & tab.mask;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Grows the table once up front before a bulk load, instead of doubling repeatedly
+    public void ensureCapacity(int expectedSize) {
+        writeLock.lock();
+        try {
+            int cap = table.mask + 1;
+            while (cap * LOAD_FACTOR < expectedSize) {
+                cap <<= 1;
+            }
+            if (cap > table.mask + 1) {
+                rehash(cap);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Builds a fresh table without tombstones and publishes it in one volatile write.
+    // Caller must hold writeLock.
+    private void rehash(int capacity) {
+        Table old = table;
+        Table tab = new Table(capacity);
+        for (int j = 0; j <= old.mask; j++) {
+            Object v = old.values[j];
+            if (v != null && v != TOMBSTONE) {
+                int i = slot(old.keys[j], tab.mask);
+                while (tab.values[i] != null) {
+                    i = (i + 1) & tab.mask;
+                }
+                tab.keys[i] = old.keys[j];
+                tab.values[i] = v;
+            }
+        }
+        used = size;
+        table = tab;
+    }
+
+    // --- Views (weakly consistent) ---
+
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> action) {
+        Table tab = table;
+        for (int i = 0; i <= tab.mask; i++) {
+            Object v = SLOTS.getAcquire(tab.values, i);
+            if (v != null && v != TOMBSTONE) {
+                action.accept(tab.keys[i], (V) v);
+            }
+        }
+    }
+
+    public List<V> values() {
+        List<V> values = new ArrayList<>(size);
+        forEach((k, v) -> values.add(v));
+        return values;
+    }
+
+    public int[] keys() {
+        int[] keys = new int[size];
+        int[] n = {0};
+        forEach((k, v) -> {
+            if (n[0] < keys.length) {
+                keys[n[0]++] = k;
+            }
+        });
+        return n[0] == keys.length ? keys : Arrays.copyOf(keys, n[0]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return table.mask + 1;
+    }
+
+    // Longest linear probe any live key needs (1 = found in its home slot) - O(capacity), for monitoring
+    public int maxProbeLength() {
+        Table tab = table;
+        int max = 0;
+        for (int i = 0; i <= tab.mask; i++) {
+            Object v = SLOTS.getAcquire(tab.values, i);
+            if (v != null && v != TOMBSTONE) {
+                max = Math.max(max, ((i - slot(tab.keys[i], tab.mask)) & tab.mask) + 1);
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,326 @@
+package com.library.ds;
+
+import com.library.model.Book;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Inverted Index Implementation for full-text book search.
+ * Titles, authors and categories are split into lowercase word tokens; every token
+ * maps to a posting list of the books containing it, kept sorted by book ID.
+ *
+ * Queries are AND-ed word prefixes ("cle cod" matches "Clean Code"), evaluated by
+ * expanding each query word over the sorted term dictionary, driving from the most
+ * selective word and probing the others. Results are ranked by where the words
+ * matched (title > author > category) and whether they matched whole words.
+ *
+ * Readers never lock. Writers must be serialized by the caller, and books must be
+ * added in increasing ID order so posting lists stay sorted by appending.
+ */
+public class InvertedIndex {
+
+    public static final int FIELD_TITLE = 1;
+    public static final int FIELD_AUTHOR = 2;
+    public static final int FIELD_CATEGORY = 4;
+
+    // Rough relative costs for choosing how to probe a word: one galloping step
+    // against one posting scanned, and zeroing this many score-table bytes
+    private static final int GALLOP_STEPS = 4;
+    private static final int TABLE_BYTES_PER_STEP = 16;
+
+    /**
+     * Append-only posting list. The element arrays are replaced when they grow and
+     * size is written last, so a reader that reads size first sees complete entries.
+     */
+    private static final class Postings {
+        int[] ids = new int[4];
+        byte[] fields = new byte[4];
+        volatile int size;
+
+        void append(int id, int fieldMask) {
+            int n = size;
+            if (n == ids.length) {
+                ids = Arrays.copyOf(ids, n * 2);
+                fields = Arrays.copyOf(fields, n * 2);
+            }
+            ids[n] = id;
+            fields[n] = (byte) fieldMask;
+            size = n + 1;
+        }
+    }
+
+    private final NavigableMap<String, Postings> dictionary = new ConcurrentSkipListMap<>();
+    private final IntObjectMap<Book> documents = new IntObjectMap<>();
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // Each distinct term of the book once, with the fields it appears in
+    private static Map<String, Integer> termsOf(Book book) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String t : tokenize(book.getTitle())) terms.merge(t, FIELD_TITLE, (a, b) -> a | b);
+        for (String t : tokenize(book.getAuthor())) terms.merge(t, FIELD_AUTHOR, (a, b) -> a | b);
+        for (String t : tokenize(book.getCategory())) terms.merge(t, FIELD_CATEGORY, (a, b) -> a | b);
+        return terms;
+    }
+
+    public void add(Book book) {
+        documents.put(book.getId(), book);
+        for (Map.Entry<String, Integer> e : termsOf(book).entrySet()) {
+            dictionary.computeIfAbsent(e.getKey(), k -> new Postings()).append(book.getId(), e.getValue());
+        }
+    }
+
+    /**
+     * Indexes many books, in increasing ID order, into an empty index. Posting lists
+     * are built in a plain HashMap and published to the sorted dictionary once per
+     * term, instead of one skip-list lookup per term of every book.
+     */
+    public void addAll(List<Book> books) {
+        if (!documents.isEmpty()) {
+            throw new IllegalStateException("Bulk add requires an empty index");
+        }
+        documents.ensureCapacity(books.size());
+        Map<String, Postings> built = new HashMap<>();
+        for (Book book : books) {
+            documents.put(book.getId(), book);
+            for (Map.Entry<String, Integer> e : termsOf(book).entrySet()) {
+                built.computeIfAbsent(e.getKey(), k -> new Postings()).append(book.getId(), e.getValue());
+            }
+        }
+        dictionary.putAll(built);
+    }
+
+    public int termCount() {
+        return dictionary.size();
+    }
+
+    public int documentCount() {
+        return documents.size();
+    }
+
+    // --- Querying ---
+
+    // One query word expanded over the dictionary
+    private static final class QueryTerm {
+        final String word;
+        final List<String> terms = new ArrayList<>();
+        final List<Postings> lists = new ArrayList<>();
+        long totalPostings;
+
+        QueryTerm(String word) {
+            this.word = word;
+        }
+    }
+
+    private QueryTerm expand(String word) {
+        QueryTerm qt = new QueryTerm(word);
+        Collection<Map.Entry<String, Postings>> range =
+                dictionary.subMap(word, true, word + Character.MAX_VALUE, false).entrySet();
+        for (Map.Entry<String, Postings> e : range) {
+            qt.terms.add(e.getKey());
+            qt.lists.add(e.getValue());
+            qt.totalPostings += e.getValue().size;
+        }
+        return qt;
+    }
+
+    private static int fieldWeight(int mask) {
+        if ((mask & FIELD_TITLE) != 0) return 3;
+        if ((mask & FIELD_AUTHOR) != 0) return 2;
+        return 1;
+    }
+
+    /**
+     * Adds each candidate's best score against the word, across all its expansions,
+     * and drops the candidates it does not match. Returns the number of candidates
+     * kept, compacted to the front of both arrays.
+     *
+     * Candidates and posting lists are both in ID order. Each expansion is
+     * intersected with the candidates by walking the shorter of the two and
+     * galloping through the longer, unless the word's postings are dense over the
+     * candidates' ID range; then one pass over them fills a score table spanning
+     * just that range, which is cheaper than galloping. Either way the work and
+     * the memory follow the candidates and the postings, not the catalog size.
+     */
+    private static int probe(QueryTerm qt, int[] docs, int[] totals, int count) {
+        int first = docs[0];
+        int span = docs[count - 1] - first + 1;
+        long merged = 0;
+        for (Postings p : qt.lists) merged += Math.min(p.size, count);
+        int[] best = qt.totalPostings + span / TABLE_BYTES_PER_STEP < merged * GALLOP_STEPS
+                ? scoreByTable(qt, docs, count, first, span)
+                : scoreByMerge(qt, docs, count);
+        int kept = 0;
+        for (int c = 0; c < count; c++) {
+            if (best[c] > 0) {
+                docs[kept] = docs[c];
+                totals[kept++] = totals[c] + best[c];
+            }
+        }
+        return kept;
+    }
+
+    private static int[] scoreByMerge(QueryTerm qt, int[] docs, int count) {
+        int[] best = new int[count];
+        for (int i = 0; i < qt.lists.size(); i++) {
+            Postings p = qt.lists.get(i);
+            int n = p.size; // Read first; the arrays below hold at least n entries
+            int[] ids = p.ids;
+            byte[] fields = p.fields;
+            int boost = qt.terms.get(i).equals(qt.word) ? 2 : 1;
+            if (n < count) {
+                // Walk the list, galloping through the candidates
+                int c = 0;
+                for (int j = 0; j < n && c < count; j++) {
+                    c = gallop(docs, c, count, ids[j]);
+                    if (c < count && docs[c] == ids[j]) {
+                        best[c] = Math.max(best[c], fieldWeight(fields[j]) * boost);
+                    }
+                }
+            } else {
+                // Walk the candidates, galloping through the list
+                int pos = 0;
+                for (int c = 0; c < count && pos < n; c++) {
+                    pos = gallop(ids, pos, n, docs[c]);
+                    if (pos < n && ids[pos] == docs[c]) {
+                        best[c] = Math.max(best[c], fieldWeight(fields[pos]) * boost);
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private static int[] scoreByTable(QueryTerm qt, int[] docs, int count, int first, int span) {
+        byte[] table = new byte[span]; // Best score by doc ID - first
+        int last = first + span - 1;
+        for (int i = 0; i < qt.lists.size(); i++) {
+            Postings p = qt.lists.get(i);
+            int n = p.size;
+            int[] ids = p.ids;
+            byte[] fields = p.fields;
+            int boost = qt.terms.get(i).equals(qt.word) ? 2 : 1;
+            for (int j = gallop(ids, 0, n, first); j < n && ids[j] <= last; j++) {
+                int score = fieldWeight(fields[j]) * boost;
+                if (score > table[ids[j] - first]) table[ids[j] - first] = (byte) score;
+            }
+        }
+        int[] best = new int[count];
+        for (int c = 0; c < count; c++) {
+            best[c] = table[docs[c] - first];
+        }
+        return best;
+    }
+
+    // First index in [from, n) whose ID is at least target, or n
+    private static int gallop(int[] ids, int from, int n, int target) {
+        if (from >= n || ids[from] >= target) return from;
+        int lo = from, step = 1; // ids[lo] < target
+        while (lo + step < n && ids[lo + step] < target) {
+            lo += step;
+            step <<= 1;
+        }
+        int found = Arrays.binarySearch(ids, lo + 1, Math.min(lo + step, n), target);
+        return found >= 0 ? found : -found - 1;
+    }
+
+    // Postings search(query) reads from its driving word: those of the most selective word's expansions
+    public long candidateCount(String query) {
+        long fewest = 0;
+        boolean first = true;
+        for (String word : tokenize(query)) {
+            long postings = expand(word).totalPostings;
+            if (first || postings < fewest) fewest = postings;
+            first = false;
+        }
+        return fewest;
+    }
+
+    /**
+     * Books matching every word of the query as a word prefix, best matches first,
+     * at most limit results.
+     */
+    public List<Book> search(String query, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty() || limit <= 0) return new ArrayList<>();
+
+        List<QueryTerm> terms = new ArrayList<>(words.size());
+        for (String word : words) {
+            QueryTerm qt = expand(word);
+            if (qt.lists.isEmpty()) return new ArrayList<>(); // AND: one miss empties the result
+            terms.add(qt);
+        }
+        // Drive from the most selective word
+        terms.sort((a, b) -> Long.compare(a.totalPostings, b.totalPostings));
+        QueryTerm driver = terms.get(0);
+
+        // Candidates from the driver, packed as (docId << 8 | score) so a primitive sort
+        // groups duplicates; a doc may appear under several expanded terms
+        long[] packed = new long[(int) Math.min(driver.totalPostings + 16, Integer.MAX_VALUE - 8)];
+        int count = 0;
+        for (int i = 0; i < driver.lists.size(); i++) {
+            Postings p = driver.lists.get(i);
+            int weightBoost = driver.terms.get(i).equals(driver.word) ? 2 : 1;
+            int n = p.size;
+            int[] ids = p.ids;
+            byte[] fields = p.fields;
+            for (int j = 0; j < n; j++) {
+                if (count == packed.length) packed = Arrays.copyOf(packed, count * 2);
+                packed[count++] = ((long) ids[j] << 8) | (fieldWeight(fields[j]) * weightBoost);
+            }
+        }
+        Arrays.sort(packed, 0, count);
+
+        int[] docs = new int[count];
+        int[] totals = new int[count];
+        int candidates = 0;
+        for (int i = 0; i < count; i++) {
+            int docId = (int) (packed[i] >>> 8);
+            if (i + 1 < count && (int) (packed[i + 1] >>> 8) == docId) {
+                continue; // Keep the last, highest score of each doc
+            }
+            docs[candidates] = docId;
+            totals[candidates++] = (int) (packed[i] & 0xFF);
+        }
+        // The other words in order of selectivity, so the candidates shrink fastest
+        for (int t = 1; t < terms.size() && candidates > 0; t++) {
+            candidates = probe(terms.get(t), docs, totals, candidates);
+        }
+
+        List<int[]> ranked = new ArrayList<>(candidates); // {docId, score}
+        for (int i = 0; i < candidates; i++) {
+            ranked.add(new int[]{docs[i], totals[i]});
+        }
+
+        // Highest score first, then lowest ID
+        ranked.sort((a, b) -> a[1] != b[1] ? Integer.compare(b[1], a[1]) : Integer.compare(a[0], b[0]));
+        List<Book> result = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && result.size() < limit; i++) {
+            Book book = documents.get(ranked.get(i)[0]);
+            if (book != null) result.add(book);
+        }
+        return result;
+    }
+}
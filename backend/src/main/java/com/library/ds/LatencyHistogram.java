@@ -0,0 +1,101 @@
+package com.library.ds;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-Linear Latency Histogram.
+ * Values below 64 get a bucket each; above that every power of two is split
+ * into 32 buckets, so a percentile is reported within about 3% of the value
+ * recorded, from a fixed 1,888 counters whatever the range.
+ *
+ * Recording is lock-free (one atomic increment plus the running count, sum and
+ * max), so many threads can record into one histogram. Reads taken while
+ * others record may include some of those values and not others.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB = 1 << SUB_BITS; // Buckets per power of two
+    private static final int BUCKETS = SUB * (Long.SIZE - SUB_BITS);
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long value) {
+        if (value < 0) value = 0;
+        counts.incrementAndGet(bucketOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    // Exact below 2 * SUB; otherwise the top SUB_BITS bits below the leading one pick the bucket
+    private static int bucketOf(long value) {
+        if (value < 2 * SUB) return (int) value;
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return SUB * (shift + 1) + (int) ((value >>> shift) - SUB);
+    }
+
+    // Largest value that falls into the bucket
+    private static long highestIn(int bucket) {
+        if (bucket < 2 * SUB) return bucket;
+        int shift = bucket / SUB - 1;
+        long mantissa = bucket % SUB + SUB;
+        return ((mantissa + 1) << shift) - 1; // Wraps to Long.MAX_VALUE for the last bucket
+    }
+
+    /**
+     * Value at or below which the given percentage (0-100) of the recorded
+     * values fall, rounded up to the top of its bucket but never above the
+     * maximum recorded. 0 when nothing has been recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(Math.min(Math.max(percentile, 0), 100) / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestIn(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotal() {
+        return sum.sum();
+    }
+
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    // Not atomic with respect to concurrent recording
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+}
@@ -0,0 +1,93 @@
+package com.library.ds;
+
+import com.library.model.IssueRecord;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Index of open (not yet returned) loans.
+ * Each open IssueRecord is reachable from its member and from its book, so
+ * finding, listing or closing a loan costs time proportional to that member's
+ * or book's active loans instead of the whole issue history.
+ *
+ * Per-key lists are copy-on-write: they are tiny (a member holds a handful of
+ * books, a book has at most totalCopies loans) and can be read without locking.
+ * Callers must serialize changes to one member's loans, and to one book's loans,
+ * e.g. by holding that member's and book's locks.
+ */
+public class LoanIndex {
+
+    private final IntObjectMap<CopyOnWriteArrayList<IssueRecord>> byMember = new IntObjectMap<>();
+    private final IntObjectMap<CopyOnWriteArrayList<IssueRecord>> byBook = new IntObjectMap<>();
+    private final AtomicInteger openCount = new AtomicInteger();
+
+    private static CopyOnWriteArrayList<IssueRecord> listFor(IntObjectMap<CopyOnWriteArrayList<IssueRecord>> map, int key) {
+        CopyOnWriteArrayList<IssueRecord> list = map.get(key);
+        if (list == null) {
+            CopyOnWriteArrayList<IssueRecord> created = new CopyOnWriteArrayList<>();
+            list = map.putIfAbsent(key, created);
+            if (list == null) {
+                list = created;
+            }
+        }
+        return list;
+    }
+
+    public void open(IssueRecord record) {
+        listFor(byMember, record.getMemberId()).add(record);
+        listFor(byBook, record.getBookId()).add(record);
+        openCount.incrementAndGet();
+    }
+
+    // Looks up the open loan for (bookId, memberId) - O(member's active loans)
+    public IssueRecord find(int bookId, int memberId) {
+        CopyOnWriteArrayList<IssueRecord> list = byMember.get(memberId);
+        if (list == null) return null;
+        for (IssueRecord record : list) {
+            if (record.getBookId() == bookId) {
+                return record;
+            }
+        }
+        return null;
+    }
+
+    // Removes and returns the open loan for (bookId, memberId), or null if none
+    public IssueRecord close(int bookId, int memberId) {
+        IssueRecord record = find(bookId, memberId);
+        if (record == null) return null;
+        byMember.get(memberId).remove(record);
+        CopyOnWriteArrayList<IssueRecord> bookLoans = byBook.get(bookId);
+        if (bookLoans != null) {
+            bookLoans.remove(record);
+        }
+        openCount.decrementAndGet();
+        return record;
+    }
+
+    public List<IssueRecord> openByMember(int memberId) {
+        CopyOnWriteArrayList<IssueRecord> list = byMember.get(memberId);
+        return list != null ? Collections.unmodifiableList(list) : Collections.emptyList();
+    }
+
+    public List<IssueRecord> openByBook(int bookId) {
+        CopyOnWriteArrayList<IssueRecord> list = byBook.get(bookId);
+        return list != null ? Collections.unmodifiableList(list) : Collections.emptyList();
+    }
+
+    // All open loans - O(active loans)
+    public List<IssueRecord> openLoans() {
+        List<IssueRecord> all = new ArrayList<>(openCount.get());
+        for (CopyOnWriteArrayList<IssueRecord> list : byMember.values()) {
+            all.addAll(list);
+        }
+        return all;
+    }
+
+    public int size() {
+        return openCount.get();
+    }
+}
@@ -0,0 +1,74 @@
+package com.library.ds;
+
+/**
+ * Running count of overdue loans and the fines they have accrued.
+ * Open loans are bucketed by due day (epoch day). A frontier day separates
+ * loans that are already overdue, kept only as a count and a sum of due days,
+ * from loans still to fall due, kept per bucket. Moving the frontier to today
+ * folds in the buckets it passes, so every operation costs O(1) amortized and
+ * the total fine is count * today - sum of due days, times the daily rate.
+ *
+ * A loan is overdue once its due day is before today. Not thread-safe.
+ */
+public class OverdueCounter {
+
+    private final IntObjectMap<int[]> pending = new IntObjectMap<>(); // Due day -> loans not yet overdue
+    private long frontier; // First day that is not yet overdue
+    private long overdueCount;
+    private long overdueDueDaySum;
+
+    public OverdueCounter(long today) {
+        this.frontier = today;
+    }
+
+    public void add(long dueDay) {
+        if (dueDay < frontier) {
+            overdueCount++;
+            overdueDueDaySum += dueDay;
+            return;
+        }
+        int[] bucket = pending.get((int) dueDay);
+        if (bucket == null) {
+            bucket = new int[1];
+            pending.put((int) dueDay, bucket);
+        }
+        bucket[0]++;
+    }
+
+    public void remove(long dueDay) {
+        if (dueDay < frontier) {
+            overdueCount--;
+            overdueDueDaySum -= dueDay;
+            return;
+        }
+        int[] bucket = pending.get((int) dueDay);
+        if (bucket != null && --bucket[0] == 0) {
+            pending.remove((int) dueDay);
+        }
+    }
+
+    // Moves the frontier forward to today; days passed since the last call are folded in
+    public void advance(long today) {
+        for (; frontier < today; frontier++) {
+            if (pending.isEmpty()) {
+                frontier = today;
+                break;
+            }
+            int[] bucket = pending.get((int) frontier);
+            if (bucket != null) {
+                overdueCount += bucket[0];
+                overdueDueDaySum += (long) bucket[0] * frontier;
+                pending.remove((int) frontier);
+            }
+        }
+    }
+
+    public long overdueCount() {
+        return overdueCount;
+    }
+
+    // Days overdue summed over every overdue loan, as of the frontier
+    public long overdueDays() {
+        return overdueCount * frontier - overdueDueDaySum;
+    }
+}
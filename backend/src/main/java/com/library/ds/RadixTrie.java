@@ -0,0 +1,432 @@
+package com.library.ds;
+
+import com.library.model.Book;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compact Radix (path-compressed) Trie for Book Title Autocomplete.
+ * Drop-in replacement for Trie with a much smaller footprint:
+ * - chains of single-child nodes are merged into one node with a char[] label
+ * - children are kept in parallel arrays sorted by first character and found
+ *   by binary search, instead of a HashMap with boxed Character keys
+ * - leaves store their books directly and derive their ranking on demand;
+ *   only branching nodes keep a cached top-k array
+ * Like Trie, every branching node caches its TOP_K most issued books, so
+ * autocomplete stays O(prefix length + k).
+ */
+public class RadixTrie {
+
+    public static final int TOP_K = 10; // Suggestions cached per node
+
+    private static final char[] EMPTY_LABEL = new char[0];
+    private static final char[] NO_FIRST = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Book[] NO_BOOKS = new Book[0];
+
+    private static final class Node {
+        char[] label;
+        char[] firstChars = NO_FIRST; // Sorted first character of each child's label
+        Node[] children = NO_CHILDREN;
+        Book[] books = NO_BOOKS; // Books whose title ends exactly here
+        Book[] top; // Cached ranking; null while the node is a leaf
+
+        Node(char[] label) {
+            this.label = label;
+        }
+
+        boolean isLeaf() {
+            return children.length == 0;
+        }
+
+        int childIndex(char c) {
+            return Arrays.binarySearch(firstChars, c);
+        }
+
+        void addChild(Node child) {
+            int pos = -(childIndex(child.label[0]) + 1);
+            char[] first = new char[firstChars.length + 1];
+            Node[] kids = new Node[children.length + 1];
+            System.arraycopy(firstChars, 0, first, 0, pos);
+            System.arraycopy(children, 0, kids, 0, pos);
+            first[pos] = child.label[0];
+            kids[pos] = child;
+            System.arraycopy(firstChars, pos, first, pos + 1, firstChars.length - pos);
+            System.arraycopy(children, pos, kids, pos + 1, children.length - pos);
+            firstChars = first;
+            children = kids;
+        }
+    }
+
+    private final Node root = new Node(EMPTY_LABEL);
+    private int nodeCount = 1;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Most issued first, then lowest ID
+    private static int compare(Book a, Book b) {
+        if (a.getTimesIssued() != b.getTimesIssued()) {
+            return Integer.compare(b.getTimesIssued(), a.getTimesIssued());
+        }
+        return Integer.compare(a.getId(), b.getId());
+    }
+
+    // Ranking of a node's subtree: cached for branching nodes, derived for leaves
+    private static Book[] topOf(Node node) {
+        return node.top != null ? node.top : rank(node.books);
+    }
+
+    // The TOP_K best of books, best first
+    private static Book[] rank(Book[] books) {
+        Book[] ranked = books.clone();
+        Arrays.sort(ranked, RadixTrie::compare);
+        return ranked.length > TOP_K ? Arrays.copyOf(ranked, TOP_K) : ranked;
+    }
+
+    // Inserts or re-positions book in a branching node's top-k cache - O(k)
+    private static void offer(Node node, Book book) {
+        if (node.top == null) return; // Leaves rank on demand
+        Book[] top = node.top;
+        int pos = -1;
+        int worst = 0;
+        for (int i = 0; i < top.length; i++) {
+            if (top[i] == book) {
+                pos = i;
+                break;
+            }
+            if (compare(top[i], top[worst]) > 0) worst = i;
+        }
+        if (pos < 0) {
+            if (top.length == TOP_K) {
+                // Usually the last entry, unless one behind it grew and is still to be offered
+                if (compare(book, top[worst]) >= 0) {
+                    return; // Not popular enough for this subtree
+                }
+                System.arraycopy(top, worst + 1, top, worst, TOP_K - 1 - worst);
+            } else {
+                top = Arrays.copyOf(top, top.length + 1);
+            }
+            pos = top.length - 1;
+            top[pos] = book;
+        }
+        // Bubble up; counts only ever grow, so an entry never needs to move down
+        while (pos > 0 && compare(top[pos], top[pos - 1]) < 0) {
+            Book temp = top[pos];
+            top[pos] = top[pos - 1];
+            top[pos - 1] = temp;
+            pos--;
+        }
+        node.top = top;
+    }
+
+    // A leaf that gains a child starts caching its ranking
+    private static void attach(Node parent, Node child) {
+        if (parent.top == null) {
+            parent.top = topOf(parent);
+        }
+        parent.addChild(child);
+    }
+
+    private static int commonPrefix(char[] label, String key, int offset) {
+        int n = Math.min(label.length, key.length() - offset);
+        int i = 0;
+        while (i < n && label[i] == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    // Insert title
+    public void insert(String title, Book book) {
+        lock.writeLock().lock();
+        try {
+            String key = title.toLowerCase(Locale.ROOT); // Normalized
+            Node node = root;
+            int i = 0;
+            while (true) {
+                offer(node, book);
+                if (i == key.length()) {
+                    node.books = Arrays.copyOf(node.books, node.books.length + 1);
+                    node.books[node.books.length - 1] = book;
+                    return;
+                }
+
+                int idx = node.childIndex(key.charAt(i));
+                if (idx < 0) {
+                    Node leaf = new Node(key.substring(i).toCharArray());
+                    leaf.books = new Book[]{book};
+                    attach(node, leaf);
+                    offer(node, book);
+                    nodeCount++;
+                    return;
+                }
+
+                Node child = node.children[idx];
+                int m = commonPrefix(child.label, key, i);
+                if (m < child.label.length) {
+                    // Split the edge: node -> mid(label[0..m)) -> child(label[m..])
+                    Node mid = new Node(Arrays.copyOf(child.label, m));
+                    child.label = Arrays.copyOfRange(child.label, m, child.label.length);
+                    mid.top = topOf(child).clone();
+                    mid.firstChars = new char[]{child.label[0]};
+                    mid.children = new Node[]{child};
+                    node.children[idx] = mid;
+                    nodeCount++;
+                    child = mid;
+                }
+                node = child;
+                i += m;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Builds the trie for many books at once. Titles are sorted, so every subtree is
+     * a contiguous range sharing a prefix: each edge label is the longest common
+     * prefix of its range, and rankings are merged bottom-up from the children.
+     * O(n log n) for the sort plus O(total title length), with no edge splits.
+     */
+    public void build(List<Book> books) {
+        lock.writeLock().lock();
+        try {
+            if (root.books.length > 0 || !root.isLeaf()) {
+                throw new IllegalStateException("Batch build requires an empty trie");
+            }
+            String[] keys = new String[books.size()];
+            Integer[] order = new Integer[books.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = books.get(i).getTitle().toLowerCase(Locale.ROOT); // Normalized
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> keys[a].compareTo(keys[b])); // Stable: equal titles keep their order
+            String[] sortedKeys = new String[keys.length];
+            Book[] sortedBooks = new Book[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                sortedKeys[i] = keys[order[i]];
+                sortedBooks[i] = books.get(order[i]);
+            }
+            buildRange(root, sortedKeys, sortedBooks, 0, keys.length, 0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Fills node from the sorted range [lo, hi), whose keys all share their first depth chars
+    private void buildRange(Node node, String[] keys, Book[] books, int lo, int hi, int depth) {
+        int i = lo;
+        while (i < hi && keys[i].length() == depth) {
+            i++;
+        }
+        node.books = i > lo ? Arrays.copyOfRange(books, lo, i) : NO_BOOKS;
+
+        List<Node> kids = new ArrayList<>();
+        while (i < hi) {
+            // The group of keys continuing with the same next character
+            char c = keys[i].charAt(depth);
+            int end = i + 1;
+            while (end < hi && keys[end].charAt(depth) == c) {
+                end++;
+            }
+            // Sorted, so the group's common prefix is that of its first and last key
+            String first = keys[i];
+            String last = keys[end - 1];
+            int lcp = depth;
+            int max = Math.min(first.length(), last.length());
+            while (lcp < max && first.charAt(lcp) == last.charAt(lcp)) {
+                lcp++;
+            }
+            Node child = new Node(first.substring(depth, lcp).toCharArray());
+            nodeCount++;
+            buildRange(child, keys, books, i, end, lcp);
+            kids.add(child);
+            i = end;
+        }
+
+        if (!kids.isEmpty()) {
+            node.children = kids.toArray(NO_CHILDREN);
+            node.firstChars = new char[kids.size()];
+            for (int k = 0; k < kids.size(); k++) {
+                node.firstChars[k] = node.children[k].label[0];
+            }
+            node.top = mergeTop(node);
+        }
+    }
+
+    // Ranking of a branching node: a k-way merge of its own ranked books and its
+    // children's rankings, all already best first - O(k * children)
+    private static Book[] mergeTop(Node node) {
+        Book[][] sources = new Book[node.children.length + 1][];
+        sources[0] = rank(node.books);
+        for (int c = 0; c < node.children.length; c++) {
+            sources[c + 1] = topOf(node.children[c]);
+        }
+        int[] heads = new int[sources.length];
+        Book[] top = new Book[TOP_K];
+        int n = 0;
+        while (n < TOP_K) {
+            int best = -1;
+            for (int s = 0; s < sources.length; s++) {
+                if (heads[s] < sources[s].length
+                        && (best < 0 || compare(sources[s][heads[s]], sources[best][heads[best]]) < 0)) {
+                    best = s;
+                }
+            }
+            if (best < 0) break;
+            top[n++] = sources[best][heads[best]++];
+        }
+        return n == TOP_K ? top : Arrays.copyOf(top, n);
+    }
+
+    // Refreshes the cached rankings along the book's title after timesIssued grew.
+    // Only that book may have changed since the last refresh; batch updates use the list form
+    public void updatePopularity(Book book) {
+        lock.writeLock().lock();
+        try {
+            offerAlongTitle(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * updatePopularity for a batch of distinct books under one write lock. Until
+     * then their cached entries sit where their old counts put them, so a cache
+     * can be out of order. Offering the most issued first means a book is never
+     * left below one it outranks, and offer evicts the least issued entry rather
+     * than the last.
+     */
+    public void updatePopularity(List<Book> books) {
+        if (books.isEmpty()) return;
+        // Most issued first, then lowest ID, on a copy of counts that may still be growing
+        long[] order = new long[books.size()];
+        IntObjectMap<Book> byId = new IntObjectMap<>(books.size());
+        for (int i = 0; i < order.length; i++) {
+            Book book = books.get(i);
+            order[i] = (long) (Integer.MAX_VALUE - book.getTimesIssued()) << 32 | book.getId();
+            byId.put(book.getId(), book);
+        }
+        Arrays.sort(order);
+        lock.writeLock().lock();
+        try {
+            for (long entry : order) {
+                offerAlongTitle(byId.get((int) entry));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Offers book to every node on its title's path. Caller holds the write lock
+    private void offerAlongTitle(Book book) {
+        String key = book.getTitle().toLowerCase(Locale.ROOT);
+        Node node = root;
+        int i = 0;
+        while (node != null) {
+            offer(node, book);
+            if (i == key.length()) return;
+            int idx = node.childIndex(key.charAt(i));
+            if (idx < 0) return;
+            Node child = node.children[idx];
+            if (commonPrefix(child.label, key, i) < child.label.length) return;
+            i += child.label.length;
+            node = child;
+        }
+    }
+
+    // Node whose subtree holds exactly the titles starting with prefix, or null
+    private Node find(String prefix) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            int idx = node.childIndex(key.charAt(i));
+            if (idx < 0) return null;
+            Node child = node.children[idx];
+            int m = commonPrefix(child.label, key, i);
+            if (i + m == key.length()) {
+                return child; // Prefix ends inside or at the end of this edge
+            }
+            if (m < child.label.length) return null;
+            i += m;
+            node = child;
+        }
+        return node;
+    }
+
+    // Nodes walked from the root to where prefix ends (1 for the root alone), as lookups and updatePopularity do
+    public int pathLength(String prefix) {
+        lock.readLock().lock();
+        try {
+            String key = prefix.toLowerCase(Locale.ROOT);
+            Node node = root;
+            int nodes = 1;
+            int i = 0;
+            while (i < key.length()) {
+                int idx = node.childIndex(key.charAt(i));
+                if (idx < 0) break;
+                Node child = node.children[idx];
+                nodes++;
+                int m = commonPrefix(child.label, key, i);
+                if (m < child.label.length) break;
+                i += m;
+                node = child;
+            }
+            return nodes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Top-k most issued books whose title starts with prefix - O(prefix length + k)
+    public List<Book> topK(String prefix, int k) {
+        lock.readLock().lock();
+        try {
+            List<Book> results = new ArrayList<>();
+            Node node = find(prefix);
+            if (node == null) return results;
+            Book[] top = topOf(node);
+            for (int i = 0; i < top.length && i < k; i++) {
+                results.add(top[i]);
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Search for prefix and return every matching book
+    public List<Book> searchPrefix(String prefix) {
+        lock.readLock().lock();
+        try {
+            List<Book> results = new ArrayList<>();
+            Node node = find(prefix);
+            if (node != null) {
+                collect(node, results);
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collect(Node node, List<Book> results) {
+        results.addAll(Arrays.asList(node.books));
+        for (Node child : node.children) {
+            collect(child, results);
+        }
+    }
+
+    public int nodeCount() {
+        lock.readLock().lock();
+        try {
+            return nodeCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.library.ds;
+
+import com.library.model.Book;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Order-Statistics Tree ranking books by popularity.
+ * An AVL tree ordered by timesIssued (highest first, ties by ascending ID) whose
+ * nodes also store their subtree size, so the top k books come out in
+ * O(log n + k) and a book's rank is found in O(log n).
+ *
+ * The tree keeps each book's score as it was when inserted, and finds a book's
+ * node by ID; after timesIssued changes the caller re-positions the book with
+ * update, whenever suits it. Until then the book ranks by its old score.
+ * Thread-safe: readers share a read lock, changes take the write lock.
+ */
+public class RankingTree {
+
+    private static final Comparator<Book> ORDER =
+            Comparator.comparingInt(Book::getTimesIssued).reversed().thenComparingInt(Book::getId);
+
+    private static class Node {
+        final int score; // timesIssued when inserted
+        final int id;
+        final Book book;
+        int height = 1;
+        int size = 1;
+        Node left, right;
+
+        Node(int score, Book book) {
+            this.score = score;
+            this.id = book.getId();
+            this.book = book;
+        }
+    }
+
+    private Node root;
+    private final IntObjectMap<Node> nodes = new IntObjectMap<>(); // By book ID
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Negative if (scoreA, idA) ranks before (scoreB, idB)
+    private static int compare(int scoreA, int idA, int scoreB, int idB) {
+        if (scoreA != scoreB) return scoreA > scoreB ? -1 : 1;
+        return Integer.compare(idA, idB);
+    }
+
+    private static int height(Node n) {
+        return n == null ? 0 : n.height;
+    }
+
+    private static int size(Node n) {
+        return n == null ? 0 : n.size;
+    }
+
+    private static void refresh(Node n) {
+        n.height = 1 + Math.max(height(n.left), height(n.right));
+        n.size = 1 + size(n.left) + size(n.right);
+    }
+
+    private static Node rightRotate(Node y) {
+        Node x = y.left;
+        y.left = x.right;
+        x.right = y;
+        refresh(y);
+        refresh(x);
+        return x;
+    }
+
+    private static Node leftRotate(Node x) {
+        Node y = x.right;
+        x.right = y.left;
+        y.left = x;
+        refresh(x);
+        refresh(y);
+        return y;
+    }
+
+    private static Node rebalance(Node node) {
+        refresh(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = leftRotate(node.left);
+            }
+            return rightRotate(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rightRotate(node.right);
+            }
+            return leftRotate(node);
+        }
+        return node;
+    }
+
+    // --- Changes ---
+
+    public void add(Book book) {
+        lock.writeLock().lock();
+        try {
+            if (nodes.get(book.getId()) != null) return; // Already ranked
+            Node fresh = new Node(book.getTimesIssued(), book);
+            root = insert(root, fresh);
+            nodes.put(fresh.id, fresh);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Re-positions a book whose timesIssued changed; adds it if it is not ranked yet
+    public void update(Book book) {
+        lock.writeLock().lock();
+        try {
+            reposition(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // update for many books under one write lock
+    public void update(List<Book> books) {
+        lock.writeLock().lock();
+        try {
+            for (Book book : books) {
+                reposition(book);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void reposition(Book book) {
+        int score = book.getTimesIssued();
+        Node old = nodes.get(book.getId());
+        if (old != null) {
+            if (old.score == score) return;
+            root = delete(root, old.score, old.id);
+        }
+        Node fresh = new Node(score, book);
+        root = insert(root, fresh);
+        nodes.put(fresh.id, fresh);
+    }
+
+    private static Node insert(Node node, Node fresh) {
+        if (node == null) return fresh;
+        int c = compare(fresh.score, fresh.id, node.score, node.id);
+        if (c < 0) {
+            node.left = insert(node.left, fresh);
+        } else if (c > 0) {
+            node.right = insert(node.right, fresh);
+        } else {
+            return node; // Already ranked
+        }
+        return rebalance(node);
+    }
+
+    private static Node delete(Node node, int score, int id) {
+        if (node == null) return null;
+        int c = compare(score, id, node.score, node.id);
+        if (c < 0) {
+            node.left = delete(node.left, score, id);
+        } else if (c > 0) {
+            node.right = delete(node.right, score, id);
+        } else {
+            if (node.left == null) return node.right;
+            if (node.right == null) return node.left;
+            // Replace with the in-order successor, unlinked from the right subtree
+            Node successor = node.right;
+            while (successor.left != null) successor = successor.left;
+            successor.right = deleteMin(node.right);
+            successor.left = node.left;
+            return rebalance(successor);
+        }
+        return rebalance(node);
+    }
+
+    private static Node deleteMin(Node node) {
+        if (node.left == null) return node.right;
+        node.left = deleteMin(node.left);
+        return rebalance(node);
+    }
+
+    // Builds a balanced tree from scratch - O(n log n) for the sort, O(n) to link
+    public void build(List<Book> books) {
+        List<Book> sorted = new ArrayList<>(books);
+        sorted.sort(ORDER);
+        lock.writeLock().lock();
+        try {
+            if (root != null) {
+                throw new IllegalStateException("Build requires an empty tree");
+            }
+            root = build(sorted, 0, sorted.size() - 1);
+            nodes.ensureCapacity(sorted.size());
+            index(root);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Node build(List<Book> sorted, int lo, int hi) {
+        if (lo > hi) return null;
+        int mid = (lo + hi) >>> 1;
+        Node node = new Node(sorted.get(mid).getTimesIssued(), sorted.get(mid));
+        node.left = build(sorted, lo, mid - 1);
+        node.right = build(sorted, mid + 1, hi);
+        refresh(node);
+        return node;
+    }
+
+    private void index(Node node) {
+        if (node == null) return;
+        nodes.put(node.id, node);
+        index(node.left);
+        index(node.right);
+    }
+
+    // --- Queries ---
+
+    // The k most issued books, most issued first - O(log n + k)
+    public List<Book> topK(int k) {
+        lock.readLock().lock();
+        try {
+            List<Book> result = new ArrayList<>(Math.min(Math.max(k, 0), size(root)));
+            CustomStack<Node> stack = new CustomStack<>();
+            Node current = root;
+            while ((current != null || !stack.isEmpty()) && result.size() < k) {
+                while (current != null) {
+                    stack.push(current);
+                    current = current.left;
+                }
+                Node node = stack.pop();
+                result.add(node.book);
+                current = node.right;
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 1-based position of the book (1 = most issued) by the score it was last ranked
+    // with, or -1 if it is not ranked - O(log n)
+    public int rank(Book book) {
+        lock.readLock().lock();
+        try {
+            Node ranked = nodes.get(book.getId());
+            if (ranked == null) return -1;
+            int score = ranked.score;
+            int id = ranked.id;
+            int before = 0;
+            Node node = root;
+            while (node != null) {
+                int c = compare(score, id, node.score, node.id);
+                if (c == 0) {
+                    return before + size(node.left) + 1;
+                }
+                if (c < 0) {
+                    node = node.left;
+                } else {
+                    before += size(node.left) + 1;
+                    node = node.right;
+                }
+            }
+            return -1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
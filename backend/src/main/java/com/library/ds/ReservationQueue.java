@@ -0,0 +1,140 @@
+package com.library.ds;
+
+import com.library.model.Reservation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Reservation queue for one book.
+ * A doubly linked FIFO with no fixed capacity, plus an index from member ID to
+ * that member's node, so a member can hold at most one place in the queue and
+ * can cancel from anywhere in it in O(1).
+ *
+ * Each queue has its own lock, so reservations for different books never
+ * contend with each other. The lock is a leaf: nothing else is locked while
+ * it is held.
+ */
+public class ReservationQueue {
+
+    private static class Node {
+        final Reservation reservation;
+        Node prev, next;
+
+        Node(Reservation reservation) {
+            this.reservation = reservation;
+        }
+    }
+
+    private final Node head = new Node(null); // Sentinel: head.next is the front, head.prev the back
+    private final IntObjectMap<Node> byMember = new IntObjectMap<>(4);
+    private int size;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public ReservationQueue() {
+        head.next = head;
+        head.prev = head;
+    }
+
+    // Queue position of the new reservation (1 = next in line), or -1 if the member is already queued
+    public int enqueue(Reservation reservation) {
+        lock.lock();
+        try {
+            if (byMember.containsKey(reservation.getMemberId())) {
+                return -1;
+            }
+            Node node = new Node(reservation);
+            node.prev = head.prev;
+            node.next = head;
+            head.prev.next = node;
+            head.prev = node;
+            byMember.put(reservation.getMemberId(), node);
+            return ++size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Removes and returns the front reservation, or null if the queue is empty
+    public Reservation dequeue() {
+        lock.lock();
+        try {
+            if (size == 0) return null;
+            Node node = head.next;
+            unlink(node);
+            return node.reservation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Removes the member's reservation wherever it is in the queue; null if they had none
+    public Reservation cancel(int memberId) {
+        lock.lock();
+        try {
+            Node node = byMember.get(memberId);
+            if (node == null) return null;
+            unlink(node);
+            return node.reservation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void unlink(Node node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+        byMember.remove(node.reservation.getMemberId());
+        size--;
+    }
+
+    public boolean contains(int memberId) {
+        return byMember.containsKey(memberId); // Lock-free read
+    }
+
+    public Reservation peek() {
+        lock.lock();
+        try {
+            return size == 0 ? null : head.next.reservation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Copy of the queue in order, front first
+    public List<Reservation> snapshot() {
+        List<Reservation> result = new ArrayList<>();
+        forEach(result::add);
+        return result;
+    }
+
+    // Visits the reservations front first without removing them. The queue is locked
+    // meanwhile, so action must be quick and must not touch this queue
+    public void forEach(Consumer<? super Reservation> action) {
+        lock.lock();
+        try {
+            for (Node node = head.next; node != head; node = node.next) {
+                action.accept(node.reservation);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+}
@@ -0,0 +1,98 @@
+package com.library.ds;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lock Striping Implementation.
+ * Maps integer IDs onto a fixed array of locks so that operations on
+ * different IDs usually proceed in parallel, while operations on the same ID
+ * are always serialized.
+ */
+public class StripedLock {
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    public StripedLock(int stripes) {
+        // Round up to a power of two so the stripe can be picked with a mask
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.locks = new ReentrantLock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public StripedLock() {
+        this(64); // Default stripe count
+    }
+
+    // Spread sequential IDs across stripes
+    public int stripeOf(int id) {
+        int h = id * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    public ReentrantLock lockFor(int id) {
+        return locks[stripeOf(id)];
+    }
+
+    public void lock(int id) {
+        lockFor(id).lock();
+    }
+
+    public void unlock(int id) {
+        lockFor(id).unlock();
+    }
+
+    // Takes every stripe in index order, so two callers of lockAll cannot deadlock
+    public void lockAll() {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+    }
+
+    public void unlockAll() {
+        for (int i = locks.length - 1; i >= 0; i--) {
+            locks[i].unlock();
+        }
+    }
+
+    // Distinct stripes of the given IDs, in ascending index order
+    public int[] stripesOf(int[] ids) {
+        boolean[] used = new boolean[locks.length];
+        int count = 0;
+        for (int id : ids) {
+            int stripe = stripeOf(id);
+            if (!used[stripe]) {
+                used[stripe] = true;
+                count++;
+            }
+        }
+        int[] stripes = new int[count];
+        for (int i = 0, n = 0; i < used.length; i++) {
+            if (used[i]) stripes[n++] = i;
+        }
+        return stripes;
+    }
+
+    // Takes stripes from stripesOf in index order, like lockAll, so callers holding several cannot deadlock
+    public void lockStripes(int[] stripes) {
+        for (int stripe : stripes) {
+            locks[stripe].lock();
+        }
+    }
+
+    public void unlockStripes(int[] stripes) {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            locks[stripes[i]].unlock();
+        }
+    }
+
+    public int stripes() {
+        return locks.length;
+    }
+}
@@ -0,0 +1,193 @@
+package com.library.ds;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical Timing Wheel.
+ * Time is counted in ticks of tickMillis. Level l has 64 slots, each one
+ * 64^l ticks wide; a timer sits on the lowest level whose slot still tells its
+ * deadline apart from the current tick, in a doubly linked slot list, so
+ * scheduling and cancelling are O(1) however many timers are pending. When the
+ * wheel reaches a slot boundary of a higher level, that slot's timers cascade
+ * down, and each level-0 slot fires as its tick arrives.
+ *
+ * Advancing costs O(ticks passed + timers fired), but runs of ticks in which
+ * nothing can fire are skipped a whole slot at a time, so a long jump of the
+ * clock (or a simulated one) stays cheap. Time comes only from the caller,
+ * which makes the wheel easy to drive with a controllable clock.
+ * Not thread-safe.
+ */
+public class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = (Long.SIZE + SLOT_BITS - 1) / SLOT_BITS;
+
+    /** Handle of a scheduled timer, used to cancel it. */
+    public static final class Timer<T> {
+        private final T payload;
+        private final long deadlineTick;
+        private Timer<T> prev, next;
+        private int level = -1; // -1 once fired or cancelled
+
+        private Timer(T payload, long deadlineTick) {
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getPayload() { return payload; }
+    }
+
+    private final long tickMillis;
+    private final Timer<T>[][] slots; // Heads of the slot lists, by level
+    private final int[] counts = new int[LEVELS]; // Timers per level
+    private final List<Timer<T>> due = new ArrayList<>(); // Deadline already passed when scheduled
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.slots = new Timer[LEVELS][SLOTS];
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    // Deadlines are rounded up to a whole tick, so a timer never fires early
+    public Timer<T> schedule(T payload, long deadlineMillis) {
+        long tick = Math.floorDiv(deadlineMillis, tickMillis);
+        if (tick * tickMillis < deadlineMillis) tick++;
+        Timer<T> timer = new Timer<>(payload, tick);
+        size++;
+        if (tick <= currentTick) {
+            timer.level = LEVELS; // Parked in due
+            due.add(timer);
+        } else {
+            place(timer);
+        }
+        return timer;
+    }
+
+    // Returns false if the timer already fired or was cancelled
+    public boolean cancel(Timer<T> timer) {
+        if (timer.level < 0) return false;
+        if (timer.level == LEVELS) {
+            due.remove(timer);
+        } else {
+            unlink(timer);
+        }
+        timer.level = -1;
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward to nowMillis and returns the payloads of every timer
+     * whose deadline is at or before it, in deadline order (same-tick timers in no
+     * particular order). Moving backwards does nothing.
+     */
+    public List<T> advance(long nowMillis) {
+        List<T> fired = new ArrayList<>();
+        for (Timer<T> timer : due) {
+            timer.level = -1;
+            fired.add(timer.payload);
+        }
+        size -= due.size();
+        due.clear();
+
+        long target = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick < target) {
+            if (size == 0) {
+                currentTick = target;
+                break;
+            }
+            // Skip to the next boundary of the lowest level that holds timers
+            int level = 0;
+            while (level < LEVELS - 1 && counts[level] == 0) level++;
+            long width = 1L << (SLOT_BITS * level);
+            long next = level == 0 ? currentTick + 1 : (currentTick / width + 1) * width;
+            if (next > target || next <= currentTick) {
+                currentTick = target; // Nothing can fire before target
+                break;
+            }
+            currentTick = next;
+            tick(fired);
+        }
+        return fired;
+    }
+
+    // Cascades every level whose boundary is the current tick, highest first, then fires level 0
+    private void tick(List<T> fired) {
+        int top = 0;
+        while (top + 1 < LEVELS && (currentTick & ((1L << (SLOT_BITS * (top + 1))) - 1)) == 0) {
+            top++;
+        }
+        for (int level = top; level >= 1; level--) {
+            int slot = slotOf(currentTick, level);
+            Timer<T> timer = slots[level][slot];
+            slots[level][slot] = null;
+            while (timer != null) {
+                Timer<T> next = timer.next;
+                counts[level]--;
+                timer.prev = timer.next = null;
+                if (timer.deadlineTick <= currentTick) {
+                    fire(timer, fired);
+                } else {
+                    place(timer);
+                }
+                timer = next;
+            }
+        }
+        int slot = slotOf(currentTick, 0);
+        Timer<T> timer = slots[0][slot];
+        slots[0][slot] = null;
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            counts[0]--;
+            timer.prev = timer.next = null;
+            fire(timer, fired);
+            timer = next;
+        }
+    }
+
+    private void fire(Timer<T> timer, List<T> fired) {
+        timer.level = -1;
+        size--;
+        fired.add(timer.payload);
+    }
+
+    // Level: the highest 6-bit digit in which the deadline differs from the current tick
+    private void place(Timer<T> timer) {
+        long diff = timer.deadlineTick ^ currentTick;
+        int level = (Long.SIZE - 1 - Long.numberOfLeadingZeros(diff)) / SLOT_BITS;
+        int slot = slotOf(timer.deadlineTick, level);
+        timer.level = level;
+        timer.next = slots[level][slot];
+        if (timer.next != null) timer.next.prev = timer;
+        slots[level][slot] = timer;
+        counts[level]++;
+    }
+
+    private void unlink(Timer<T> timer) {
+        int slot = slotOf(timer.deadlineTick, timer.level);
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            slots[timer.level][slot] = timer.next;
+        }
+        if (timer.next != null) timer.next.prev = timer.prev;
+        timer.prev = timer.next = null;
+        counts[timer.level]--;
+    }
+
+    private static int slotOf(long tick, int level) {
+        return (int) (tick >>> (SLOT_BITS * level)) & (SLOTS - 1);
+    }
+
+    public int size() {
+        return size;
+    }
+}
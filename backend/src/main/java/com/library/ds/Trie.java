@@ -2,19 +2,27 @@ package com.library.ds;
 
 import com.library.model.Book;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Trie Implementation for Book Title Autocomplete.
+ * Several books may share a title (copies, editions). Every node caches the
+ * TOP_K most issued books in its subtree, so autocomplete costs
+ * O(prefix length + k) no matter how many titles share the prefix.
  */
 public class Trie {
 
+    public static final int TOP_K = 10; // Suggestions cached per node
+
     private class TrieNode {
         Map<Character, TrieNode> children;
         boolean isEndOfWord;
-        Book book; // Store book reference at leaf for quick access
+        List<Book> books; // All books with exactly this title
+        Book[] top = new Book[0]; // Most issued books in this subtree, best first
 
         TrieNode() {
             children = new HashMap<>(); // Using HashMap for children is standard, or could use array[256]
@@ -23,47 +31,140 @@ public class Trie {
     }
 
     private TrieNode root;
+    // Writers (insert, popularity updates) exclude readers walking the HashMap children
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
 
     public Trie() {
         root = new TrieNode();
     }
 
+    // Most issued first, then lowest ID
+    private static int compare(Book a, Book b) {
+        if (a.getTimesIssued() != b.getTimesIssued()) {
+            return Integer.compare(b.getTimesIssued(), a.getTimesIssued());
+        }
+        return Integer.compare(a.getId(), b.getId());
+    }
+
+    // Inserts or re-positions book in a node's top-k cache - O(k)
+    private void offer(TrieNode node, Book book) {
+        Book[] top = node.top;
+        int pos = -1;
+        for (int i = 0; i < top.length; i++) {
+            if (top[i] == book) {
+                pos = i;
+                break;
+            }
+        }
+        if (pos < 0) {
+            if (top.length == TOP_K && compare(book, top[TOP_K - 1]) >= 0) {
+                return; // Not popular enough for this subtree
+            }
+            top = Arrays.copyOf(top, Math.min(top.length + 1, TOP_K));
+            pos = top.length - 1;
+            top[pos] = book;
+        }
+        // Bubble up; counts only ever grow, so an entry never needs to move down
+        while (pos > 0 && compare(top[pos], top[pos - 1]) < 0) {
+            Book temp = top[pos];
+            top[pos] = top[pos - 1];
+            top[pos - 1] = temp;
+            pos--;
+        }
+        node.top = top;
+    }
+
     // Insert title
     public void insert(String title, Book book) {
-        TrieNode current = root;
-        String lowerTitle = title.toLowerCase(); // Normalized
+        lock.writeLock().lock();
+        try {
+            TrieNode current = root;
+            String lowerTitle = title.toLowerCase(); // Normalized
+            offer(current, book);
 
-        for (int i = 0; i < lowerTitle.length(); i++) {
-            char ch = lowerTitle.charAt(i);
-            current = current.children.computeIfAbsent(ch, c -> new TrieNode());
+            for (int i = 0; i < lowerTitle.length(); i++) {
+                char ch = lowerTitle.charAt(i);
+                current = current.children.computeIfAbsent(ch, c -> new TrieNode());
+                offer(current, book);
+            }
+            current.isEndOfWord = true;
+            if (current.books == null) {
+                current.books = new ArrayList<>(1);
+            }
+            current.books.add(book);
+        } finally {
+            lock.writeLock().unlock();
         }
-        current.isEndOfWord = true;
-        current.book = book;
     }
 
-    // Search for prefix and return suggestions
-    public List<Book> searchPrefix(String prefix) {
-        List<Book> results = new ArrayList<>();
+    // Refreshes the cached rankings along the book's title after timesIssued grew
+    public void updatePopularity(Book book) {
+        lock.writeLock().lock();
+        try {
+            TrieNode current = root;
+            String lowerTitle = book.getTitle().toLowerCase();
+            offer(current, book);
+            for (int i = 0; i < lowerTitle.length() && current != null; i++) {
+                current = current.children.get(lowerTitle.charAt(i));
+                if (current != null) {
+                    offer(current, book);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private TrieNode find(String prefix) {
         TrieNode current = root;
         String lowerPrefix = prefix.toLowerCase();
-
         for (int i = 0; i < lowerPrefix.length(); i++) {
-            char ch = lowerPrefix.charAt(i);
-            TrieNode node = current.children.get(ch);
-            if (node == null) {
-                return results; // No match
+            current = current.children.get(lowerPrefix.charAt(i));
+            if (current == null) {
+                return null; // No match
+            }
+        }
+        return current;
+    }
+
+    // Top-k most issued books whose title starts with prefix - O(prefix length + k)
+    public List<Book> topK(String prefix, int k) {
+        lock.readLock().lock();
+        try {
+            TrieNode node = find(prefix);
+            List<Book> results = new ArrayList<>();
+            if (node == null) return results;
+            Book[] top = node.top;
+            for (int i = 0; i < top.length && i < k; i++) {
+                results.add(top[i]);
             }
-            current = node;
+            return results;
+        } finally {
+            lock.readLock().unlock();
         }
+    }
+
+    // Search for prefix and return suggestions
+    public List<Book> searchPrefix(String prefix) {
+        lock.readLock().lock();
+        try {
+            List<Book> results = new ArrayList<>();
+            TrieNode current = find(prefix);
+            if (current == null) {
+                return results; // No match
+            }
 
-        // Collect all books from this node downwards
-        findAllBooks(current, results);
-        return results;
+            // Collect all books from this node downwards
+            findAllBooks(current, results);
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     private void findAllBooks(TrieNode node, List<Book> results) {
         if (node.isEndOfWord) {
-            results.add(node.book);
+            results.addAll(node.books);
         }
 
         for (TrieNode child : node.children.values()) {
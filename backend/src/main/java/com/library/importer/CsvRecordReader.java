@@ -0,0 +1,130 @@
+package com.library.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streaming CSV reader (RFC 4180): comma separated, fields optionally quoted with
+ * "", quotes escaped by doubling, line breaks allowed inside quoted fields.
+ * The first row is the header and names the fields; blank lines are skipped.
+ */
+public class CsvRecordReader implements RecordReader {
+
+    private final Reader in;
+    private final List<String> header;
+    private final char[] buffer = new char[1 << 16];
+    private int pos;
+    private int limit;
+    private long line = 1; // Line the reader is on
+    private long recordLine;
+
+    public CsvRecordReader(Reader in) throws IOException {
+        this.in = in;
+        List<String> names = readRow();
+        if (names == null) {
+            throw new IOException("CSV input is empty; expected a header row");
+        }
+        this.header = new ArrayList<>(names.size());
+        for (String name : names) {
+            header.add(name.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        List<String> row;
+        do {
+            recordLine = line;
+            row = readRow();
+            if (row == null) return null;
+        } while (row.size() == 1 && row.get(0).isEmpty()); // Blank line
+
+        if (row.size() > header.size()) {
+            throw new IOException("Line " + recordLine + ": " + row.size() + " fields, header has " + header.size());
+        }
+        Map<String, String> record = new HashMap<>();
+        for (int i = 0; i < row.size(); i++) {
+            record.put(header.get(i), row.get(i));
+        }
+        return record;
+    }
+
+    @Override
+    public long position() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        if (pos == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            pos = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[pos++];
+    }
+
+    private int peek() throws IOException {
+        int c = read();
+        if (c >= 0) pos--;
+        return c;
+    }
+
+    // Fields of the next row, or null at the end of the input
+    private List<String> readRow() throws IOException {
+        int c = read();
+        if (c < 0) return null;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        long quoteLine = line;
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    throw new IOException("Line " + quoteLine + ": unterminated quoted field");
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"'); // Escaped quote
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') line++;
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0 && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+                quoteLine = line;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c == '\n' || c == '\r' || c < 0) {
+                if (c == '\r' && peek() == '\n') read();
+                if (c >= 0) line++;
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
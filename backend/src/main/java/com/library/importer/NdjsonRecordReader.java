@@ -0,0 +1,59 @@
+package com.library.importer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streaming NDJSON reader: one flat JSON object per line, parsed token by token so
+ * the input is never buffered as a whole. Scalar values are kept as their text;
+ * nested objects and arrays are rejected.
+ */
+public class NdjsonRecordReader implements RecordReader {
+
+    private final JsonParser parser;
+    private long document;
+
+    public NdjsonRecordReader(Reader in, ObjectMapper objectMapper) throws IOException {
+        this.parser = objectMapper.getFactory().createParser(in);
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) return null;
+        document++;
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Document " + document + ": expected a JSON object");
+        }
+
+        Map<String, String> record = new HashMap<>();
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            String name = parser.currentName().toLowerCase(Locale.ROOT);
+            token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                throw new IOException("Document " + document + ": field '" + name + "' must be a plain value");
+            }
+            if (token != JsonToken.VALUE_NULL) {
+                record.put(name, parser.getText());
+            }
+        }
+        return record;
+    }
+
+    @Override
+    public long position() {
+        return document;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,18 @@
+package com.library.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Incremental reader of import records. Each record is a map from lowercase field
+ * name to its raw text value; only one record is held in memory at a time.
+ */
+public interface RecordReader extends Closeable {
+
+    // Next record, or null at the end of the input. Malformed input throws IOException
+    Map<String, String> next() throws IOException;
+
+    // 1-based position of the last record returned (CSV line or NDJSON document), for error reports
+    long position();
+}
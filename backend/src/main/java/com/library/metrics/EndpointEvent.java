@@ -0,0 +1,29 @@
+package com.library.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one REST request, spanning the same interval as the
+ * endpoint histogram. The Library Operation events nested inside it show how
+ * much of that time the service took; the rest went to binding, JSON
+ * serialization and writing the response.
+ */
+@Name("com.library.Endpoint")
+@Label("Library Endpoint")
+@Category({"LibMaster", "Web"})
+@Description("One REST request, until the response is complete")
+@StackTrace(false)
+public class EndpointEvent extends Event {
+
+    @Label("Route")
+    @Description("Method and route pattern, e.g. GET /api/books/{id}")
+    public String route;
+
+    @Label("Status")
+    public int status;
+}
@@ -0,0 +1,53 @@
+package com.library.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Times each request to a controller method, from just before the handler runs
+ * until the response is complete (for streamed responses, until the last byte
+ * is written), and records it under the method and route pattern, so
+ * /api/books/7 and /api/books/8 share "GET /api/books/{id}". While a flight
+ * recording is running the same interval is also emitted as an EndpointEvent.
+ */
+public class EndpointMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String STARTED = EndpointMetricsInterceptor.class.getName() + ".started";
+    private static final String EVENT = EndpointMetricsInterceptor.class.getName() + ".event";
+
+    private final MetricsRegistry registry;
+
+    public EndpointMetricsInterceptor(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod && request.getAttribute(STARTED) == null) {
+            request.setAttribute(STARTED, System.nanoTime()); // Kept across an async dispatch
+            EndpointEvent event = new EndpointEvent();
+            if (event.isEnabled()) {
+                event.begin();
+                request.setAttribute(EVENT, event);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object started = request.getAttribute(STARTED);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (started == null || pattern == null) return;
+        String route = request.getMethod() + " " + pattern;
+        registry.endpoint(route).record(System.nanoTime() - (Long) started);
+        if (request.getAttribute(EVENT) instanceof EndpointEvent event) {
+            event.route = route;
+            event.status = response.getStatus();
+            event.commit();
+        }
+    }
+}
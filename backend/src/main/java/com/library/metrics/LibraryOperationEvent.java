@@ -0,0 +1,64 @@
+package com.library.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one LibraryService operation, from entry until its
+ * log write is synced. Besides the duration it carries how much work the
+ * operation did - list elements scanned and tree, trie or heap nodes visited -
+ * so a slow call can be told apart from a call that walked a lot of data.
+ *
+ * When no recording is running (or the event is disabled in it) begin() and
+ * commit() are no-ops, and callers only compute the work counts once
+ * isEnabled() says the event will be kept. IDs that do not apply are 0.
+ */
+@Name("com.library.Operation")
+@Label("Library Operation")
+@Category({"LibMaster", "Service"})
+@Description("One call into the library service with the work it did")
+@StackTrace(false)
+public class LibraryOperationEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Book ID")
+    public int bookId;
+
+    @Label("Member ID")
+    public int memberId;
+
+    @Label("Elements Scanned")
+    @Description("List, posting and queue entries examined one by one")
+    public long elementsScanned;
+
+    @Label("Nodes Visited")
+    @Description("Tree, trie and heap nodes walked")
+    public long nodesVisited;
+
+    public static LibraryOperationEvent begin(String operation, int bookId, int memberId) {
+        LibraryOperationEvent event = new LibraryOperationEvent();
+        event.operation = operation;
+        event.bookId = bookId;
+        event.memberId = memberId;
+        event.begin();
+        return event;
+    }
+
+    public static LibraryOperationEvent begin(String operation) {
+        return begin(operation, 0, 0);
+    }
+
+    public void scanned(long elements) {
+        elementsScanned += elements;
+    }
+
+    public void visited(long nodes) {
+        nodesVisited += nodes;
+    }
+}
@@ -0,0 +1,68 @@
+package com.library.metrics;
+
+import com.library.ds.ConcurrentCustomHashMap;
+import com.library.ds.LatencyHistogram;
+import com.library.model.LatencySummary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Latency histograms for every REST endpoint and service method, created on
+ * first use. Looking one up is a lock-free hash map read and recording is a
+ * few atomic adds, so timing every request costs well under a microsecond.
+ */
+@Component
+public class MetricsRegistry {
+
+    private final ConcurrentCustomHashMap<String, LatencyHistogram> endpoints = new ConcurrentCustomHashMap<>();
+    private final ConcurrentCustomHashMap<String, LatencyHistogram> methods = new ConcurrentCustomHashMap<>();
+
+    // "GET /api/books/{id}"
+    public LatencyHistogram endpoint(String name) {
+        return histogram(endpoints, name);
+    }
+
+    // "LibraryService.issueBook"
+    public LatencyHistogram method(String name) {
+        return histogram(methods, name);
+    }
+
+    private static LatencyHistogram histogram(ConcurrentCustomHashMap<String, LatencyHistogram> map, String name) {
+        LatencyHistogram histogram = map.get(name);
+        if (histogram == null) {
+            map.putIfAbsent(name, new LatencyHistogram());
+            histogram = map.get(name);
+        }
+        return histogram;
+    }
+
+    public List<LatencySummary> getEndpoints() {
+        return summarize(endpoints);
+    }
+
+    public List<LatencySummary> getMethods() {
+        return summarize(methods);
+    }
+
+    // Counts restart from zero; recordings made during the reset may be lost
+    public void reset() {
+        endpoints.values().forEach(LatencyHistogram::reset);
+        methods.values().forEach(LatencyHistogram::reset);
+    }
+
+    private static List<LatencySummary> summarize(ConcurrentCustomHashMap<String, LatencyHistogram> map) {
+        List<LatencySummary> result = new ArrayList<>();
+        for (String name : map.keySet()) {
+            LatencyHistogram h = map.get(name);
+            if (h.getCount() == 0) continue;
+            result.add(new LatencySummary(name, h.getCount(), h.getMean() / 1e3,
+                    h.getValueAtPercentile(50) / 1e3, h.getValueAtPercentile(90) / 1e3,
+                    h.getValueAtPercentile(99) / 1e3, h.getValueAtPercentile(99.9) / 1e3, h.getMax() / 1e3));
+        }
+        result.sort(Comparator.comparing(LatencySummary::getName));
+        return result;
+    }
+}
@@ -0,0 +1,143 @@
+package com.library.metrics;
+
+import com.library.model.RecordingInfo;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Starts and stops one on-demand Java Flight Recorder recording at a time, with
+ * the JDK's "default" (about 1% overhead) or "profile" settings plus the
+ * library's own events. The recording is written to library.jfr.dir when it is
+ * stopped, or when max-duration passes if nobody stops it. Outside a recording
+ * the library's events cost nothing beyond a disabled check.
+ */
+@Component
+public class RecordingManager {
+
+    private static final DateTimeFormatter FILE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    @Value("${library.jfr.dir:recordings}")
+    private String directory;
+
+    @Value("${library.jfr.max-duration-minutes:30}")
+    private long maxDurationMinutes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Recording recording; // The current or last recording; guarded by lock
+    private String settings;
+    private Path file;
+
+    /**
+     * Starts a recording with the named JDK settings ("default" or "profile"),
+     * stopping on its own after duration (capped at max-duration). Fails if a
+     * recording is already running.
+     */
+    public RecordingInfo start(String settingsName, Duration duration) throws IOException, ParseException {
+        Duration max = Duration.ofMinutes(maxDurationMinutes);
+        Duration limit = duration == null || duration.compareTo(max) > 0 ? max : duration;
+        lock.lock();
+        try {
+            if (recording != null && recording.getState() == RecordingState.RUNNING) {
+                throw new IllegalStateException("A recording is already running");
+            }
+            Configuration configuration = Configuration.getConfiguration(settingsName);
+            Path dir = Paths.get(directory);
+            Files.createDirectories(dir);
+            Path target = dir.resolve("libmaster-" + FILE_TIME.format(Instant.now()) + ".jfr");
+
+            Recording next = new Recording(configuration);
+            next.setName("libmaster");
+            next.enable(LibraryOperationEvent.class).withoutThreshold();
+            next.enable(EndpointEvent.class).withoutThreshold();
+            next.setToDisk(true);
+            next.setDestination(target);
+            next.setDuration(limit);
+            next.start();
+
+            if (recording != null) {
+                recording.close();
+            }
+            recording = next;
+            settings = settingsName;
+            file = target;
+            return describe();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Stops the running recording and writes it out; fails if none is running
+    public RecordingInfo stop() {
+        lock.lock();
+        try {
+            if (recording == null || recording.getState() != RecordingState.RUNNING) {
+                throw new IllegalStateException("No recording is running");
+            }
+            recording.stop(); // Writes to the destination
+            return describe();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The current or last recording, or null if none was started
+    public RecordingInfo status() {
+        lock.lock();
+        try {
+            return recording != null ? describe() : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The last finished recording's file, or null if there is none to download
+    public Path lastFile() {
+        lock.lock();
+        try {
+            if (recording == null || recording.getState() == RecordingState.RUNNING
+                    || !Files.exists(file)) {
+                return null;
+            }
+            return file;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private RecordingInfo describe() {
+        long size = 0;
+        try {
+            size = Files.exists(file) ? Files.size(file) : recording.getSize();
+        } catch (IOException ignored) {}
+        return new RecordingInfo(recording.getName(), recording.getState().name(), settings,
+                recording.getStartTime(), recording.getStopTime(), file.toAbsolutePath().toString(), size);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lock.lock();
+        try {
+            if (recording != null && recording.getState() == RecordingState.RUNNING) {
+                recording.stop(); // Keep what was recorded so far
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.library.metrics;
+
+import com.library.ds.ConcurrentCustomHashMap;
+import com.library.ds.LatencyHistogram;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+
+import java.lang.reflect.Method;
+
+/**
+ * Wraps every @Service bean in a class proxy that times each call made to it
+ * from outside, into the histogram "Class.method" (overloads share one). Calls
+ * a service makes to itself are not proxied and not timed.
+ */
+@Component
+public class ServiceMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MetricsRegistry> registry; // Resolved late, so the registry is an ordinary bean
+
+    public ServiceMetricsPostProcessor(ObjectProvider<MetricsRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?> type = bean.getClass();
+        if (!type.isAnnotationPresent(Service.class)) {
+            return bean;
+        }
+        MetricsRegistry metrics = registry.getObject();
+        ConcurrentCustomHashMap<Method, LatencyHistogram> histograms = new ConcurrentCustomHashMap<>();
+        MethodInterceptor timer = invocation -> {
+            Method method = invocation.getMethod();
+            LatencyHistogram histogram = histograms.get(method);
+            if (histogram == null) {
+                histogram = metrics.method(type.getSimpleName() + "." + method.getName());
+                histograms.putIfAbsent(method, histogram);
+            }
+            long started = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                histogram.record(System.nanoTime() - started);
+            }
+        };
+        ProxyFactory factory = new ProxyFactory(bean);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(timer);
+        return factory.getProxy(type.getClassLoader());
+    }
+}
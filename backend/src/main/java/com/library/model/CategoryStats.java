@@ -0,0 +1,35 @@
+package com.library.model;
+
+public class CategoryStats {
+    private String category;
+    private long books;
+    private long totalCopies;
+    private long availableCopies;
+    private long timesIssued;
+
+    public CategoryStats() {
+    }
+
+    public CategoryStats(String category, long books, long totalCopies, long availableCopies, long timesIssued) {
+        this.category = category;
+        this.books = books;
+        this.totalCopies = totalCopies;
+        this.availableCopies = availableCopies;
+        this.timesIssued = timesIssued;
+    }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public long getBooks() { return books; }
+    public void setBooks(long books) { this.books = books; }
+
+    public long getTotalCopies() { return totalCopies; }
+    public void setTotalCopies(long totalCopies) { this.totalCopies = totalCopies; }
+
+    public long getAvailableCopies() { return availableCopies; }
+    public void setAvailableCopies(long availableCopies) { this.availableCopies = availableCopies; }
+
+    public long getTimesIssued() { return timesIssued; }
+    public void setTimesIssued(long timesIssued) { this.timesIssued = timesIssued; }
+}
@@ -0,0 +1,26 @@
+package com.library.model;
+
+// One item of a batch circulation request; type is "issue", "return" or "reserve"
+public class CirculationOperation {
+    private String type;
+    private int bookId;
+    private int memberId;
+
+    public CirculationOperation() {
+    }
+
+    public CirculationOperation(String type, int bookId, int memberId) {
+        this.type = type;
+        this.bookId = bookId;
+        this.memberId = memberId;
+    }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public int getBookId() { return bookId; }
+    public void setBookId(int bookId) { this.bookId = bookId; }
+
+    public int getMemberId() { return memberId; }
+    public void setMemberId(int memberId) { this.memberId = memberId; }
+}
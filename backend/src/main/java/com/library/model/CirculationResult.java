@@ -0,0 +1,31 @@
+package com.library.model;
+
+// Outcome of one batch item; message is what the single-item endpoint would have returned
+public class CirculationResult {
+    private String type;
+    private int bookId;
+    private int memberId;
+    private String message;
+
+    public CirculationResult() {
+    }
+
+    public CirculationResult(String type, int bookId, int memberId, String message) {
+        this.type = type;
+        this.bookId = bookId;
+        this.memberId = memberId;
+        this.message = message;
+    }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public int getBookId() { return bookId; }
+    public void setBookId(int bookId) { this.bookId = bookId; }
+
+    public int getMemberId() { return memberId; }
+    public void setMemberId(int memberId) { this.memberId = memberId; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
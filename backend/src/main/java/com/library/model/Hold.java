@@ -0,0 +1,46 @@
+package com.library.model;
+
+import java.time.Instant;
+
+/**
+ * A returned copy set aside for the member at the front of the reservation
+ * queue. The copy is not available to anyone else until the member picks it
+ * up (issues the book), cancels, or the pickup deadline passes.
+ */
+public class Hold {
+    private int bookId;
+    private int memberId;
+    private Instant placedAt;
+    private Instant expiresAt;
+
+    public Hold() {
+    }
+
+    public Hold(int bookId, int memberId, Instant placedAt, Instant expiresAt) {
+        this.bookId = bookId;
+        this.memberId = memberId;
+        this.placedAt = placedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public int getBookId() { return bookId; }
+    public void setBookId(int bookId) { this.bookId = bookId; }
+
+    public int getMemberId() { return memberId; }
+    public void setMemberId(int memberId) { this.memberId = memberId; }
+
+    public Instant getPlacedAt() { return placedAt; }
+    public void setPlacedAt(Instant placedAt) { this.placedAt = placedAt; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+
+    @Override
+    public String toString() {
+        return "Hold{" +
+                "bookId=" + bookId +
+                ", memberId=" + memberId +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -0,0 +1,92 @@
+package com.library.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Progress of one bulk import. Counters are written by the importing request
+ * thread and read by anyone polling /api/import/jobs.
+ */
+public class ImportJob {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    public static final int MAX_ERRORS = 100; // Error messages kept per job
+
+    private final int id;
+    private final String type;
+    private final String format;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startedNanos = System.nanoTime();
+    private volatile LocalDateTime finishedAt;
+    private volatile long finishedNanos;
+    private volatile Status status = Status.RUNNING;
+    private volatile long read;
+    private volatile long imported;
+    private volatile long duplicates;
+    private volatile long invalid;
+    private final List<String> errors = new CopyOnWriteArrayList<>();
+
+    public ImportJob(int id, String type, String format) {
+        this.id = id;
+        this.type = type;
+        this.format = format;
+    }
+
+    // --- Updates (importing thread only) ---
+
+    public void recordRead() { read++; }
+    public void recordImported(int count) { imported += count; }
+    public void recordDuplicate() { duplicates++; }
+
+    public void recordInvalid(long position, String reason) {
+        invalid++;
+        addError("Record " + position + ": " + reason);
+    }
+
+    private void addError(String message) {
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(message);
+        }
+    }
+
+    public void finish() {
+        finishedNanos = System.nanoTime();
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    public void fail(String reason) {
+        addError(reason);
+        finishedNanos = System.nanoTime();
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    // --- Getters ---
+
+    public int getId() { return id; }
+    public String getType() { return type; }
+    public String getFormat() { return format; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public Status getStatus() { return status; }
+    public long getRead() { return read; }
+    public long getImported() { return imported; }
+    public long getDuplicates() { return duplicates; }
+    public long getInvalid() { return invalid; }
+    public List<String> getErrors() { return new ArrayList<>(errors); }
+
+    public long getElapsedMillis() {
+        long end = status == Status.RUNNING ? System.nanoTime() : finishedNanos;
+        return (end - startedNanos) / 1_000_000;
+    }
+
+    // Records read per second so far
+    public long getRecordsPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed > 0 ? read * 1000 / elapsed : read;
+    }
+}
@@ -8,7 +8,7 @@ public class IssueRecord {
     private int memberId;
     private LocalDate issueDate;
     private LocalDate dueDate;
-    private boolean returned;
+    private volatile boolean returned; // Set by returnBook outside the history lock
 
     public IssueRecord() {
     }
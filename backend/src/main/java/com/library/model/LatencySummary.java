@@ -0,0 +1,51 @@
+package com.library.model;
+
+// Latency of one endpoint or service method since startup (or the last reset), in microseconds
+public class LatencySummary {
+    private String name;
+    private long count;
+    private double mean;
+    private double p50;
+    private double p90;
+    private double p99;
+    private double p999;
+    private double max;
+
+    public LatencySummary() {
+    }
+
+    public LatencySummary(String name, long count, double mean, double p50, double p90, double p99, double p999, double max) {
+        this.name = name;
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+    }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+
+    public double getMean() { return mean; }
+    public void setMean(double mean) { this.mean = mean; }
+
+    public double getP50() { return p50; }
+    public void setP50(double p50) { this.p50 = p50; }
+
+    public double getP90() { return p90; }
+    public void setP90(double p90) { this.p90 = p90; }
+
+    public double getP99() { return p99; }
+    public void setP99(double p99) { this.p99 = p99; }
+
+    public double getP999() { return p999; }
+    public void setP999(double p999) { this.p999 = p999; }
+
+    public double getMax() { return max; }
+    public void setMax(double max) { this.max = max; }
+}
@@ -0,0 +1,50 @@
+package com.library.model;
+
+import java.util.List;
+
+/**
+ * Library-wide figures for the dashboard, served from counters that are kept
+ * up to date as books are added, issued and returned.
+ */
+public class LibraryStats {
+    private long totalBooks;
+    private long totalMembers;
+    private long totalCopies;
+    private long availableCopies;
+    private long timesIssued;
+    private long activeLoans;
+    private long overdueLoans;
+    private double overdueFines;
+    private List<CategoryStats> categories;
+    private List<Book> mostIssued;
+
+    public long getTotalBooks() { return totalBooks; }
+    public void setTotalBooks(long totalBooks) { this.totalBooks = totalBooks; }
+
+    public long getTotalMembers() { return totalMembers; }
+    public void setTotalMembers(long totalMembers) { this.totalMembers = totalMembers; }
+
+    public long getTotalCopies() { return totalCopies; }
+    public void setTotalCopies(long totalCopies) { this.totalCopies = totalCopies; }
+
+    public long getAvailableCopies() { return availableCopies; }
+    public void setAvailableCopies(long availableCopies) { this.availableCopies = availableCopies; }
+
+    public long getTimesIssued() { return timesIssued; }
+    public void setTimesIssued(long timesIssued) { this.timesIssued = timesIssued; }
+
+    public long getActiveLoans() { return activeLoans; }
+    public void setActiveLoans(long activeLoans) { this.activeLoans = activeLoans; }
+
+    public long getOverdueLoans() { return overdueLoans; }
+    public void setOverdueLoans(long overdueLoans) { this.overdueLoans = overdueLoans; }
+
+    public double getOverdueFines() { return overdueFines; }
+    public void setOverdueFines(double overdueFines) { this.overdueFines = overdueFines; }
+
+    public List<CategoryStats> getCategories() { return categories; }
+    public void setCategories(List<CategoryStats> categories) { this.categories = categories; }
+
+    public List<Book> getMostIssued() { return mostIssued; }
+    public void setMostIssued(List<Book> mostIssued) { this.mostIssued = mostIssued; }
+}
@@ -1,9 +1,9 @@
 package com.library.model;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class Member {
     private int id;
@@ -11,7 +11,7 @@ public class Member {
     private String email;
     private String phone;
     private LocalDate registrationDate;
-    private List<Integer> currentBorrowedBooks = new ArrayList<>(); // Store Book IDs
+    private List<Integer> currentBorrowedBooks = new CopyOnWriteArrayList<>(); // Store Book IDs (safe to serialize while being updated)
     private double pendingFines;
 
     public Member() {
@@ -23,7 +23,7 @@ public class Member {
         this.email = email;
         this.phone = phone;
         this.registrationDate = registrationDate;
-        this.currentBorrowedBooks = currentBorrowedBooks;
+        setCurrentBorrowedBooks(currentBorrowedBooks);
         this.pendingFines = pendingFines;
     }
 
@@ -33,7 +33,7 @@ public class Member {
         this.email = email;
         this.phone = phone;
         this.registrationDate = LocalDate.now();
-        this.currentBorrowedBooks = new ArrayList<>();
+        this.currentBorrowedBooks = new CopyOnWriteArrayList<>();
     }
 
     public int getId() { return id; }
@@ -57,7 +57,11 @@ public class Member {
     public void setRegistrationDate(LocalDate registrationDate) { this.registrationDate = registrationDate; }
 
     public List<Integer> getCurrentBorrowedBooks() { return currentBorrowedBooks; }
-    public void setCurrentBorrowedBooks(List<Integer> currentBorrowedBooks) { this.currentBorrowedBooks = currentBorrowedBooks; }
+    public void setCurrentBorrowedBooks(List<Integer> currentBorrowedBooks) {
+        this.currentBorrowedBooks = currentBorrowedBooks != null
+                ? new CopyOnWriteArrayList<>(currentBorrowedBooks)
+                : new CopyOnWriteArrayList<>();
+    }
 
     public double getPendingFines() { return pendingFines; }
     public void setPendingFines(double pendingFines) { this.pendingFines = pendingFines; }
@@ -0,0 +1,26 @@
+package com.library.model;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ * nextCursor is the ID to pass as the next request's cursor, or null on the last page.
+ */
+public class Page<T> {
+    private List<T> items;
+    private Integer nextCursor;
+
+    public Page() {
+    }
+
+    public Page(List<T> items, Integer nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    public Integer getNextCursor() { return nextCursor; }
+    public void setNextCursor(Integer nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,49 @@
+package com.library.model;
+
+import java.time.Instant;
+
+// State of the on-demand flight recording; file is where it is (or will be) written
+public class RecordingInfo {
+    private String name;
+    private String state;
+    private String settings;
+    private Instant startTime;
+    private Instant stopTime;
+    private String file;
+    private long size;
+
+    public RecordingInfo() {
+    }
+
+    public RecordingInfo(String name, String state, String settings, Instant startTime, Instant stopTime,
+                         String file, long size) {
+        this.name = name;
+        this.state = state;
+        this.settings = settings;
+        this.startTime = startTime;
+        this.stopTime = stopTime;
+        this.file = file;
+        this.size = size;
+    }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+
+    public String getSettings() { return settings; }
+    public void setSettings(String settings) { this.settings = settings; }
+
+    public Instant getStartTime() { return startTime; }
+    public void setStartTime(Instant startTime) { this.startTime = startTime; }
+
+    public Instant getStopTime() { return stopTime; }
+    public void setStopTime(Instant stopTime) { this.stopTime = stopTime; }
+
+    public String getFile() { return file; }
+    public void setFile(String file) { this.file = file; }
+
+    public long getSize() { return size; }
+    public void setSize(long size) { this.size = size; }
+}
@@ -0,0 +1,96 @@
+package com.library.persistence;
+
+import com.library.model.Book;
+import com.library.model.Hold;
+import com.library.model.Member;
+import com.library.model.Reservation;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary encoding of the model objects shared by the write-ahead log and snapshots.
+ */
+final class BinaryCodec {
+
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private BinaryCodec() {
+    }
+
+    // Strings may be null (fields not sent by the client)
+    static void writeString(DataOutput out, String s) throws IOException {
+        out.writeBoolean(s != null);
+        if (s != null) out.writeUTF(s);
+    }
+
+    static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    static void writeDate(DataOutput out, LocalDate date) throws IOException {
+        out.writeLong(date != null ? date.toEpochDay() : NO_DATE);
+    }
+
+    static LocalDate readDate(DataInput in) throws IOException {
+        long day = in.readLong();
+        return day != NO_DATE ? LocalDate.ofEpochDay(day) : null;
+    }
+
+    static void writeBook(DataOutput out, Book book) throws IOException {
+        out.writeInt(book.getId());
+        writeString(out, book.getTitle());
+        writeString(out, book.getAuthor());
+        writeString(out, book.getCategory());
+        out.writeInt(book.getTotalCopies());
+        out.writeInt(book.getAvailableCopies());
+        out.writeInt(book.getTimesIssued());
+    }
+
+    static Book readBook(DataInput in) throws IOException {
+        return new Book(in.readInt(), readString(in), readString(in), readString(in),
+                in.readInt(), in.readInt(), in.readInt());
+    }
+
+    // Borrowed books are not written; they are rebuilt from the open loans
+    static void writeMember(DataOutput out, Member member) throws IOException {
+        out.writeInt(member.getId());
+        writeString(out, member.getName());
+        writeString(out, member.getEmail());
+        writeString(out, member.getPhone());
+        writeDate(out, member.getRegistrationDate());
+        out.writeDouble(member.getPendingFines());
+    }
+
+    static Member readMember(DataInput in) throws IOException {
+        // The full constructor skips phone validation; logged members were validated when registered
+        return new Member(in.readInt(), readString(in), readString(in), readString(in),
+                readDate(in), null, in.readDouble());
+    }
+
+    static void writeReservation(DataOutput out, Reservation reservation) throws IOException {
+        out.writeInt(reservation.getBookId());
+        out.writeInt(reservation.getMemberId());
+        LocalDateTime time = reservation.getReservationTime();
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano());
+    }
+
+    // Hold times are kept to the millisecond
+    static void writeHold(DataOutput out, Hold hold) throws IOException {
+        out.writeInt(hold.getBookId());
+        out.writeInt(hold.getMemberId());
+        out.writeLong(hold.getPlacedAt().toEpochMilli());
+        out.writeLong(hold.getExpiresAt().toEpochMilli());
+    }
+
+    static Hold readHold(DataInput in) throws IOException {
+        return new Hold(in.readInt(), in.readInt(),
+                Instant.ofEpochMilli(in.readLong()), Instant.ofEpochMilli(in.readLong()));
+    }
+}
@@ -0,0 +1,180 @@
+package com.library.persistence;
+
+import com.library.model.Book;
+import com.library.model.Hold;
+import com.library.model.Member;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * One state change of the library, as written to the write-ahead log.
+ * Entries describe the effect of an operation (a loan was opened, a reservation
+ * was taken off a queue) rather than the request that caused it, so replaying
+ * them in log order rebuilds exactly the same state.
+ * Entries are encoded as soon as they are appended, so the book or member they
+ * reference is captured as it was at that moment.
+ */
+public class JournalEntry {
+
+    public enum Type {
+        BOOK_ADDED,
+        MEMBER_REGISTERED,
+        LOAN_OPENED,
+        LOAN_CLOSED,
+        RESERVATION_ADDED,
+        RESERVATION_TAKEN,
+        RESERVATION_CANCELLED,
+        HOLD_PLACED,
+        HOLD_RELEASED
+    }
+
+    private final Type type;
+    private final int bookId;
+    private final int memberId;
+    private final LocalDate issueDate;
+    private final LocalDate dueDate;
+    private final LocalDateTime reservationTime;
+    private final Book book;
+    private final Member member;
+    private final Hold hold;
+
+    private JournalEntry(Type type, int bookId, int memberId, LocalDate issueDate, LocalDate dueDate,
+                         LocalDateTime reservationTime, Book book, Member member) {
+        this(type, bookId, memberId, issueDate, dueDate, reservationTime, book, member, null);
+    }
+
+    private JournalEntry(Type type, int bookId, int memberId, LocalDate issueDate, LocalDate dueDate,
+                         LocalDateTime reservationTime, Book book, Member member, Hold hold) {
+        this.type = type;
+        this.bookId = bookId;
+        this.memberId = memberId;
+        this.issueDate = issueDate;
+        this.dueDate = dueDate;
+        this.reservationTime = reservationTime;
+        this.book = book;
+        this.member = member;
+        this.hold = hold;
+    }
+
+    public static JournalEntry bookAdded(Book book) {
+        return new JournalEntry(Type.BOOK_ADDED, book.getId(), 0, null, null, null, book, null);
+    }
+
+    public static JournalEntry memberRegistered(Member member) {
+        return new JournalEntry(Type.MEMBER_REGISTERED, 0, member.getId(), null, null, null, null, member);
+    }
+
+    public static JournalEntry loanOpened(int bookId, int memberId, LocalDate issueDate, LocalDate dueDate) {
+        return new JournalEntry(Type.LOAN_OPENED, bookId, memberId, issueDate, dueDate, null, null, null);
+    }
+
+    public static JournalEntry loanClosed(int bookId, int memberId) {
+        return new JournalEntry(Type.LOAN_CLOSED, bookId, memberId, null, null, null, null, null);
+    }
+
+    public static JournalEntry reservationAdded(int bookId, int memberId, LocalDateTime time) {
+        return new JournalEntry(Type.RESERVATION_ADDED, bookId, memberId, null, null, time, null, null);
+    }
+
+    public static JournalEntry reservationTaken(int bookId) {
+        return new JournalEntry(Type.RESERVATION_TAKEN, bookId, 0, null, null, null, null, null);
+    }
+
+    public static JournalEntry reservationCancelled(int bookId, int memberId) {
+        return new JournalEntry(Type.RESERVATION_CANCELLED, bookId, memberId, null, null, null, null, null);
+    }
+
+    public static JournalEntry holdPlaced(Hold hold) {
+        return new JournalEntry(Type.HOLD_PLACED, hold.getBookId(), hold.getMemberId(),
+                null, null, null, null, null, hold);
+    }
+
+    public static JournalEntry holdReleased(int bookId, int memberId) {
+        return new JournalEntry(Type.HOLD_RELEASED, bookId, memberId, null, null, null, null, null);
+    }
+
+    public Type getType() { return type; }
+    public int getBookId() { return bookId; }
+    public int getMemberId() { return memberId; }
+    public LocalDate getIssueDate() { return issueDate; }
+    public LocalDate getDueDate() { return dueDate; }
+    public LocalDateTime getReservationTime() { return reservationTime; }
+    public Book getBook() { return book; }
+    public Member getMember() { return member; }
+    public Hold getHold() { return hold; }
+
+    // --- Binary Encoding ---
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeByte(type.ordinal());
+        switch (type) {
+            case BOOK_ADDED -> BinaryCodec.writeBook(out, book);
+            case MEMBER_REGISTERED -> BinaryCodec.writeMember(out, member);
+            case LOAN_OPENED -> {
+                out.writeInt(bookId);
+                out.writeInt(memberId);
+                out.writeLong(issueDate.toEpochDay());
+                out.writeLong(dueDate.toEpochDay());
+            }
+            case LOAN_CLOSED, RESERVATION_CANCELLED, HOLD_RELEASED -> {
+                out.writeInt(bookId);
+                out.writeInt(memberId);
+            }
+            case HOLD_PLACED -> BinaryCodec.writeHold(out, hold);
+            case RESERVATION_ADDED -> {
+                out.writeInt(bookId);
+                out.writeInt(memberId);
+                out.writeLong(reservationTime.toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(reservationTime.getNano());
+            }
+            case RESERVATION_TAKEN -> out.writeInt(bookId);
+        }
+    }
+
+    public static JournalEntry readFrom(DataInput in) throws IOException {
+        int ordinal = in.readUnsignedByte();
+        if (ordinal >= Type.values().length) {
+            throw new IOException("Unknown journal entry type " + ordinal);
+        }
+        Type type = Type.values()[ordinal];
+        return switch (type) {
+            case BOOK_ADDED -> {
+                Book b = BinaryCodec.readBook(in);
+                yield new JournalEntry(type, b.getId(), 0, null, null, null, b, null);
+            }
+            case MEMBER_REGISTERED -> {
+                Member m = BinaryCodec.readMember(in);
+                yield new JournalEntry(type, 0, m.getId(), null, null, null, null, m);
+            }
+            case LOAN_OPENED -> new JournalEntry(type, in.readInt(), in.readInt(),
+                    LocalDate.ofEpochDay(in.readLong()), LocalDate.ofEpochDay(in.readLong()), null, null, null);
+            case LOAN_CLOSED, RESERVATION_CANCELLED, HOLD_RELEASED ->
+                    new JournalEntry(type, in.readInt(), in.readInt(), null, null, null, null, null);
+            case HOLD_PLACED -> {
+                Hold h = BinaryCodec.readHold(in);
+                yield new JournalEntry(type, h.getBookId(), h.getMemberId(), null, null, null, null, null, h);
+            }
+            case RESERVATION_ADDED -> {
+                int bookId = in.readInt();
+                int memberId = in.readInt();
+                LocalDateTime time = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+                yield new JournalEntry(type, bookId, memberId, null, null, time, null, null);
+            }
+            case RESERVATION_TAKEN -> new JournalEntry(type, in.readInt(), 0, null, null, null, null, null);
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "JournalEntry{" +
+                "type=" + type +
+                ", bookId=" + bookId +
+                ", memberId=" + memberId +
+                '}';
+    }
+}
@@ -0,0 +1,63 @@
+package com.library.persistence;
+
+import com.library.model.Book;
+import com.library.model.Hold;
+import com.library.model.IssueRecord;
+import com.library.model.Member;
+import com.library.model.Reservation;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Point-in-time image of the library state, consistent with the write-ahead
+ * log up to and including sequence.
+ *
+ * The capture is cheap enough to take while the state is frozen: the lists are
+ * views of append-only storage, and only the parts that can still change after
+ * the freeze are copied (copy counts, which loans are open, reservation queues, holds).
+ * Book, member and loan fields that never change are read later, while encoding.
+ */
+public class LibrarySnapshot {
+
+    private final long sequence;
+    private final int nextBookId;
+    private final int nextMemberId;
+    private final List<Book> books;
+    private final int[] availableCopies; // Parallel to books
+    private final int[] timesIssued;     // Parallel to books
+    private final List<Member> members;
+    private final List<IssueRecord> history;
+    private final Set<IssueRecord> openLoans; // Identity set of the records still open
+    private final List<Reservation> reservations; // Grouped by book, in queue order
+    private final List<Hold> holds;
+
+    public LibrarySnapshot(long sequence, int nextBookId, int nextMemberId,
+                           List<Book> books, int[] availableCopies, int[] timesIssued,
+                           List<Member> members, List<IssueRecord> history, Set<IssueRecord> openLoans,
+                           List<Reservation> reservations, List<Hold> holds) {
+        this.sequence = sequence;
+        this.nextBookId = nextBookId;
+        this.nextMemberId = nextMemberId;
+        this.books = books;
+        this.availableCopies = availableCopies;
+        this.timesIssued = timesIssued;
+        this.members = members;
+        this.history = history;
+        this.openLoans = openLoans;
+        this.reservations = reservations;
+        this.holds = holds;
+    }
+
+    public long getSequence() { return sequence; }
+    public int getNextBookId() { return nextBookId; }
+    public int getNextMemberId() { return nextMemberId; }
+    public List<Book> getBooks() { return books; }
+    public int getAvailableCopies(int index) { return availableCopies[index]; }
+    public int getTimesIssued(int index) { return timesIssued[index]; }
+    public List<Member> getMembers() { return members; }
+    public List<IssueRecord> getHistory() { return history; }
+    public boolean isOpen(IssueRecord record) { return openLoans.contains(record); }
+    public List<Reservation> getReservations() { return reservations; }
+    public List<Hold> getHolds() { return holds; }
+}
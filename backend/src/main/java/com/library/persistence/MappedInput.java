@@ -0,0 +1,127 @@
+package com.library.persistence;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Sequential big-endian reader over a memory-mapped file.
+ * The file is mapped in regions of at most 1 GB (a single mapping is limited to
+ * 2 GB); values that straddle two regions are assembled byte by byte. Reading goes
+ * straight from the page cache without copying through a stream buffer.
+ */
+final class MappedInput {
+
+    private static final int REGION_BYTES = 1 << 30;
+
+    private final MappedByteBuffer[] regions;
+    private final long length;
+    private int region;
+    private byte[] stringBuffer = new byte[256];
+
+    private MappedInput(MappedByteBuffer[] regions, long length) {
+        this.regions = regions;
+        this.length = length;
+    }
+
+    static MappedInput map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int count = (int) Math.max(1, (size + REGION_BYTES - 1) / REGION_BYTES);
+            MappedByteBuffer[] regions = new MappedByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                long start = (long) i * REGION_BYTES;
+                regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(REGION_BYTES, size - start));
+            }
+            return new MappedInput(regions, size); // Mappings stay valid after the channel closes
+        }
+    }
+
+    long length() {
+        return length;
+    }
+
+    long position() {
+        return (long) region * REGION_BYTES + regions[region].position();
+    }
+
+    // CRC32 of the first n bytes of the file
+    long checksum(long n) {
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < regions.length && n > 0; i++) {
+            MappedByteBuffer view = regions[i].duplicate();
+            view.position(0);
+            int take = (int) Math.min(view.capacity(), n);
+            view.limit(take);
+            crc.update(view);
+            n -= take;
+        }
+        return crc.getValue();
+    }
+
+    // Region with at least n bytes left, or null when the value straddles a boundary
+    private MappedByteBuffer current(int n) throws EOFException {
+        MappedByteBuffer buf = regions[region];
+        if (buf.remaining() >= n) return buf;
+        if (buf.remaining() == 0 && region + 1 < regions.length) {
+            buf = regions[++region];
+            if (buf.remaining() >= n) return buf;
+        }
+        if (position() + n > length) {
+            throw new EOFException();
+        }
+        return null;
+    }
+
+    private int nextByte() throws EOFException {
+        MappedByteBuffer buf = regions[region];
+        if (!buf.hasRemaining()) {
+            if (region + 1 >= regions.length) throw new EOFException();
+            buf = regions[++region];
+        }
+        return buf.get() & 0xFF;
+    }
+
+    byte readByte() throws IOException {
+        return (byte) nextByte();
+    }
+
+    int readInt() throws IOException {
+        MappedByteBuffer buf = current(4);
+        if (buf != null) return buf.getInt();
+        return (nextByte() << 24) | (nextByte() << 16) | (nextByte() << 8) | nextByte();
+    }
+
+    long readLong() throws IOException {
+        MappedByteBuffer buf = current(8);
+        if (buf != null) return buf.getLong();
+        return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+    }
+
+    double readDouble() throws IOException {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    // UTF-8 string prefixed by its byte length; -1 encodes null
+    String readString() throws IOException {
+        int n = readInt();
+        if (n < 0) return null;
+        if (n > stringBuffer.length) {
+            stringBuffer = new byte[Math.max(n, stringBuffer.length * 2)];
+        }
+        MappedByteBuffer buf = current(n);
+        if (buf != null) {
+            buf.get(stringBuffer, 0, n);
+        } else {
+            for (int i = 0; i < n; i++) {
+                stringBuffer[i] = (byte) nextByte();
+            }
+        }
+        return new String(stringBuffer, 0, n, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,26 @@
+package com.library.persistence;
+
+/**
+ * Destination for the library's state changes.
+ * append() is called while the locks that order the change are still held, so
+ * the log order matches the order the changes were applied in memory. sync() is
+ * called after those locks are released and blocks until the change is durable.
+ */
+public interface MutationLog {
+
+    // Used when persistence is disabled and while recovering
+    MutationLog NONE = new MutationLog() {
+        @Override
+        public void append(JournalEntry entry) {
+        }
+
+        @Override
+        public void sync() {
+        }
+    };
+
+    void append(JournalEntry entry);
+
+    // Waits until every entry appended before the call is durable
+    void sync();
+}
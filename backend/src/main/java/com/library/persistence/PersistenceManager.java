@@ -0,0 +1,152 @@
+package com.library.persistence;
+
+import com.library.config.ThreadingConfig;
+import com.library.service.LibraryService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Brings the library state back at startup and keeps it durable while running.
+ *
+ * With library.persistence.enabled, startup loads the newest snapshot, replays the
+ * write-ahead log written after it and then attaches a fresh log to the service.
+ * A background task writes a new snapshot every snapshot-interval-seconds once at
+ * least snapshot-min-entries changes were logged, and deletes the log segments it
+ * covers. When persistence is disabled, or the data directory is empty, the
+ * library starts with the demo catalog.
+ */
+@Component
+public class PersistenceManager {
+
+    private static final Logger log = LoggerFactory.getLogger(PersistenceManager.class);
+
+    @Autowired
+    private LibraryService libraryService;
+
+    @Value("${library.persistence.enabled:false}")
+    private boolean enabled;
+
+    @Value("${library.persistence.dir:data}")
+    private String dataDir;
+
+    @Value("${library.persistence.fsync:true}")
+    private boolean fsync;
+
+    @Value("${library.persistence.snapshot-interval-seconds:300}")
+    private long snapshotIntervalSeconds;
+
+    @Value("${library.persistence.snapshot-min-entries:10000}")
+    private long snapshotMinEntries;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private WriteAheadLog wal;
+    private SnapshotStore snapshots;
+    private ScheduledExecutorService scheduler;
+    private final ReentrantLock snapshotLock = new ReentrantLock(); // One snapshot at a time
+    private volatile long snapshotSequence;
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            libraryService.seedDefaults();
+            return;
+        }
+
+        long started = System.nanoTime();
+        Path dir = Paths.get(dataDir);
+        snapshots = new SnapshotStore(dir);
+        snapshots.deleteTemporaryFiles();
+
+        LibrarySnapshot snapshot = snapshots.readLatest();
+        if (snapshot != null) {
+            libraryService.restore(snapshot);
+            snapshotSequence = snapshot.getSequence();
+        }
+        long lastSequence = WriteAheadLog.replay(dir, snapshotSequence, libraryService::apply);
+
+        wal = WriteAheadLog.open(dir, lastSequence, fsync,
+                ThreadingConfig.threadFactory("library-wal-flusher", virtualThreads));
+        libraryService.setMutationLog(wal);
+        if (lastSequence == 0) {
+            libraryService.seedDefaults(); // Nothing saved yet; the seed goes through the log
+        }
+
+        log.info("Recovered library state from {} in {} ms (snapshot at {}, {} log entries replayed)",
+                dir.toAbsolutePath(), (System.nanoTime() - started) / 1_000_000,
+                snapshotSequence, lastSequence - snapshotSequence);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                ThreadingConfig.threadFactory("library-snapshot", virtualThreads));
+        scheduler.scheduleWithFixedDelay(this::snapshotIfDue,
+                snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    private void snapshotIfDue() {
+        try {
+            if (wal.lastSequence() - snapshotSequence >= snapshotMinEntries) {
+                snapshot();
+            }
+        } catch (Exception e) {
+            // Keep the schedule alive; the log still holds every change
+            log.error("Snapshot failed", e);
+        }
+    }
+
+    /**
+     * Writes a snapshot of the current state and deletes the log segments it makes
+     * redundant. Returns the log sequence the snapshot covers.
+     */
+    public long snapshot() throws IOException {
+        if (wal == null) {
+            throw new IllegalStateException("Persistence is disabled");
+        }
+        snapshotLock.lock();
+        try {
+            long started = System.nanoTime();
+            LibrarySnapshot snapshot = libraryService.captureSnapshot(wal::rotate);
+            long frozenMs = (System.nanoTime() - started) / 1_000_000;
+
+            Path file = snapshots.write(snapshot);
+            wal.deleteOldSegments();
+            snapshotSequence = snapshot.getSequence();
+
+            log.info("Wrote snapshot {} ({} books, {} members, {} loans) in {} ms, {} ms frozen",
+                    file.getFileName(), snapshot.getBooks().size(), snapshot.getMembers().size(),
+                    snapshot.getHistory().size(), (System.nanoTime() - started) / 1_000_000, frozenMs);
+            return snapshot.getSequence();
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (wal == null) return;
+        scheduler.shutdownNow();
+        // A final snapshot keeps the next startup from replaying a long log
+        if (wal.lastSequence() > snapshotSequence) {
+            try {
+                snapshot();
+            } catch (Exception e) {
+                log.error("Final snapshot failed; the log will be replayed on next start", e);
+            }
+        }
+        libraryService.setMutationLog(MutationLog.NONE);
+        wal.close();
+    }
+}
@@ -0,0 +1,277 @@
+package com.library.persistence;
+
+import com.library.model.Book;
+import com.library.model.Hold;
+import com.library.model.IssueRecord;
+import com.library.model.Member;
+import com.library.model.Reservation;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary snapshot files, named after the last log sequence they contain
+ * (snapshot-00000000000000001234.bin). Every file starts with int magic, int
+ * version and ends with a long CRC32 of everything before it. Files are written
+ * to a temporary name, synced and renamed, so a crash never leaves a half-written
+ * snapshot under the final name.
+ *
+ * Version 3 (written): long sequence, int nextBookId, int nextMemberId, then the
+ * five section counts up front so the reader can presize its tables, then the
+ * books, members, issue history, reservations and holds. Strings are UTF-8 with
+ * an int byte length (-1 for null); loan dates are int epoch days, so a history
+ * entry is a fixed 17 bytes. It is read through FileChannel.map. Other
+ * versions are rejected.
+ */
+public class SnapshotStore {
+
+    static final int MAGIC = 0x4C494253; // "LIBS"
+    static final int VERSION = 3;
+
+    private static final int NO_DAY = Integer.MIN_VALUE;
+
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path dir;
+
+    public SnapshotStore(Path dir) {
+        this.dir = dir;
+    }
+
+    private Path pathFor(long sequence) {
+        return dir.resolve(String.format("%s%020d%s", PREFIX, sequence, SUFFIX));
+    }
+
+    private static long sequenceOf(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    // Snapshot files, newest first
+    private List<Path> list() throws IOException {
+        List<Path> result = new ArrayList<>();
+        if (!Files.isDirectory(dir)) return result;
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(p -> {
+                String name = p.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).forEach(result::add);
+        }
+        result.sort((a, b) -> Long.compare(sequenceOf(b), sequenceOf(a)));
+        return result;
+    }
+
+    // --- Writing ---
+
+    public Path write(LibrarySnapshot snapshot) throws IOException {
+        Path target = pathFor(snapshot.getSequence());
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+
+        try (FileOutputStream file = new FileOutputStream(temp.toFile())) {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            writeBody(out, snapshot);
+            out.flush();
+            out.writeLong(checked.getChecksum().getValue());
+            out.flush();
+            file.getChannel().force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        // The new snapshot supersedes every older one
+        for (Path old : list()) {
+            if (sequenceOf(old) < snapshot.getSequence()) {
+                Files.deleteIfExists(old);
+            }
+        }
+        return target;
+    }
+
+    private static void writeBody(DataOutputStream out, LibrarySnapshot snapshot) throws IOException {
+        List<Book> books = snapshot.getBooks();
+        List<Member> members = snapshot.getMembers();
+        List<IssueRecord> history = snapshot.getHistory();
+        List<Reservation> reservations = snapshot.getReservations();
+        List<Hold> holds = snapshot.getHolds();
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(snapshot.getSequence());
+        out.writeInt(snapshot.getNextBookId());
+        out.writeInt(snapshot.getNextMemberId());
+        out.writeInt(books.size());
+        out.writeInt(members.size());
+        out.writeInt(history.size());
+        out.writeInt(reservations.size());
+        out.writeInt(holds.size());
+
+        for (int i = 0; i < books.size(); i++) {
+            Book b = books.get(i);
+            out.writeInt(b.getId());
+            out.writeInt(b.getTotalCopies());
+            // Copy counts as captured, not as they are now
+            out.writeInt(snapshot.getAvailableCopies(i));
+            out.writeInt(snapshot.getTimesIssued(i));
+            writeString(out, b.getTitle());
+            writeString(out, b.getAuthor());
+            writeString(out, b.getCategory());
+        }
+
+        for (Member m : members) {
+            out.writeInt(m.getId());
+            out.writeInt(toDay(m.getRegistrationDate()));
+            out.writeDouble(m.getPendingFines());
+            writeString(out, m.getName());
+            writeString(out, m.getEmail());
+            writeString(out, m.getPhone());
+        }
+
+        for (IssueRecord r : history) {
+            out.writeInt(r.getBookId());
+            out.writeInt(r.getMemberId());
+            out.writeInt(toDay(r.getIssueDate()));
+            out.writeInt(toDay(r.getDueDate()));
+            out.writeBoolean(!snapshot.isOpen(r));
+        }
+
+        for (Reservation r : reservations) {
+            BinaryCodec.writeReservation(out, r);
+        }
+
+        for (Hold h : holds) {
+            BinaryCodec.writeHold(out, h);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static int toDay(LocalDate date) {
+        return date != null ? Math.toIntExact(date.toEpochDay()) : NO_DAY;
+    }
+
+    private static LocalDate fromDay(int day) {
+        return day != NO_DAY ? LocalDate.ofEpochDay(day) : null;
+    }
+
+    // --- Reading ---
+
+    /**
+     * Newest snapshot, or null if there is none. Older snapshots are not a fallback:
+     * the log segments they would need have already been deleted.
+     */
+    public LibrarySnapshot readLatest() throws IOException {
+        List<Path> snapshots = list();
+        return snapshots.isEmpty() ? null : read(snapshots.get(0));
+    }
+
+    public LibrarySnapshot read(Path path) throws IOException {
+        MappedInput in = MappedInput.map(path);
+        if (in.length() < 16 || in.readInt() != MAGIC) {
+            throw new IOException("Not a library snapshot: " + path);
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + ": " + path);
+        }
+
+        long body = in.length() - 8;
+        long expected = in.checksum(body);
+
+        long sequence = in.readLong();
+        int nextBookId = in.readInt();
+        int nextMemberId = in.readInt();
+        int bookCount = in.readInt();
+        int memberCount = in.readInt();
+        int historyCount = in.readInt();
+        int reservationCount = in.readInt();
+        int holdCount = in.readInt();
+
+        List<Book> books = new ArrayList<>(bookCount);
+        int[] available = new int[bookCount];
+        int[] timesIssued = new int[bookCount];
+        for (int i = 0; i < bookCount; i++) {
+            int id = in.readInt();
+            int total = in.readInt();
+            available[i] = in.readInt();
+            timesIssued[i] = in.readInt();
+            books.add(new Book(id, in.readString(), in.readString(), in.readString(),
+                    total, available[i], timesIssued[i]));
+        }
+
+        List<Member> members = new ArrayList<>(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            int id = in.readInt();
+            LocalDate registered = fromDay(in.readInt());
+            double fines = in.readDouble();
+            // The full constructor skips phone validation; stored members were validated when registered
+            members.add(new Member(id, in.readString(), in.readString(), in.readString(), registered, null, fines));
+        }
+
+        List<IssueRecord> history = new ArrayList<>(historyCount);
+        Set<IssueRecord> open = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < historyCount; i++) {
+            IssueRecord r = new IssueRecord(in.readInt(), in.readInt(), fromDay(in.readInt()), fromDay(in.readInt()));
+            r.setReturned(in.readByte() != 0);
+            history.add(r);
+            if (!r.isReturned()) open.add(r);
+        }
+
+        List<Reservation> reservations = new ArrayList<>(reservationCount);
+        for (int i = 0; i < reservationCount; i++) {
+            reservations.add(new Reservation(in.readInt(), in.readInt(),
+                    LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC)));
+        }
+
+        List<Hold> holds = new ArrayList<>(holdCount);
+        for (int i = 0; i < holdCount; i++) {
+            holds.add(new Hold(in.readInt(), in.readInt(),
+                    Instant.ofEpochMilli(in.readLong()), Instant.ofEpochMilli(in.readLong())));
+        }
+
+        if (in.position() != body || in.readLong() != expected) {
+            throw new IOException("Snapshot checksum mismatch: " + path);
+        }
+        return new LibrarySnapshot(sequence, nextBookId, nextMemberId, books, available, timesIssued,
+                members, history, open, reservations, holds);
+    }
+
+    // Leftovers of a snapshot interrupted before its rename
+    public void deleteTemporaryFiles() throws IOException {
+        if (!Files.isDirectory(dir)) return;
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) {
+                if (p.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                    Files.deleteIfExists(p);
+                }
+            }
+        }
+    }
+}
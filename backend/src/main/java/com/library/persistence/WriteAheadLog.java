@@ -0,0 +1,350 @@
+package com.library.persistence;
+
+import com.library.config.ThreadingConfig;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, group-committed write-ahead log.
+ *
+ * Entries are encoded into an in-memory batch by the appending thread; a single
+ * flusher thread writes each batch with one write and one fsync, so concurrent
+ * requests share the cost of a disk sync. Callers wait in sync() only after
+ * releasing their locks.
+ *
+ * The log is split into segments named after the sequence number of their first
+ * entry (wal-00000000000000000001.log). A snapshot rotates to a new segment, after
+ * which every older segment can be deleted.
+ *
+ * Entry framing: int payload length, int CRC32 of payload, payload
+ * (long sequence number followed by the encoded JournalEntry).
+ */
+public class WriteAheadLog implements MutationLog, Closeable {
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int MAX_ENTRY_BYTES = 1 << 20;
+
+    private final Path dir;
+    private final boolean fsync;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition hasPending = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+
+    // All guarded by lock
+    private final ByteArrayOutputStream scratch = new ByteArrayOutputStream(256);
+    private final DataOutputStream scratchOut = new DataOutputStream(scratch);
+    private final CRC32 crc = new CRC32();
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream(1 << 16);
+    private long lastSequence;    // Highest sequence appended
+    private long durableSequence; // Highest sequence written (and synced, if enabled)
+    private FileChannel channel;
+    private long segmentStart;
+    private IOException failure;
+    private boolean closed;
+
+    private final Thread flusher;
+
+    private WriteAheadLog(Path dir, long lastSequence, boolean fsync, ThreadFactory threads) throws IOException {
+        this.dir = dir;
+        this.fsync = fsync;
+        this.lastSequence = lastSequence;
+        this.durableSequence = lastSequence;
+        openSegment(lastSequence + 1);
+        this.flusher = threads.newThread(this::flushLoop);
+        this.flusher.start();
+    }
+
+    /**
+     * Opens the log for appending after recovery. lastSequence is the sequence of
+     * the last entry already reflected in memory (from the snapshot or replay).
+     */
+    public static WriteAheadLog open(Path dir, long lastSequence, boolean fsync) throws IOException {
+        return open(dir, lastSequence, fsync, ThreadingConfig.threadFactory("library-wal-flusher", false));
+    }
+
+    // As above, with the flusher thread made by threads (a virtual thread in virtual-thread mode)
+    public static WriteAheadLog open(Path dir, long lastSequence, boolean fsync, ThreadFactory threads)
+            throws IOException {
+        Files.createDirectories(dir);
+        return new WriteAheadLog(dir, lastSequence, fsync, threads);
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        channel = FileChannel.open(segmentPath(dir, firstSequence),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentStart = firstSequence;
+    }
+
+    private static Path segmentPath(Path dir, long firstSequence) {
+        return dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+    }
+
+    // --- Appending ---
+
+    @Override
+    public void append(JournalEntry entry) {
+        lock.lock();
+        try {
+            long sequence = lastSequence + 1;
+            scratch.reset();
+            scratchOut.writeLong(sequence);
+            entry.writeTo(scratchOut);
+
+            byte[] payload = scratch.toByteArray();
+            crc.reset();
+            crc.update(payload);
+            DataOutputStream out = new DataOutputStream(pending);
+            out.writeInt(payload.length);
+            out.writeInt((int) crc.getValue());
+            out.write(payload);
+
+            lastSequence = sequence;
+            hasPending.signal();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // In-memory streams do not fail
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void sync() {
+        lock.lock();
+        try {
+            long target = lastSequence;
+            while (durableSequence < target) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Write-ahead log is unavailable", failure);
+                }
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long lastSequence() {
+        lock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            byte[] batch;
+            long upTo;
+            FileChannel target;
+            lock.lock();
+            try {
+                while (pending.size() == 0 && !closed) {
+                    hasPending.awaitUninterruptibly();
+                }
+                if (pending.size() == 0) {
+                    return; // Closed and drained
+                }
+                batch = pending.toByteArray();
+                pending.reset();
+                upTo = lastSequence;
+                target = channel;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(batch);
+                while (buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+                if (fsync) {
+                    target.force(false);
+                }
+            } catch (IOException e) {
+                error = e;
+            }
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durableSequence = upTo;
+                }
+                flushed.signalAll();
+                if (error != null) return;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Starts a new segment and returns the sequence of the last entry in the old
+     * ones. The caller must prevent appends while rotating (the library state is
+     * frozen for the snapshot), so the returned sequence is an exact boundary.
+     */
+    public long rotate() {
+        lock.lock();
+        try {
+            long boundary = lastSequence;
+            while (durableSequence < boundary && failure == null) {
+                flushed.awaitUninterruptibly();
+            }
+            if (failure != null) {
+                throw new UncheckedIOException("Write-ahead log is unavailable", failure);
+            }
+            if (segmentStart <= boundary) {
+                channel.close();
+                openSegment(boundary + 1);
+            }
+            return boundary;
+        } catch (IOException e) {
+            failure = e;
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Deletes every segment older than the current one; called once a snapshot covers them
+    public void deleteOldSegments() throws IOException {
+        long current;
+        lock.lock();
+        try {
+            current = segmentStart;
+        } finally {
+            lock.unlock();
+        }
+        for (Path segment : segments(dir)) {
+            if (firstSequence(segment) < current) {
+                Files.deleteIfExists(segment);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            hasPending.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // --- Recovery ---
+
+    private static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    // Segments ordered by first sequence
+    static List<Path> segments(Path dir) throws IOException {
+        List<Path> result = new ArrayList<>();
+        if (!Files.isDirectory(dir)) return result;
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(p -> {
+                String name = p.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).forEach(result::add);
+        }
+        result.sort((a, b) -> Long.compare(firstSequence(a), firstSequence(b)));
+        return result;
+    }
+
+    /**
+     * Replays every entry with a sequence above afterSequence, in order, and returns
+     * the sequence of the last entry in the log. A torn write at the end of the last
+     * segment (a crash mid-append) is truncated away; damage anywhere else fails.
+     */
+    public static long replay(Path dir, long afterSequence, Consumer<JournalEntry> consumer) throws IOException {
+        List<Path> segments = segments(dir);
+        long last = afterSequence;
+        for (int i = 0; i < segments.size(); i++) {
+            Path segment = segments.get(i);
+            long validBytes = 0;
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(segment), 1 << 16))) {
+                CRC32 checksum = new CRC32();
+                while (true) {
+                    int length;
+                    int expectedCrc;
+                    byte[] payload;
+                    try {
+                        length = in.readInt();
+                        if (length <= 0 || length > MAX_ENTRY_BYTES) break;
+                        expectedCrc = in.readInt();
+                        payload = new byte[length];
+                        in.readFully(payload);
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    checksum.reset();
+                    checksum.update(payload);
+                    if ((int) checksum.getValue() != expectedCrc) break;
+
+                    DataInputStream entryIn = new DataInputStream(new ByteArrayInputStream(payload));
+                    long sequence = entryIn.readLong();
+                    if (sequence > last) {
+                        if (sequence != last + 1) {
+                            throw new IOException("Write-ahead log is missing entries "
+                                    + (last + 1) + " to " + (sequence - 1));
+                        }
+                        consumer.accept(JournalEntry.readFrom(entryIn));
+                        last = sequence;
+                    }
+                    validBytes += 8 + length;
+                }
+            }
+
+            if (Files.size(segment) > validBytes) {
+                if (i < segments.size() - 1) {
+                    throw new IOException("Corrupt write-ahead log segment " + segment);
+                }
+                try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                    ch.truncate(validBytes);
+                }
+            }
+        }
+        return last;
+    }
+}
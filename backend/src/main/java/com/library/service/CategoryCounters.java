@@ -0,0 +1,27 @@
+package com.library.service;
+
+import com.library.ds.RankingTree;
+import com.library.model.CategoryStats;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Running totals and popularity ranking for one category. Loans of different
+// books in the same category run under different stripe locks, so the
+// counters are atomic and the ranking locks internally.
+final class CategoryCounters {
+
+    final String category;
+    final AtomicLong books = new AtomicLong();
+    final AtomicLong totalCopies = new AtomicLong();
+    final AtomicLong availableCopies = new AtomicLong();
+    final AtomicLong timesIssued = new AtomicLong();
+    final RankingTree ranking = new RankingTree();
+
+    CategoryCounters(String category) {
+        this.category = category;
+    }
+
+    CategoryStats toStats() {
+        return new CategoryStats(category, books.get(), totalCopies.get(), availableCopies.get(), timesIssued.get());
+    }
+}
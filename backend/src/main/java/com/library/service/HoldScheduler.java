@@ -0,0 +1,73 @@
+package com.library.service;
+
+import com.library.config.ThreadingConfig;
+import com.library.persistence.PersistenceManager;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expires holds whose pickup window has passed, on a background thread.
+ * Every check-interval-millis it advances the service's hold timing wheel; each
+ * expired hold returns its copy and the copy is offered to the next reservation.
+ *
+ * Depends on PersistenceManager so that it only starts once the saved state has
+ * been recovered, and stops before the final snapshot is taken.
+ */
+@Component
+public class HoldScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(HoldScheduler.class);
+
+    @Autowired
+    private LibraryService libraryService;
+
+    @Autowired
+    private PersistenceManager persistenceManager; // Recovery must finish first
+
+    @Value("${library.holds.pickup-days:3}")
+    private long pickupDays;
+
+    @Value("${library.holds.check-interval-millis:1000}")
+    private long checkIntervalMillis;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        libraryService.setHoldPeriod(Duration.ofDays(pickupDays));
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                ThreadingConfig.threadFactory("library-hold-expiry", virtualThreads));
+        scheduler.scheduleWithFixedDelay(this::expire, checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void expire() {
+        try {
+            int expired = libraryService.expireHolds();
+            if (expired > 0) {
+                log.debug("Expired {} holds", expired);
+            }
+        } catch (Exception e) {
+            // Keep the schedule alive for the holds still pending
+            log.error("Hold expiry failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,243 @@
+package com.library.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.ds.ConcurrentCustomHashMap;
+import com.library.importer.CsvRecordReader;
+import com.library.importer.NdjsonRecordReader;
+import com.library.importer.RecordReader;
+import com.library.model.Book;
+import com.library.model.ImportJob;
+import com.library.model.Member;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk import of books and members from CSV or NDJSON.
+ * The input is parsed one record at a time, validated, deduplicated with hash sets
+ * (against the library and within the file) and inserted in batches, so each batch
+ * takes the catalog lock and waits for the write-ahead log once.
+ */
+@Service
+public class ImportService {
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private LibraryService libraryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ConcurrentCustomHashMap<Integer, ImportJob> jobs = new ConcurrentCustomHashMap<>();
+    private final AtomicInteger nextJobId = new AtomicInteger(1);
+
+    public List<ImportJob> getJobs() {
+        List<ImportJob> all = jobs.values();
+        all.sort(Comparator.comparingInt(ImportJob::getId));
+        return all;
+    }
+
+    public ImportJob getJob(int id) {
+        return jobs.get(id);
+    }
+
+    private ImportJob startJob(String type, String format) {
+        ImportJob job = new ImportJob(nextJobId.getAndIncrement(), type, format);
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    private RecordReader open(InputStream in, String format) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+        if (FORMAT_CSV.equals(format)) {
+            return new CsvRecordReader(reader);
+        }
+        return new NdjsonRecordReader(reader, objectMapper);
+    }
+
+    // --- Books ---
+
+    // Fields: title, author, category, totalCopies, availableCopies (default totalCopies), timesIssued (default 0)
+    public ImportJob importBooks(InputStream in, String format) {
+        ImportJob job = startJob("books", format);
+
+        // A book is a duplicate if its title and author match one already in the library or the file
+        Set<String> seen = new HashSet<>();
+        for (Book b : libraryService.getAllBooks()) {
+            seen.add(bookKey(b.getTitle(), b.getAuthor()));
+        }
+
+        List<Book> batch = new ArrayList<>(BATCH_SIZE);
+        try (RecordReader reader = open(in, format)) {
+            Map<String, String> record;
+            while ((record = reader.next()) != null) {
+                job.recordRead();
+                Book book;
+                try {
+                    book = toBook(record);
+                } catch (IllegalArgumentException e) {
+                    job.recordInvalid(reader.position(), e.getMessage());
+                    continue;
+                }
+                if (!seen.add(bookKey(book.getTitle(), book.getAuthor()))) {
+                    job.recordDuplicate();
+                    continue;
+                }
+                batch.add(book);
+                if (batch.size() == BATCH_SIZE) {
+                    List<Book> full = batch;
+                    batch = new ArrayList<>(BATCH_SIZE); // Never resubmitted, even if the insert fails
+                    job.recordImported(libraryService.addBooks(full).size());
+                }
+            }
+            List<Book> last = batch;
+            batch = new ArrayList<>();
+            job.recordImported(libraryService.addBooks(last).size());
+            job.finish();
+        } catch (IOException | RuntimeException e) {
+            // Valid records read before a parse error stay imported
+            if (!batch.isEmpty()) {
+                job.recordImported(libraryService.addBooks(batch).size());
+            }
+            job.fail("Import stopped after " + job.getRead() + " records: " + e.getMessage());
+        }
+        return job;
+    }
+
+    private static String bookKey(String title, String author) {
+        return normalize(title) + '\u0000' + normalize(author);
+    }
+
+    private static Book toBook(Map<String, String> record) {
+        String title = required(record, "title");
+        String author = required(record, "author");
+        String category = required(record, "category");
+        int total = intField(record, "totalcopies", 1);
+        int available = intField(record, "availablecopies", total);
+        int timesIssued = intField(record, "timesissued", 0);
+        if (total < 1) {
+            throw new IllegalArgumentException("totalCopies must be at least 1");
+        }
+        if (available < 0 || available > total) {
+            throw new IllegalArgumentException("availableCopies must be between 0 and totalCopies");
+        }
+        if (timesIssued < 0) {
+            throw new IllegalArgumentException("timesIssued must not be negative");
+        }
+        return new Book(0, title, author, category, total, available, timesIssued);
+    }
+
+    // --- Members ---
+
+    // Fields: name, email, phone. Emails and phones must be unique across the library (after normalization)
+    public ImportJob importMembers(InputStream in, String format) {
+        ImportJob job = startJob("members", format);
+
+        // Duplicates within the file; the library's own unique indexes catch the rest
+        Set<String> emails = new HashSet<>();
+        Set<String> phones = new HashSet<>();
+
+        List<Member> batch = new ArrayList<>(BATCH_SIZE);
+        try (RecordReader reader = open(in, format)) {
+            Map<String, String> record;
+            while ((record = reader.next()) != null) {
+                job.recordRead();
+                Member member;
+                try {
+                    member = toMember(record);
+                } catch (IllegalArgumentException e) {
+                    job.recordInvalid(reader.position(), e.getMessage());
+                    continue;
+                }
+                String email = LibraryService.normalizeEmail(member.getEmail());
+                String phone = LibraryService.normalizePhone(member.getPhone());
+                if (emails.contains(email) || phones.contains(phone)
+                        || libraryService.getMemberByEmail(email) != null
+                        || libraryService.getMemberByPhone(phone) != null) {
+                    job.recordDuplicate();
+                    continue;
+                }
+                emails.add(email);
+                phones.add(phone);
+                batch.add(member);
+                if (batch.size() == BATCH_SIZE) {
+                    List<Member> full = batch;
+                    batch = new ArrayList<>(BATCH_SIZE); // Never resubmitted, even if the insert fails
+                    registerBatch(job, full);
+                }
+            }
+            List<Member> last = batch;
+            batch = new ArrayList<>();
+            registerBatch(job, last);
+            job.finish();
+        } catch (IOException | RuntimeException e) {
+            if (!batch.isEmpty()) {
+                registerBatch(job, batch);
+            }
+            job.fail("Import stopped after " + job.getRead() + " records: " + e.getMessage());
+        }
+        return job;
+    }
+
+    // Members registered concurrently since the lookup are rejected by the unique indexes
+    private void registerBatch(ImportJob job, List<Member> batch) {
+        int registered = libraryService.importMembers(batch).size();
+        job.recordImported(registered);
+        for (int i = registered; i < batch.size(); i++) {
+            job.recordDuplicate();
+        }
+    }
+
+    private static Member toMember(Map<String, String> record) {
+        String name = required(record, "name");
+        String email = required(record, "email");
+        if (email.indexOf('@') <= 0 || email.indexOf('@') == email.length() - 1) {
+            throw new IllegalArgumentException("Invalid email: " + email);
+        }
+        Member member = new Member(0, name, email, null);
+        member.setPhone(required(record, "phone")); // Validates the number
+        return member;
+    }
+
+    // --- Field Helpers ---
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String required(Map<String, String> record, String field) {
+        String value = record.get(field);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing " + field);
+        }
+        return value.trim();
+    }
+
+    private static int intField(Map<String, String> record, String field, int defaultValue) {
+        String value = record.get(field);
+        if (value == null || value.isBlank()) return defaultValue;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+}
@@ -1,41 +1,124 @@
 package com.library.service;
 
 import com.library.ds.*;
+import com.library.metrics.LibraryOperationEvent;
 import com.library.model.*;
+import com.library.persistence.JournalEntry;
+import com.library.persistence.LibrarySnapshot;
+import com.library.persistence.MutationLog;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Locale;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
 
 @Service
 public class LibraryService {
 
     // 1. Primary Book Storage
-    private CustomLinkedList<Book> books = new CustomLinkedList<>();
+    private ChunkedArrayList<Book> books = new ChunkedArrayList<>(); // In ID order
 
     // 2. Member Storage & Indexes
-    private CustomHashMap<Integer, Member> members = new CustomHashMap<>();
-    private CustomHashMap<String, CustomLinkedList<Book>> categoryIndex = new CustomHashMap<>();
+    private IntObjectMap<Member> members = new IntObjectMap<>();
+    private ChunkedArrayList<Member> memberList = new ChunkedArrayList<>(); // In ID order
+    // Unique secondary indexes on normalized email and phone; written with the primary map under catalogLock
+    private ConcurrentCustomHashMap<String, Member> membersByEmail = new ConcurrentCustomHashMap<>();
+    private ConcurrentCustomHashMap<String, Member> membersByPhone = new ConcurrentCustomHashMap<>();
+    private ConcurrentCustomHashMap<String, ChunkedArrayList<Book>> categoryIndex = new ConcurrentCustomHashMap<>();
+    private ConcurrentCustomHashMap<String, CategoryCounters> categoryCounters = new ConcurrentCustomHashMap<>();
 
     // 3. Search Indexes
-    private AVLTree bookIndex = new AVLTree();
-    private Trie titleTrie = new Trie();
+    private AVLTree bookIndex = new AVLTree(); // Ordered by ID
+    private IntObjectMap<Book> bookById = new IntObjectMap<>(); // Lock-free point lookups
+    private RadixTrie titleTrie = new RadixTrie(); // Path-compressed title index
+    private InvertedIndex searchIndex = new InvertedIndex(); // Words of title, author and category
+    private RankingTree popularity = new RankingTree(); // By timesIssued; per category in categoryCounters
+    // Books issued since the trie and ranking trees last re-ranked them. Loans only append
+    // here; flushPopularity applies them in one batch, outside the stripe locks
+    private final ConcurrentLinkedQueue<Book> popularityBacklog = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger popularityBacklogSize = new AtomicInteger();
+    static final int POPULARITY_BATCH = 256; // Circulation flushes once this many are waiting
 
-    // 4. Queues & Heaps
-    private MinHeap<OverdueRecord> fineQueue = new MinHeap<>(100);
-    private CustomHashMap<Integer, CircularQueue<Reservation>> reservationsByBook = new CustomHashMap<>();
+    // 4. Queues
+    private IntObjectMap<ReservationQueue> reservationsByBook = new IntObjectMap<>(); // Each queue locks itself
+    // The same reservations by member; a list only changes under the stripe of the book involved
+    private IntObjectMap<CopyOnWriteArrayList<Reservation>> reservationsByMember = new IntObjectMap<>();
     private CustomStack<String> undoStack = new CustomStack<>(); // Storing action logs for now
+
+    // Source of "now" for due dates, overdue checks, reservations and hold deadlines.
+    // Spring injects the application clock; simulations substitute their own
+    private volatile Clock clock = Clock.systemDefaultZone();
+
+    // Holds: returned copies set aside for the next reservation until a pickup deadline.
+    // The lists change under the stripe of the book involved
+    private IntObjectMap<CopyOnWriteArrayList<Hold>> holdsByBook = new IntObjectMap<>();
+    private IntObjectMap<CopyOnWriteArrayList<Hold>> holdsByMember = new IntObjectMap<>();
+    // Pickup deadlines; guarded by holdLock
+    private TimingWheel<Hold> holdExpiry = new TimingWheel<>(HOLD_TICK_MILLIS, clock.millis());
+    private IdentityHashMap<Hold, TimingWheel.Timer<Hold>> holdTimers = new IdentityHashMap<>();
+    private Duration holdPeriod = Duration.ofDays(3);
+
+    static final long HOLD_TICK_MILLIS = 1000;
     
     // 5. Issue Tracking
-    private CustomLinkedList<IssueRecord> issueRecords = new CustomLinkedList<>();
+    private ChunkedArrayList<IssueRecord> issueRecords = new ChunkedArrayList<>(); // Full history, append-only
+    private LoanIndex openLoans = new LoanIndex(); // Open loans by member and by book
+    // Open loans ordered by due date, most overdue at the top; guarded by dueDateLock
+    private IndexedMinHeap<IssueRecord> dueDateIndex = new IndexedMinHeap<>(
+            Comparator.comparing(IssueRecord::getDueDate).thenComparing(IssueRecord::getIssueDate));
+    // Overdue loans and accrued days by due-day frontier; guarded by dueDateLock
+    private OverdueCounter overdueCounter = new OverdueCounter(today().toEpochDay());
+
+    private static final double FINE_PER_DAY = 5.0; // ₹5 per day
 
     private int nextBookId = 101;
     private int nextMemberId = 1;
 
-    public LibraryService() {
-        // Seed some data
+    // 6. Concurrency Control
+    // Lock order: catalogLock -> book stripe -> member stripe -> ledgerLock.
+    // catalogLock guards the AVL tree and trie (write for addBook/registerMember,
+    // read for traversals). Book lists are append-only ChunkedArrayLists. Circulation only needs the
+    // lock-free ID maps, so it never touches catalogLock.
+    private final ReentrantReadWriteLock catalogLock = new ReentrantReadWriteLock();
+    // Per-book stripes guard copy counts, the book's open loans and its reservation
+    // queue; per-member stripes guard the member's borrowed list and open loans.
+    private final StripedLock bookLocks = new StripedLock();
+    private final StripedLock memberLocks = new StripedLock();
+    // Guards the undo log. Reservation queues lock themselves (a leaf lock taken
+    // under the book stripe), so reservations for different books never contend.
+    private final ReentrantLock ledgerLock = new ReentrantLock();
+    private final ReentrantLock dueDateLock = new ReentrantLock();
+    private final ReentrantLock holdLock = new ReentrantLock(); // Leaf, like dueDateLock
+    // One popularity flush at a time; only ever taken with no other lock held
+    private final ReentrantLock popularityLock = new ReentrantLock();
+
+    // 7. Persistence
+    // Every state change is appended while its locks are held, so the log order is
+    // the order changes were applied; public operations sync after unlocking.
+    private volatile MutationLog journal = MutationLog.NONE;
+
+    // Demo catalog for a fresh library (called at startup when there is no saved state)
+    public void seedDefaults() {
         addBook(new Book(0, "The Great Gatsby", "F. Scott Fitzgerald", "Fiction", 5, 5, 0));
         addBook(new Book(0, "Clean Code", "Robert C. Martin", "Tech", 3, 3, 0));
         addBook(new Book(0, "Data Structures", "Robert Lafore", "Education", 2, 2, 0));
@@ -44,297 +127,1345 @@ public class LibraryService {
     // --- Book Operations ---
 
     public Book addBook(Book book) {
-        book.setId(nextBookId++);
+        LibraryOperationEvent event = LibraryOperationEvent.begin("addBook");
+        catalogLock.writeLock().lock();
+        try {
+            book.setId(nextBookId++);
+            insertBook(book);
+            journal.append(JournalEntry.bookAdded(book));
+            if (event.isEnabled()) event.visited(insertCost(book));
+        } finally {
+            catalogLock.writeLock().unlock();
+        }
+        journal.sync();
+        event.bookId = book.getId();
+        event.commit();
+        return book;
+    }
+
+    // Adds a batch under one catalog lock acquisition and waits for the log once
+    public List<Book> addBooks(List<Book> batch) {
+        LibraryOperationEvent event = LibraryOperationEvent.begin("addBooks");
+        catalogLock.writeLock().lock();
+        try {
+            for (Book book : batch) {
+                book.setId(nextBookId++);
+                insertBook(book);
+                journal.append(JournalEntry.bookAdded(book));
+                if (event.isEnabled()) event.visited(insertCost(book));
+            }
+        } finally {
+            catalogLock.writeLock().unlock();
+        }
+        journal.sync();
+        event.scanned(batch.size());
+        event.commit();
+        return batch;
+    }
+
+    // Adds a book with its ID assigned to storage and every index. Caller holds the catalog write lock
+    private void insertBook(Book book) {
         books.add(book);
-        
+
         // Update Indexes
         bookIndex.insert(book.getId(), book);
+        bookById.put(book.getId(), book);
         titleTrie.insert(book.getTitle(), book);
-        
+        searchIndex.add(book);
+
         // Category Index
-        if (!categoryIndex.containsKey(book.getCategory())) {
-            categoryIndex.put(book.getCategory(), new CustomLinkedList<>());
-        }
+        categoryIndex.putIfAbsent(book.getCategory(), new ChunkedArrayList<>());
         categoryIndex.get(book.getCategory()).add(book);
-        
-        return book;
+        countBook(book);
+        popularity.add(book);
+        countersFor(book).ranking.add(book);
     }
 
+    // AVL and trie nodes on the paths insertBook walked. Caller holds the catalog write lock
+    private long insertCost(Book book) {
+        return bookIndex.height() + titleTrie.pathLength(book.getTitle());
+    }
+
+    private CategoryCounters countersFor(Book book) {
+        CategoryCounters counters = categoryCounters.get(book.getCategory());
+        if (counters == null) {
+            categoryCounters.putIfAbsent(book.getCategory(), new CategoryCounters(book.getCategory()));
+            counters = categoryCounters.get(book.getCategory());
+        }
+        return counters;
+    }
+
+    private void countBook(Book book) {
+        CategoryCounters counters = countersFor(book);
+        counters.books.incrementAndGet();
+        counters.totalCopies.addAndGet(book.getTotalCopies());
+        counters.availableCopies.addAndGet(book.getAvailableCopies());
+        counters.timesIssued.addAndGet(book.getTimesIssued());
+    }
+
+    // Zero-copy, read-only view of the catalog
     public List<Book> getAllBooks() {
-        return books.toList();
+        return books.view();
+    }
+
+    // Keyset page over the AVL ordering: books with ID > cursor
+    public Page<Book> getBooksPage(int cursor, int limit) {
+        LibraryOperationEvent event = LibraryOperationEvent.begin("getBooksPage");
+        List<Book> items;
+        catalogLock.readLock().lock();
+        try {
+            // One extra book tells us whether there is a next page
+            items = bookIndex.rangeAfter(cursor, (int) Math.min(limit + 1L, Integer.MAX_VALUE));
+            if (event.isEnabled()) event.visited(bookIndex.height() + 2L * items.size()); // Upper bound
+        } finally {
+            catalogLock.readLock().unlock();
+        }
+        event.commit();
+        boolean more = items.size() > limit;
+        if (more) items.remove(items.size() - 1);
+        Integer next = more && !items.isEmpty() ? items.get(items.size() - 1).getId() : null;
+        return new Page<>(items, next);
+    }
+
+    // Zero-copy view of every book with ID > cursor, for streaming responses
+    public List<Book> getBooksAfter(int cursor) {
+        List<Book> all = books.view();
+        return all.subList(firstIndexAfter(all, Book::getId, cursor), all.size());
+    }
+
+    // Title autocomplete: the k most issued books whose title starts with prefix
+    public List<Book> autocomplete(String prefix, int k) {
+        LibraryOperationEvent event = LibraryOperationEvent.begin("autocomplete");
+        flushPopularity();
+        List<Book> results = titleTrie.topK(prefix, Math.min(k, RadixTrie.TOP_K));
+        if (event.isEnabled()) {
+            event.visited(titleTrie.pathLength(prefix));
+            event.scanned(results.size());
+        }
+        event.commit();
+        return results;
     }
 
     public Book getBookById(int id) {
-        return bookIndex.search(id);
+        return bookById.get(id);
     }
     
     public List<Book> searchBooks(String query) {
+        return searchBooks(query, 100);
+    }
+
+    public List<Book> searchBooks(String query, int limit) {
         // Try exact ID match if numeric
         try {
-            int id = Integer.parseInt(query);
+            int id = Integer.parseInt(query.trim());
             Book b = getBookById(id);
             if (b != null) return List.of(b);
         } catch (NumberFormatException ignored) {}
 
-        // Try Trie prefix search
-        return titleTrie.searchPrefix(query);
+        // Full-text search: every word must prefix-match a title, author or category word
+        LibraryOperationEvent event = LibraryOperationEvent.begin("searchBooks");
+        List<Book> results = searchIndex.search(query, limit);
+        if (event.isEnabled()) event.scanned(searchIndex.candidateCount(query));
+        event.commit();
+        return results;
     }
 
     // --- Member Operations ---
 
     public Member registerMember(Member member) {
-        // Check for duplicates
-        for (Member m : members.values()) {
-            if (m.getEmail().equals(member.getEmail())) {
+        String email = normalizeEmail(member.getEmail());
+        String phone = normalizePhone(member.getPhone());
+        if (email.isEmpty()) throw new IllegalArgumentException("Email is required");
+        if (phone.isEmpty()) throw new IllegalArgumentException("Phone number is required");
+
+        LibraryOperationEvent event = LibraryOperationEvent.begin("registerMember");
+        catalogLock.writeLock().lock();
+        try {
+            // Check for duplicates - O(1) through the unique indexes
+            if (membersByEmail.containsKey(email)) {
                 throw new IllegalArgumentException("Member with this email already exists");
             }
-            if (m.getPhone().equals(member.getPhone())) {
+            if (membersByPhone.containsKey(phone)) {
                 throw new IllegalArgumentException("Member with this phone number already exists");
             }
+
+            member.setId(nextMemberId++);
+            member.setRegistrationDate(today());
+            insertMember(member);
+            journal.append(JournalEntry.memberRegistered(member));
+        } finally {
+            catalogLock.writeLock().unlock();
         }
-        
-        member.setId(nextMemberId++);
-        members.put(member.getId(), member);
+        journal.sync();
+        event.memberId = member.getId();
+        event.commit();
         return member;
     }
 
+    /**
+     * Registers a batch of validated members under one catalog lock acquisition.
+     * Members whose email or phone is already taken are skipped; the registered
+     * ones are returned.
+     */
+    public List<Member> importMembers(List<Member> batch) {
+        LibraryOperationEvent event = LibraryOperationEvent.begin("importMembers");
+        List<Member> registered = new ArrayList<>(batch.size());
+        catalogLock.writeLock().lock();
+        try {
+            for (Member member : batch) {
+                if (membersByEmail.containsKey(normalizeEmail(member.getEmail()))
+                        || membersByPhone.containsKey(normalizePhone(member.getPhone()))) {
+                    continue;
+                }
+                registered.add(member);
+                member.setId(nextMemberId++);
+                member.setRegistrationDate(today());
+                insertMember(member);
+                journal.append(JournalEntry.memberRegistered(member));
+            }
+        } finally {
+            catalogLock.writeLock().unlock();
+        }
+        journal.sync();
+        event.scanned(batch.size());
+        event.commit();
+        return registered;
+    }
+
+    // Caller holds the catalog write lock
+    private void insertMember(Member member) {
+        members.put(member.getId(), member);
+        memberList.add(member);
+        String email = normalizeEmail(member.getEmail());
+        String phone = normalizePhone(member.getPhone());
+        if (!email.isEmpty()) membersByEmail.put(email, member);
+        if (!phone.isEmpty()) membersByPhone.put(phone, member);
+    }
+
+    // Emails compare case-insensitively, ignoring surrounding whitespace
+    public static String normalizeEmail(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Digits only, without an India country code or trunk prefix: "+91 98765-43210" -> "9876543210"
+    public static String normalizePhone(String phone) {
+        if (phone == null) return "";
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') digits.append(c);
+        }
+        if (digits.length() == 12 && digits.charAt(0) == '9' && digits.charAt(1) == '1') {
+            digits.delete(0, 2);
+        } else if (digits.length() == 11 && digits.charAt(0) == '0') {
+            digits.deleteCharAt(0);
+        }
+        return digits.toString();
+    }
+
+    // Member map reads are lock-free
     public Member getMember(int id) {
         return members.get(id);
     }
+
+    public Member getMemberByEmail(String email) {
+        return membersByEmail.get(normalizeEmail(email));
+    }
+
+    public Member getMemberByPhone(String phone) {
+        return membersByPhone.get(normalizePhone(phone));
+    }
     
     public List<Member> getAllMembers() {
         return members.values();
     }
 
+    // Keyset page over member IDs: members with ID > cursor
+    public Page<Member> getMembersPage(int cursor, int limit) {
+        List<Member> all = memberList.view();
+        int from = firstIndexAfter(all, Member::getId, cursor);
+        int to = (int) Math.min((long) from + limit, all.size());
+        List<Member> items = new ArrayList<>(all.subList(from, to));
+        Integer next = to < all.size() && !items.isEmpty() ? items.get(items.size() - 1).getId() : null;
+        return new Page<>(items, next);
+    }
+
+    // Zero-copy view of every member with ID > cursor, for streaming responses
+    public List<Member> getMembersAfter(int cursor) {
+        List<Member> all = memberList.view();
+        return all.subList(firstIndexAfter(all, Member::getId, cursor), all.size());
+    }
+
+    // Binary search on an ID-ordered list for the first element with ID > cursor
+    private static <T> int firstIndexAfter(List<T> sorted, ToIntFunction<T> id, int cursor) {
+        int lo = 0, hi = sorted.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (id.applyAsInt(sorted.get(mid)) <= cursor) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
     // --- Circulation ---
 
     public String issueBook(int bookId, int memberId) {
-        Book book = bookIndex.search(bookId);
+        Book book = bookById.get(bookId);
         Member member = members.get(memberId);
 
         if (book == null) return "Book not found";
         if (member == null) return "Member not found";
 
+        LibraryOperationEvent event = LibraryOperationEvent.begin("issueBook", bookId, memberId);
+        String result;
+        bookLocks.lock(bookId);
+        memberLocks.lock(memberId);
+        try {
+            if (event.isEnabled()) traceIssue(event, book, member);
+            result = issueLocked(book, member);
+        } finally {
+            memberLocks.unlock(memberId);
+            bookLocks.unlock(bookId);
+        }
+        journal.sync();
+        flushPopularityIfBacklogged();
+        event.commit();
+        return result;
+    }
+
+    // Caller must hold the book's and the member's stripe locks
+    private String issueLocked(Book book, Member member) {
+        int bookId = book.getId();
+        int memberId = member.getId();
+
         // Check if member already has this book
         if (member.getCurrentBorrowedBooks().contains(bookId)) {
             return "Member already has this book issued";
         }
 
+        // A copy held for this member goes straight to them
+        Hold hold = findHold(bookId, memberId);
+        if (hold != null) {
+            releaseHold(book, hold);
+        }
+
         if (book.getAvailableCopies() > 0) {
-            book.setAvailableCopies(book.getAvailableCopies() - 1);
-            book.setTimesIssued(book.getTimesIssued() + 1);
-            member.getCurrentBorrowedBooks().add(bookId);
-            
             // Create issue record with 14-day due date
-            LocalDate issueDate = LocalDate.now();
+            LocalDate issueDate = today();
             LocalDate dueDate = issueDate.plusDays(14);
-            IssueRecord record = new IssueRecord(bookId, memberId, issueDate, dueDate);
-            issueRecords.add(record);
-            
-            undoStack.push("ISSUED: " + bookId + " to " + memberId);
+            openLoan(book, member, issueDate, dueDate);
+
+            ledgerLock.lock();
+            try {
+                undoStack.push("ISSUED: " + bookId + " to " + memberId);
+            } finally {
+                ledgerLock.unlock();
+            }
             return "Book issued successfully. Due date: " + dueDate;
         } else {
             // Add to reservation queue for this specific book
-            if (!reservationsByBook.containsKey(bookId)) {
-                reservationsByBook.put(bookId, new CircularQueue<>(20));
+            int position = enqueueReservation(new Reservation(bookId, memberId, LocalDateTime.now(clock)));
+            if (position < 0) {
+                return "Book unavailable. Member is already in the reservation queue";
             }
-            
+            return "Book unavailable. Added to reservation queue (Position: " + position + ")";
+        }
+    }
+
+    // Work issueLocked is about to do: the borrowed-list and hold scans, then the
+    // trie path and due-date heap levels of a new loan. Caller holds both stripes
+    private void traceIssue(LibraryOperationEvent event, Book book, Member member) {
+        event.scanned(member.getCurrentBorrowedBooks().size() + holdCount(book.getId()));
+        if (book.getAvailableCopies() > 0) {
+            event.visited(titleTrie.pathLength(book.getTitle()) + dueDateLevels());
+        }
+    }
+
+    // Caller must hold the book's and the member's stripe locks
+    private void openLoan(Book book, Member member, LocalDate issueDate, LocalDate dueDate) {
+        book.setAvailableCopies(book.getAvailableCopies() - 1);
+        book.setTimesIssued(book.getTimesIssued() + 1);
+        popularityBacklog.add(book);
+        popularityBacklogSize.incrementAndGet();
+        member.getCurrentBorrowedBooks().add(book.getId());
+        CategoryCounters counters = countersFor(book);
+        counters.availableCopies.decrementAndGet();
+        counters.timesIssued.incrementAndGet();
+
+        IssueRecord record = new IssueRecord(book.getId(), member.getId(), issueDate, dueDate);
+        openLoans.open(record);
+        dueDateLock.lock();
+        try {
+            dueDateIndex.insert(record);
+            overdueCounter.add(dueDate.toEpochDay());
+        } finally {
+            dueDateLock.unlock();
+        }
+        issueRecords.add(record);
+        journal.append(JournalEntry.loanOpened(book.getId(), member.getId(), issueDate, dueDate));
+    }
+
+    // Caller must hold the book's and the member's stripe locks
+    private void closeLoan(Book book, Member member) {
+        member.getCurrentBorrowedBooks().remove(Integer.valueOf(book.getId()));
+        book.setAvailableCopies(book.getAvailableCopies() + 1);
+        countersFor(book).availableCopies.incrementAndGet();
+
+        // Mark issue record as returned
+        IssueRecord record = openLoans.close(book.getId(), member.getId());
+        if (record != null) {
+            record.setReturned(true);
+            dueDateLock.lock();
+            try {
+                dueDateIndex.remove(record);
+                overdueCounter.remove(record.getDueDate().toEpochDay());
+            } finally {
+                dueDateLock.unlock();
+            }
+        }
+        journal.append(JournalEntry.loanClosed(book.getId(), member.getId()));
+    }
+
+    // Queue position of the new reservation, or -1 if the member is already queued. Caller must hold the book's stripe lock
+    private int enqueueReservation(Reservation reservation) {
+        int bookId = reservation.getBookId();
+        ReservationQueue queue = reservationsByBook.get(bookId);
+        if (queue == null) {
+            reservationsByBook.putIfAbsent(bookId, new ReservationQueue());
+            queue = reservationsByBook.get(bookId);
+        }
+        int position = queue.enqueue(reservation);
+        if (position > 0) {
+            indexReservation(reservation);
+            journal.append(JournalEntry.reservationAdded(bookId, reservation.getMemberId(),
+                    reservation.getReservationTime()));
+        }
+        return position;
+    }
+
+    // Removes the head of the book's reservation queue. Caller must hold the book's stripe lock
+    private Reservation dequeueReservation(int bookId) {
+        ReservationQueue queue = reservationsByBook.get(bookId);
+        Reservation next = queue != null ? queue.dequeue() : null;
+        if (next != null) {
+            unindexReservation(next);
+            journal.append(JournalEntry.reservationTaken(bookId));
+        }
+        return next;
+    }
+
+    // Removes the member from the book's queue. Caller must hold the book's stripe lock
+    private Reservation cancelReservationLocked(int bookId, int memberId) {
+        ReservationQueue queue = reservationsByBook.get(bookId);
+        Reservation cancelled = queue != null ? queue.cancel(memberId) : null;
+        if (cancelled != null) {
+            unindexReservation(cancelled);
+            journal.append(JournalEntry.reservationCancelled(bookId, memberId));
+        }
+        return cancelled;
+    }
+
+    private void indexReservation(Reservation reservation) {
+        listFor(reservationsByMember, reservation.getMemberId()).add(reservation);
+    }
+
+    private static <V> CopyOnWriteArrayList<V> listFor(IntObjectMap<CopyOnWriteArrayList<V>> map, int key) {
+        CopyOnWriteArrayList<V> list = map.get(key);
+        if (list == null) {
+            map.putIfAbsent(key, new CopyOnWriteArrayList<>());
+            list = map.get(key);
+        }
+        return list;
+    }
+
+    private void unindexReservation(Reservation reservation) {
+        CopyOnWriteArrayList<Reservation> list = reservationsByMember.get(reservation.getMemberId());
+        if (list != null) {
+            list.remove(reservation);
+        }
+    }
+
+    // Sets a copy aside for the hold's member. Caller must hold the book's stripe lock
+    private void placeHold(Book book, Hold hold) {
+        book.setAvailableCopies(book.getAvailableCopies() - 1);
+        countersFor(book).availableCopies.decrementAndGet();
+        indexHold(hold);
+        journal.append(JournalEntry.holdPlaced(hold));
+    }
+
+    private void indexHold(Hold hold) {
+        listFor(holdsByBook, hold.getBookId()).add(hold);
+        listFor(holdsByMember, hold.getMemberId()).add(hold);
+        holdLock.lock();
+        try {
+            holdTimers.put(hold, holdExpiry.schedule(hold, hold.getExpiresAt().toEpochMilli()));
+        } finally {
+            holdLock.unlock();
+        }
+    }
+
+    // Puts the held copy back on the shelf. Caller must hold the book's stripe lock
+    private void releaseHold(Book book, Hold hold) {
+        holdsByBook.get(book.getId()).remove(hold);
+        holdsByMember.get(hold.getMemberId()).remove(hold);
+        book.setAvailableCopies(book.getAvailableCopies() + 1);
+        countersFor(book).availableCopies.incrementAndGet();
+        holdLock.lock();
+        try {
+            TimingWheel.Timer<Hold> timer = holdTimers.remove(hold);
+            if (timer != null) {
+                holdExpiry.cancel(timer);
+            }
+        } finally {
+            holdLock.unlock();
+        }
+        journal.append(JournalEntry.holdReleased(book.getId(), hold.getMemberId()));
+    }
+
+    // Holds per book are bounded by its copies, so this scan is short
+    private Hold findHold(int bookId, int memberId) {
+        CopyOnWriteArrayList<Hold> holds = holdsByBook.get(bookId);
+        if (holds == null) return null;
+        for (Hold hold : holds) {
+            if (hold.getMemberId() == memberId) return hold;
+        }
+        return null;
+    }
+
+    // Holds a free copy for the first reservation that can still take it. Caller must hold the book's stripe lock
+    private Hold offerToQueue(Book book) {
+        while (book.getAvailableCopies() > 0) {
+            Reservation next = dequeueReservation(book.getId());
+            if (next == null) return null;
+
+            Member member = members.get(next.getMemberId());
+            if (member == null || findHold(book.getId(), member.getId()) != null) continue;
+            boolean borrowed;
+            memberLocks.lock(member.getId());
             try {
-                CircularQueue<Reservation> queue = reservationsByBook.get(bookId);
-                queue.enqueue(new Reservation(bookId, memberId, java.time.LocalDateTime.now()));
-                return "Book unavailable. Added to reservation queue (Position: " + queue.size() + ")";
-            } catch (Exception e) {
-                return "Book unavailable and Reservation Queue is full.";
+                borrowed = member.getCurrentBorrowedBooks().contains(book.getId());
+            } finally {
+                memberLocks.unlock(member.getId());
             }
+            if (borrowed) continue;
+
+            Instant now = clock.instant().truncatedTo(ChronoUnit.MILLIS);
+            Hold hold = new Hold(book.getId(), member.getId(), now, now.plus(holdPeriod));
+            placeHold(book, hold);
+            return hold;
         }
+        return null;
     }
 
     public String returnBook(int bookId, int memberId) {
-        Book book = bookIndex.search(bookId);
+        Book book = bookById.get(bookId);
         Member member = members.get(memberId);
 
         if (book == null || member == null) return "Invalid ID";
 
-        if (member.getCurrentBorrowedBooks().contains(bookId)) {
-            member.getCurrentBorrowedBooks().remove(Integer.valueOf(bookId));
-            book.setAvailableCopies(book.getAvailableCopies() + 1);
-            
-            // Mark issue record as returned
-            for (IssueRecord record : issueRecords.toList()) {
-                if (record.getBookId() == bookId && record.getMemberId() == memberId && !record.isReturned()) {
-                    record.setReturned(true);
-                    break;
-                }
+        LibraryOperationEvent event = LibraryOperationEvent.begin("returnBook", bookId, memberId);
+        String result;
+        // The book lock is held across the hand-off to the next reservation so
+        // the returned copy cannot be taken by anyone else in between. Member
+        // locks are only ever taken one at a time, after the book lock.
+        bookLocks.lock(bookId);
+        try {
+            if (event.isEnabled()) traceReturn(event, book, member);
+            result = returnLocked(book, member);
+        } finally {
+            bookLocks.unlock(bookId);
+        }
+        journal.sync();
+        event.commit();
+        return result;
+    }
+
+    // Work returnLocked is about to do: the borrowed list, the member's and the
+    // book's open loans and the book's holds, plus the due-date heap. Caller holds the book's stripe
+    private void traceReturn(LibraryOperationEvent event, Book book, Member member) {
+        memberLocks.lock(member.getId());
+        try {
+            event.scanned(member.getCurrentBorrowedBooks().size()
+                    + openLoans.openByMember(member.getId()).size()
+                    + openLoans.openByBook(book.getId()).size()
+                    + holdCount(book.getId()));
+        } finally {
+            memberLocks.unlock(member.getId());
+        }
+        event.visited(dueDateLevels());
+    }
+
+    private int holdCount(int bookId) {
+        CopyOnWriteArrayList<Hold> holds = holdsByBook.get(bookId);
+        return holds != null ? holds.size() : 0;
+    }
+
+    // Levels a sift through the due-date heap can cross
+    private int dueDateLevels() {
+        dueDateLock.lock();
+        try {
+            return Integer.SIZE - Integer.numberOfLeadingZeros(dueDateIndex.size() + 1);
+        } finally {
+            dueDateLock.unlock();
+        }
+    }
+
+    // Caller must hold the book's stripe lock
+    private String returnLocked(Book book, Member member) {
+        int bookId = book.getId();
+        int memberId = member.getId();
+
+        memberLocks.lock(memberId);
+        try {
+            if (!member.getCurrentBorrowedBooks().contains(bookId)) {
+                return "Member does not have this book";
             }
-            
-            // Check reservation queue and auto-assign to next person
-            CircularQueue<Reservation> queue = reservationsByBook.get(bookId);
-            if (queue != null && !queue.isEmpty()) {
+            closeLoan(book, member);
+        } finally {
+            memberLocks.unlock(memberId);
+        }
+
+        // Hold the copy for the next person in the queue; they pick it up by issuing it
+        Hold hold = offerToQueue(book);
+        if (hold != null) {
+            return "Book returned and held for next reservation (Member " + hold.getMemberId()
+                    + ") until " + hold.getExpiresAt();
+        }
+
+        return "Book returned successfully";
+    }
+    
+    
+    // --- Batch Circulation ---
+
+    /**
+     * Applies issue, return and reserve operations in the order given, as a
+     * self-checkout kiosk or returns sorter sends them. Each book and member is
+     * resolved once; the stripes of every book in the batch are taken together in
+     * ascending order (the order lockAll uses, so batches cannot deadlock with each
+     * other or a snapshot) and held for the whole pass, while member stripes are
+     * still taken one at a time. Every change is logged as it is made and the log
+     * is synced once, after unlocking. One result per operation, with the message
+     * the single-item call would have returned.
+     */
+    public List<CirculationResult> processBatch(List<CirculationOperation> operations) {
+        LibraryOperationEvent event = LibraryOperationEvent.begin("processBatch");
+        int n = operations.size();
+        int[] bookIds = new int[n];
+        Book[] batchBooks = new Book[n];
+        Member[] batchMembers = new Member[n];
+        IntObjectMap<Member> resolved = new IntObjectMap<>();
+        for (int i = 0; i < n; i++) {
+            CirculationOperation op = operations.get(i);
+            bookIds[i] = op.getBookId();
+            batchBooks[i] = bookById.get(op.getBookId());
+            Member member = resolved.get(op.getMemberId());
+            if (member == null) {
+                member = members.get(op.getMemberId());
+                if (member != null) resolved.put(member.getId(), member);
+            }
+            batchMembers[i] = member;
+        }
+
+        List<CirculationResult> results = new ArrayList<>(n);
+        int[] stripes = bookLocks.stripesOf(bookIds);
+        bookLocks.lockStripes(stripes);
+        try {
+            for (int i = 0; i < n; i++) {
+                CirculationOperation op = operations.get(i);
+                results.add(new CirculationResult(op.getType(), op.getBookId(), op.getMemberId(),
+                        applyLocked(op, batchBooks[i], batchMembers[i])));
+            }
+        } finally {
+            bookLocks.unlockStripes(stripes);
+        }
+        journal.sync();
+        flushPopularityIfBacklogged();
+        event.scanned(n);
+        event.commit();
+        return results;
+    }
+
+    // One batch operation, with its book and member already resolved (null if unknown). Caller holds the book's stripe lock
+    private String applyLocked(CirculationOperation op, Book book, Member member) {
+        String type = op.getType() == null ? "" : op.getType().toLowerCase(Locale.ROOT);
+        switch (type) {
+            case "issue" -> {
+                if (book == null) return "Book not found";
+                if (member == null) return "Member not found";
+                memberLocks.lock(member.getId());
                 try {
-                    Reservation next = queue.dequeue();
-                    // Auto-issue to next person in queue
-                    String result = issueBook(bookId, next.getMemberId());
-                    return "Book returned and auto-issued to next reservation (Member " + next.getMemberId() + ")";
-                } catch (Exception e) {
-                    // Queue was empty, no action needed
+                    return issueLocked(book, member);
+                } finally {
+                    memberLocks.unlock(member.getId());
                 }
             }
-            
-            return "Book returned successfully";
+            case "return" -> {
+                if (book == null || member == null) return "Invalid ID";
+                return returnLocked(book, member);
+            }
+            case "reserve" -> {
+                if (book == null || member == null) return "Invalid ID";
+                return reserveLocked(book, member);
+            }
+            default -> {
+                return "Unknown operation: " + op.getType();
+            }
         }
-        return "Member does not have this book";
     }
-    
-    
+
+    // --- Holds ---
+
+    /**
+     * Releases every hold whose pickup deadline has passed and offers each copy to
+     * the next reservation. Called periodically by HoldScheduler, never on a
+     * request thread. Returns the number of holds that expired.
+     */
+    public int expireHolds() {
+        LibraryOperationEvent event = LibraryOperationEvent.begin("expireHolds");
+        List<Hold> due;
+        holdLock.lock();
+        try {
+            due = holdExpiry.advance(clock.millis());
+            for (Hold hold : due) {
+                holdTimers.remove(hold);
+            }
+        } finally {
+            holdLock.unlock();
+        }
+
+        int expired = 0;
+        for (Hold hold : due) {
+            Book book = bookById.get(hold.getBookId());
+            bookLocks.lock(book.getId());
+            try {
+                // Skip holds picked up or cancelled since their timer fired
+                CopyOnWriteArrayList<Hold> holds = holdsByBook.get(book.getId());
+                if (holds != null && holds.contains(hold)) {
+                    releaseHold(book, hold);
+                    offerToQueue(book);
+                    expired++;
+                }
+            } finally {
+                bookLocks.unlock(book.getId());
+            }
+        }
+        if (expired > 0) {
+            journal.sync();
+        }
+        event.scanned(due.size());
+        event.commit();
+        return expired;
+    }
+
+    public List<Hold> getHolds() {
+        List<Hold> all = new ArrayList<>();
+        for (CopyOnWriteArrayList<Hold> holds : holdsByBook.values()) {
+            all.addAll(holds);
+        }
+        return all;
+    }
+
+    public List<Hold> getHoldsForMember(int memberId) {
+        CopyOnWriteArrayList<Hold> holds = holdsByMember.get(memberId);
+        return holds != null ? new ArrayList<>(holds) : new ArrayList<>();
+    }
+
+    public void setHoldPeriod(Duration holdPeriod) {
+        this.holdPeriod = holdPeriod;
+    }
+
+    // Pending deadlines are moved onto a wheel that starts at the new clock's time, and
+    // overdue counts are rebuilt from the open loans against the new today
+    @Autowired
+    public void setClock(Clock clock) {
+        holdLock.lock();
+        try {
+            this.clock = clock;
+            holdExpiry = new TimingWheel<>(HOLD_TICK_MILLIS, clock.millis());
+            for (Hold hold : new ArrayList<>(holdTimers.keySet())) {
+                holdTimers.put(hold, holdExpiry.schedule(hold, hold.getExpiresAt().toEpochMilli()));
+            }
+        } finally {
+            holdLock.unlock();
+        }
+        dueDateLock.lock();
+        try {
+            overdueCounter = new OverdueCounter(today().toEpochDay());
+            for (IssueRecord record : openLoans.openLoans()) {
+                overdueCounter.add(record.getDueDate().toEpochDay());
+            }
+        } finally {
+            dueDateLock.unlock();
+        }
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
     // --- Overdue & Fines Management ---
     
     public List<OverdueRecord> getOverdueBooks() {
-        fineQueue = new MinHeap<>(100); // Reset heap
-        LocalDate today = LocalDate.now();
-        
-        for (IssueRecord record : issueRecords.toList()) {
-            if (!record.isReturned() && record.getDueDate().isBefore(today)) {
-                long daysOverdue = java.time.temporal.ChronoUnit.DAYS.between(record.getDueDate(), today);
-                double fine = daysOverdue * 5.0; // ₹5 per day
-                
-                Book book = bookIndex.search(record.getBookId());
-                Member member = members.get(record.getMemberId());
-                
-                OverdueRecord overdueRecord = new OverdueRecord(
-                    record.getBookId(),
-                    record.getMemberId(),
-                    member != null ? member.getName() : "Unknown",
-                    book != null ? book.getTitle() : "Unknown",
-                    (int) daysOverdue,
-                    fine
-                );
-                fineQueue.insert(overdueRecord);
-            }
+        return getOverdueBooks(0, Integer.MAX_VALUE);
+    }
+
+    // Most overdue first. Reads the due-date heap best-first, so a page costs
+    // O((offset + limit) log(offset + limit)) regardless of how many loans are open.
+    public List<OverdueRecord> getOverdueBooks(int offset, int limit) {
+        LibraryOperationEvent event = LibraryOperationEvent.begin("getOverdueBooks");
+        LocalDate today = today();
+        int wanted = (int) Math.min((long) Math.max(offset, 0) + Math.max(limit, 0), Integer.MAX_VALUE);
+
+        List<IssueRecord> overdue;
+        dueDateLock.lock();
+        try {
+            overdue = dueDateIndex.peekSmallest(wanted, record -> record.getDueDate().isBefore(today));
+        } finally {
+            dueDateLock.unlock();
         }
-        
-        // Extract all from heap (sorted by priority - highest fine first)
+
         List<OverdueRecord> result = new ArrayList<>();
-        while (!fineQueue.isEmpty()) {
-            result.add(fineQueue.extractMin());
+        for (int i = Math.max(offset, 0); i < overdue.size(); i++) {
+            IssueRecord record = overdue.get(i);
+            long daysOverdue = java.time.temporal.ChronoUnit.DAYS.between(record.getDueDate(), today);
+            double fine = daysOverdue * FINE_PER_DAY;
+
+            Book book = bookById.get(record.getBookId());
+            Member member = members.get(record.getMemberId());
+
+            result.add(new OverdueRecord(
+                record.getBookId(),
+                record.getMemberId(),
+                member != null ? member.getName() : "Unknown",
+                book != null ? book.getTitle() : "Unknown",
+                (int) daysOverdue,
+                fine
+            ));
         }
+        event.visited(overdue.size() < wanted ? overdue.size() + 1 : overdue.size()); // +1 for the node that stopped the walk
+        event.commit();
         return result;
     }
     
+    // --- Popularity ---
+
+    // Applies every loan made so far to the title trie and the ranking trees. Readers
+    // call this first so they never see a stale ranking. Must be called with no lock held
+    private void flushPopularity() {
+        if (popularityBacklogSize.get() == 0) return;
+        popularityLock.lock();
+        try {
+            drainPopularity();
+        } finally {
+            popularityLock.unlock();
+        }
+    }
+
+    // Circulation's flush after unlocking: only once a batch has built up, and
+    // skipped if another thread is already flushing
+    private void flushPopularityIfBacklogged() {
+        if (popularityBacklogSize.get() < POPULARITY_BATCH || !popularityLock.tryLock()) return;
+        try {
+            drainPopularity();
+        } finally {
+            popularityLock.unlock();
+        }
+    }
+
+    // Caller holds popularityLock. A book issued many times is re-ranked once
+    private void drainPopularity() {
+        IntObjectMap<Book> batch = new IntObjectMap<>();
+        int drained = 0;
+        Book book;
+        while ((book = popularityBacklog.poll()) != null) {
+            batch.put(book.getId(), book);
+            drained++;
+        }
+        List<Book> issued = batch.values();
+        titleTrie.updatePopularity(issued);
+        popularity.update(issued);
+        HashMap<String, List<Book>> byCategory = new HashMap<>();
+        for (Book b : issued) {
+            byCategory.computeIfAbsent(b.getCategory(), c -> new ArrayList<>()).add(b);
+        }
+        byCategory.forEach((category, list) -> categoryCounters.get(category).ranking.update(list));
+        // Only now, so a reader that finds the backlog empty also finds it applied
+        popularityBacklogSize.addAndGet(-drained);
+    }
+
+    // The k most issued books, across the library or within one category - O(log n + k)
+    public List<Book> getPopularBooks(String category, int k) {
+        flushPopularity();
+        if (category == null || category.isBlank()) {
+            return popularity.topK(k);
+        }
+        CategoryCounters counters = categoryCounters.get(category);
+        return counters != null ? counters.ranking.topK(k) : new ArrayList<>();
+    }
+
+    // Position of a book by times issued, overall and within its category (1 = most issued)
+    public HashMap<String, Object> getPopularityRank(int bookId) {
+        Book book = bookById.get(bookId);
+        if (book == null) return null;
+
+        flushPopularity();
+        HashMap<String, Object> rank = new HashMap<>();
+        // Ranks are as of the flush above; a loan made since shows in timesIssued only
+        bookLocks.lock(bookId);
+        try {
+            rank.put("bookId", bookId);
+            rank.put("timesIssued", book.getTimesIssued());
+            rank.put("rank", popularity.rank(book));
+            rank.put("rankedBooks", popularity.size());
+            CategoryCounters counters = countersFor(book);
+            rank.put("category", book.getCategory());
+            rank.put("categoryRank", counters.ranking.rank(book));
+            rank.put("categoryBooks", counters.ranking.size());
+        } finally {
+            bookLocks.unlock(bookId);
+        }
+        return rank;
+    }
+
+    // --- Statistics ---
+
+    // Served from counters kept up to date by every change; never scans the catalog
+    public LibraryStats getStats() {
+        LibraryOperationEvent event = LibraryOperationEvent.begin("getStats");
+        LibraryStats stats = new LibraryStats();
+        List<CategoryStats> categories = new ArrayList<>();
+        long copies = 0, available = 0, issued = 0;
+        for (CategoryCounters counters : categoryCounters.values()) {
+            CategoryStats c = counters.toStats();
+            categories.add(c);
+            copies += c.getTotalCopies();
+            available += c.getAvailableCopies();
+            issued += c.getTimesIssued();
+        }
+        categories.sort(Comparator.comparing(CategoryStats::getCategory));
+        stats.setCategories(categories);
+        stats.setTotalBooks(books.size());
+        stats.setTotalMembers(members.size());
+        stats.setTotalCopies(copies);
+        stats.setAvailableCopies(available);
+        stats.setTimesIssued(issued);
+        stats.setActiveLoans(openLoans.size());
+
+        dueDateLock.lock();
+        try {
+            overdueCounter.advance(today().toEpochDay());
+            stats.setOverdueLoans(overdueCounter.overdueCount());
+            stats.setOverdueFines(overdueCounter.overdueDays() * FINE_PER_DAY);
+        } finally {
+            dueDateLock.unlock();
+        }
+
+        flushPopularity();
+        stats.setMostIssued(popularity.topK(10));
+        event.scanned(categories.size());
+        event.commit();
+        return stats;
+    }
+
+    /**
+     * Sizes and shape of the in-memory structures, for spotting degradation: hash
+     * map load and collision lengths, tree height, trie and queue sizes. Walks the
+     * hash tables and reservation queues, so it costs O(capacity) - meant for a
+     * monitoring poll, not for every request.
+     */
+    public LinkedHashMap<String, Object> getStructureMetrics() {
+        LinkedHashMap<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("bookById", intMapMetrics(bookById));
+        metrics.put("members", intMapMetrics(members));
+        metrics.put("membersByEmail", hashMapMetrics(membersByEmail));
+        metrics.put("membersByPhone", hashMapMetrics(membersByPhone));
+        metrics.put("categoryIndex", hashMapMetrics(categoryIndex));
+
+        LinkedHashMap<String, Object> catalog = new LinkedHashMap<>();
+        catalogLock.readLock().lock();
+        try {
+            catalog.put("books", books.size());
+            catalog.put("avlTreeHeight", bookIndex.height());
+        } finally {
+            catalogLock.readLock().unlock();
+        }
+        catalog.put("titleTrieNodes", titleTrie.nodeCount());
+        catalog.put("searchTerms", searchIndex.termCount());
+        catalog.put("rankedBooks", popularity.size());
+        metrics.put("catalog", catalog);
+
+        LinkedHashMap<String, Object> circulation = new LinkedHashMap<>();
+        circulation.put("issueRecords", issueRecords.size());
+        circulation.put("openLoans", openLoans.size());
+        dueDateLock.lock();
+        try {
+            circulation.put("dueDateIndex", dueDateIndex.size());
+        } finally {
+            dueDateLock.unlock();
+        }
+        holdLock.lock();
+        try {
+            circulation.put("pendingHolds", holdExpiry.size());
+        } finally {
+            holdLock.unlock();
+        }
+        ledgerLock.lock();
+        try {
+            circulation.put("undoLog", undoStack.size());
+        } finally {
+            ledgerLock.unlock();
+        }
+        metrics.put("circulation", circulation);
+
+        int queues = 0, queued = 0, deepest = 0;
+        for (ReservationQueue queue : reservationsByBook.values()) {
+            int depth = queue.size();
+            if (depth > 0) queues++;
+            queued += depth;
+            deepest = Math.max(deepest, depth);
+        }
+        LinkedHashMap<String, Object> reservations = new LinkedHashMap<>();
+        reservations.put("queues", queues);
+        reservations.put("reservations", queued);
+        reservations.put("maxQueueDepth", deepest);
+        reservations.put("meanQueueDepth", queues == 0 ? 0.0 : (double) queued / queues);
+        metrics.put("reservations", reservations);
+        return metrics;
+    }
+
+    private static LinkedHashMap<String, Object> hashMapMetrics(ConcurrentCustomHashMap<?, ?> map) {
+        LinkedHashMap<String, Object> m = new LinkedHashMap<>();
+        m.put("size", map.size());
+        m.put("capacity", map.capacity());
+        m.put("loadFactor", (double) map.size() / map.capacity());
+        m.put("maxChainLength", map.maxChainLength());
+        return m;
+    }
+
+    private static LinkedHashMap<String, Object> intMapMetrics(IntObjectMap<?> map) {
+        LinkedHashMap<String, Object> m = new LinkedHashMap<>();
+        m.put("size", map.size());
+        m.put("capacity", map.capacity());
+        m.put("loadFactor", (double) map.size() / map.capacity());
+        m.put("maxProbeLength", map.maxProbeLength());
+        return m;
+    }
+
     // --- Reservation Management ---
     
     public String reserveBook(int bookId, int memberId) {
-        Book book = bookIndex.search(bookId);
+        Book book = bookById.get(bookId);
+        Member member = members.get(memberId);
         if (book == null) return "Book not found";
+        if (member == null) return "Member not found";
+
+        LibraryOperationEvent event = LibraryOperationEvent.begin("reserveBook", bookId, memberId);
+        String result;
+        bookLocks.lock(bookId);
+        try {
+            if (event.isEnabled()) event.scanned(holdCount(bookId));
+            result = reserveLocked(book, member);
+        } finally {
+            bookLocks.unlock(bookId);
+        }
+        journal.sync();
+        event.commit();
+        return result;
+    }
+
+    // Caller must hold the book's stripe lock, which keeps the member's loan of this book from opening or closing meanwhile
+    private String reserveLocked(Book book, Member member) {
+        if (openLoans.find(book.getId(), member.getId()) != null) return "Member already has this book on loan";
         if (book.getAvailableCopies() > 0) return "Book is available, please issue directly";
-        
-        if (!reservationsByBook.containsKey(bookId)) {
-            reservationsByBook.put(bookId, new CircularQueue<>(20));
+        if (findHold(book.getId(), member.getId()) != null) return "A copy is already held for this member";
+        int position = enqueueReservation(new Reservation(book.getId(), member.getId(), LocalDateTime.now(clock)));
+        if (position < 0) {
+            return "Member already has a reservation for this book";
         }
-        
+        return "Reserved successfully. Queue position: " + position;
+    }
+
+    // Cancels the member's place in the queue, or gives up the copy held for them
+    public String cancelReservation(int bookId, int memberId) {
+        Book book = bookById.get(bookId);
+        if (book == null) return "Book not found";
+
+        LibraryOperationEvent event = LibraryOperationEvent.begin("cancelReservation", bookId, memberId);
+        String result;
+        bookLocks.lock(bookId);
         try {
-            CircularQueue<Reservation> queue = reservationsByBook.get(bookId);
-            queue.enqueue(new Reservation(bookId, memberId, java.time.LocalDateTime.now()));
-            return "Reserved successfully. Queue position: " + queue.size();
-        } catch (Exception e) {
-            return "Reservation queue is full for this book";
+            if (event.isEnabled()) event.scanned(holdCount(bookId) + getReservationsForMember(memberId).size());
+            Hold hold = findHold(bookId, memberId);
+            if (hold != null) {
+                releaseHold(book, hold);
+                offerToQueue(book);
+                result = "Hold cancelled";
+            } else {
+                result = cancelReservationLocked(bookId, memberId) != null
+                        ? "Reservation cancelled" : "Member has no reservation for this book";
+            }
+        } finally {
+            bookLocks.unlock(bookId);
         }
+        journal.sync();
+        event.commit();
+        return result;
     }
     
+    // Reads every queue in place; nothing is dequeued
     public List<Reservation> getAllReservations() {
         List<Reservation> all = new ArrayList<>();
-        for (Integer bookId : reservationsByBook.keySet()) {
-            CircularQueue<Reservation> queue = reservationsByBook.get(bookId);
-            // Extract and re-add to preserve queue
-            List<Reservation> temp = new ArrayList<>();
-            while (!queue.isEmpty()) {
-                try {
-                    Reservation r = queue.dequeue();
-                    temp.add(r);
-                } catch (Exception e) {
-                    break;
-                }
-            }
-            // Re-enqueue
-            for (Reservation r : temp) {
-                try {
-                    queue.enqueue(r);
-                    all.add(r);
-                } catch (Exception ignored) {}
-            }
+        for (ReservationQueue queue : reservationsByBook.values()) {
+            queue.forEach(all::add);
         }
         return all;
     }
     
     public List<Reservation> getReservationsForBook(int bookId) {
-        CircularQueue<Reservation> queue = reservationsByBook.get(bookId);
-        if (queue == null) return new ArrayList<>();
-        
-        List<Reservation> result = new ArrayList<>();
-        List<Reservation> temp = new ArrayList<>();
-        
-        while (!queue.isEmpty()) {
-            try {
-                Reservation r = queue.dequeue();
-                temp.add(r);
-            } catch (Exception e) {
-                break;
-            }
-        }
-        
-        // Re-enqueue and return
-        for (Reservation r : temp) {
-            try {
-                queue.enqueue(r);
-                result.add(r);
-            } catch (Exception ignored) {}
-        }
-        
-        return result;
+        ReservationQueue queue = reservationsByBook.get(bookId);
+        return queue != null ? queue.snapshot() : new ArrayList<>();
+    }
+
+    // O(reservations of this member), from the per-member index
+    public List<Reservation> getReservationsForMember(int memberId) {
+        CopyOnWriteArrayList<Reservation> list = reservationsByMember.get(memberId);
+        return list != null ? new ArrayList<>(list) : new ArrayList<>();
     }
+
     
     // --- Enhanced Member Details ---
     
     public HashMap<String, Object> getMemberDetails(int memberId) {
-        Member member = members.get(memberId);
+        Member member = getMember(memberId);
         if (member == null) return null;
-        
+
+        LibraryOperationEvent event = LibraryOperationEvent.begin("getMemberDetails", 0, memberId);
         HashMap<String, Object> details = new HashMap<>();
         details.put("member", member);
         
         // Get issued books
         List<HashMap<String, Object>> issuedBooks = new ArrayList<>();
-        for (IssueRecord record : issueRecords.toList()) {
-            if (record.getMemberId() == memberId && !record.isReturned()) {
-                Book book = bookIndex.search(record.getBookId());
-                HashMap<String, Object> bookInfo = new HashMap<>();
-                bookInfo.put("book", book);
-                bookInfo.put("issueDate", record.getIssueDate());
-                bookInfo.put("dueDate", record.getDueDate());
-                bookInfo.put("isOverdue", record.getDueDate().isBefore(LocalDate.now()));
-                issuedBooks.add(bookInfo);
-            }
+        for (IssueRecord record : openLoans.openByMember(memberId)) {
+            Book book = getBookById(record.getBookId());
+            HashMap<String, Object> bookInfo = new HashMap<>();
+            bookInfo.put("book", book);
+            bookInfo.put("issueDate", record.getIssueDate());
+            bookInfo.put("dueDate", record.getDueDate());
+            bookInfo.put("isOverdue", record.getDueDate().isBefore(today()));
+            issuedBooks.add(bookInfo);
         }
         details.put("issuedBooks", issuedBooks);
         
-        // Get reservations
-        List<Reservation> memberReservations = new ArrayList<>();
-        for (Reservation r : getAllReservations()) {
-            if (r.getMemberId() == memberId) {
-                memberReservations.add(r);
-            }
-        }
-        details.put("reservations", memberReservations);
-        
+        details.put("reservations", getReservationsForMember(memberId));
+        details.put("holds", getHoldsForMember(memberId));
+        event.scanned(issuedBooks.size());
+        event.commit();
         return details;
     }
     
     // --- Utils ---
     
     public List<Book> getBooksByCategory(String category) {
-        CustomLinkedList<Book> list = categoryIndex.get(category);
-        return list != null ? list.toList() : new ArrayList<>();
+        ChunkedArrayList<Book> list = categoryIndex.get(category);
+        return list != null ? list.view() : new ArrayList<>();
     }
     
+    // --- Persistence ---
+
+    public void setMutationLog(MutationLog journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Captures the state at an exact log boundary. Every lock is taken in the usual
+     * order (catalog, all book stripes, all member stripes), so no change can be in
+     * flight; boundary is called inside the freeze and returns the sequence of the
+     * last logged change. The freeze only copies what can still change afterwards.
+     */
+    public LibrarySnapshot captureSnapshot(LongSupplier boundary) {
+        LibraryOperationEvent event = LibraryOperationEvent.begin("captureSnapshot");
+        catalogLock.writeLock().lock();
+        bookLocks.lockAll();
+        memberLocks.lockAll();
+        try {
+            long sequence = boundary.getAsLong();
+
+            List<Book> bookView = books.view();
+            int[] available = new int[bookView.size()];
+            int[] timesIssued = new int[bookView.size()];
+            for (int i = 0; i < bookView.size(); i++) {
+                Book b = bookView.get(i);
+                available[i] = b.getAvailableCopies();
+                timesIssued[i] = b.getTimesIssued();
+            }
+
+            Set<IssueRecord> open = Collections.newSetFromMap(new IdentityHashMap<>());
+            open.addAll(openLoans.openLoans());
+            event.scanned(bookView.size() + open.size());
+
+            return new LibrarySnapshot(sequence, nextBookId, nextMemberId, bookView, available, timesIssued,
+                    memberList.view(), issueRecords.view(), open, getAllReservations(), getHolds());
+        } finally {
+            memberLocks.unlockAll();
+            bookLocks.unlockAll();
+            catalogLock.writeLock().unlock();
+            event.commit();
+        }
+    }
+
+    /**
+     * Loads a snapshot into an empty library, before it starts serving requests.
+     * Indexes are bulk-built rather than filled one insert at a time: the AVL tree
+     * is built balanced from the ID-ordered books, the title trie is built from the
+     * sorted titles, and hash tables are sized once for the final counts.
+     */
+    public void restore(LibrarySnapshot snapshot) {
+        catalogLock.writeLock().lock();
+        try {
+            List<Book> restoredBooks = snapshot.getBooks();
+            bookById.ensureCapacity(restoredBooks.size());
+            HashMap<String, ChunkedArrayList<Book>> byCategory = new HashMap<>();
+            for (int i = 0; i < restoredBooks.size(); i++) {
+                Book b = restoredBooks.get(i);
+                b.setAvailableCopies(snapshot.getAvailableCopies(i));
+                b.setTimesIssued(snapshot.getTimesIssued(i));
+                books.add(b);
+                bookById.put(b.getId(), b);
+                byCategory.computeIfAbsent(b.getCategory(), c -> new ChunkedArrayList<>()).add(b);
+                countBook(b);
+            }
+            bookIndex.bulkLoad(restoredBooks);
+            searchIndex.addAll(restoredBooks);
+            titleTrie.build(restoredBooks);
+            popularity.build(restoredBooks);
+            byCategory.forEach((category, list) -> {
+                categoryIndex.put(category, list);
+                categoryCounters.get(category).ranking.build(list.view());
+            });
+
+            members.ensureCapacity(snapshot.getMembers().size());
+            for (Member m : snapshot.getMembers()) {
+                insertMember(m); // Borrowed lists are rebuilt from the open loans below
+            }
+            for (IssueRecord record : snapshot.getHistory()) {
+                issueRecords.add(record);
+                if (snapshot.isOpen(record)) {
+                    record.setReturned(false);
+                    openLoans.open(record);
+                    dueDateIndex.insert(record);
+                    overdueCounter.add(record.getDueDate().toEpochDay());
+                    Member member = members.get(record.getMemberId());
+                    if (member != null) {
+                        member.getCurrentBorrowedBooks().add(record.getBookId());
+                    }
+                }
+            }
+            for (Reservation r : snapshot.getReservations()) {
+                reservationsByBook.putIfAbsent(r.getBookId(), new ReservationQueue());
+                if (reservationsByBook.get(r.getBookId()).enqueue(r) > 0) {
+                    indexReservation(r);
+                }
+            }
+            for (Hold hold : snapshot.getHolds()) {
+                indexHold(hold); // Copy counts already exclude held copies
+            }
+            nextBookId = snapshot.getNextBookId();
+            nextMemberId = snapshot.getNextMemberId();
+        } finally {
+            catalogLock.writeLock().unlock();
+        }
+    }
+
+    // Re-applies one logged change during recovery
+    public void apply(JournalEntry entry) {
+        switch (entry.getType()) {
+            case BOOK_ADDED -> {
+                catalogLock.writeLock().lock();
+                try {
+                    insertBook(entry.getBook());
+                    nextBookId = Math.max(nextBookId, entry.getBookId() + 1);
+                } finally {
+                    catalogLock.writeLock().unlock();
+                }
+            }
+            case MEMBER_REGISTERED -> {
+                catalogLock.writeLock().lock();
+                try {
+                    insertMember(entry.getMember());
+                    nextMemberId = Math.max(nextMemberId, entry.getMemberId() + 1);
+                } finally {
+                    catalogLock.writeLock().unlock();
+                }
+            }
+            case LOAN_OPENED, LOAN_CLOSED -> {
+                Book book = requireBook(entry);
+                Member member = members.get(entry.getMemberId());
+                if (member == null) {
+                    throw new IllegalStateException("Journal refers to unknown member " + entry.getMemberId());
+                }
+                bookLocks.lock(book.getId());
+                memberLocks.lock(member.getId());
+                try {
+                    if (entry.getType() == JournalEntry.Type.LOAN_OPENED) {
+                        openLoan(book, member, entry.getIssueDate(), entry.getDueDate());
+                    } else {
+                        closeLoan(book, member);
+                    }
+                } finally {
+                    memberLocks.unlock(member.getId());
+                    bookLocks.unlock(book.getId());
+                }
+                flushPopularityIfBacklogged();
+            }
+            case HOLD_PLACED, HOLD_RELEASED -> {
+                Book book = requireBook(entry);
+                bookLocks.lock(book.getId());
+                try {
+                    if (entry.getType() == JournalEntry.Type.HOLD_PLACED) {
+                        placeHold(book, entry.getHold());
+                    } else {
+                        Hold hold = findHold(book.getId(), entry.getMemberId());
+                        if (hold != null) {
+                            releaseHold(book, hold);
+                        }
+                    }
+                } finally {
+                    bookLocks.unlock(book.getId());
+                }
+            }
+            case RESERVATION_ADDED, RESERVATION_TAKEN, RESERVATION_CANCELLED -> {
+                Book book = requireBook(entry);
+                bookLocks.lock(book.getId());
+                try {
+                    switch (entry.getType()) {
+                        case RESERVATION_ADDED -> enqueueReservation(new Reservation(book.getId(),
+                                entry.getMemberId(), entry.getReservationTime()));
+                        case RESERVATION_TAKEN -> dequeueReservation(book.getId());
+                        default -> cancelReservationLocked(book.getId(), entry.getMemberId());
+                    }
+                } finally {
+                    bookLocks.unlock(book.getId());
+                }
+            }
+        }
+    }
+
+    private Book requireBook(JournalEntry entry) {
+        Book book = bookById.get(entry.getBookId());
+        if (book == null) {
+            throw new IllegalStateException("Journal refers to unknown book " + entry.getBookId());
+        }
+        return book;
+    }
+
     // --- Sample Data Loading ---
     
     public List<Book> loadSampleBooks() {
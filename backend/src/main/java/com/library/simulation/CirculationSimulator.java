@@ -0,0 +1,355 @@
+package com.library.simulation;
+
+import com.library.ds.LatencyHistogram;
+import com.library.model.Book;
+import com.library.model.Hold;
+import com.library.model.LibraryStats;
+import com.library.model.Member;
+import com.library.service.LibraryService;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Deterministic circulation workload, replayed against an in-memory
+ * LibraryService on a simulated clock.
+ *
+ * Every simulated day the catalog and membership grow, members borrow books
+ * (a few titles far more than the rest), return them after a loan period that
+ * is sometimes late, queue for copies that are out, cancel some reservations
+ * and pick up most of their holds, leaving the rest to expire. Dashboard and
+ * desk reads - overdue list, stats, popular books, member details, search -
+ * are mixed in. The day is played hour by hour, with the clock advanced and
+ * hold expiry run at each hour.
+ *
+ * Every service call is timed. At the end of each stage the simulator prints
+ * the size of the library and, per operation, calls, single-thread throughput
+ * and latency percentiles, so it shows how each operation degrades as history
+ * accumulates. The same seed and options always produce the same calls; only
+ * the timings vary. The first stage includes JIT warm-up.
+ *
+ * Run from the compiled classes, e.g.
+ *   java -cp target/classes com.library.simulation.CirculationSimulator --days=365 --stage-days=30
+ */
+public class CirculationSimulator {
+
+    enum Op {
+        ADD_BOOK("addBook"),
+        REGISTER_MEMBER("registerMember"),
+        ISSUE("issueBook"),
+        RETURN("returnBook"),
+        RESERVE("reserveBook"),
+        CANCEL_RESERVATION("cancelReservation"),
+        GET_HOLDS("getHolds"),
+        EXPIRE_HOLDS("expireHolds"),
+        OVERDUE("getOverdueBooks"),
+        STATS("getStats"),
+        POPULAR("getPopularBooks"),
+        MEMBER_DETAILS("getMemberDetails"),
+        SEARCH("searchBooks"),
+        AUTOCOMPLETE("autocomplete");
+
+        final String label;
+
+        Op(String label) {
+            this.label = label;
+        }
+    }
+
+    /** Workload shape; every rate is per simulated day. */
+    public static class Options {
+        public long seed = 42;
+        public int days = 365;
+        public int stageDays = 30;
+        public int initialBooks = 2000;
+        public int initialMembers = 1000;
+        public int booksPerDay = 10;
+        public int membersPerDay = 10;
+        public int issuesPerDay = 600;
+        public int reservesPerDay = 40;
+        public int cancelsPerDay = 10;
+        public int detailsPerDay = 200;
+        public int searchesPerDay = 200;
+        public int dashboardRefreshesPerDay = 24; // Each reads overdue page, stats and popular books
+        public int overduePageSize = 50;
+        public double lateReturnRate = 0.15;
+        public double holdPickupRate = 0.5; // Chance that a held copy is collected on a given day
+
+        // --name=value, with names as the fields above in kebab case
+        public static Options parse(String[] args) {
+            Options o = new Options();
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (!arg.startsWith("--") || eq < 0) {
+                    throw new IllegalArgumentException("Expected --name=value, got " + arg);
+                }
+                String name = arg.substring(2, eq);
+                String value = arg.substring(eq + 1);
+                switch (name) {
+                    case "seed" -> o.seed = Long.parseLong(value);
+                    case "days" -> o.days = Integer.parseInt(value);
+                    case "stage-days" -> o.stageDays = Integer.parseInt(value);
+                    case "initial-books" -> o.initialBooks = Integer.parseInt(value);
+                    case "initial-members" -> o.initialMembers = Integer.parseInt(value);
+                    case "books-per-day" -> o.booksPerDay = Integer.parseInt(value);
+                    case "members-per-day" -> o.membersPerDay = Integer.parseInt(value);
+                    case "issues-per-day" -> o.issuesPerDay = Integer.parseInt(value);
+                    case "reserves-per-day" -> o.reservesPerDay = Integer.parseInt(value);
+                    case "cancels-per-day" -> o.cancelsPerDay = Integer.parseInt(value);
+                    case "details-per-day" -> o.detailsPerDay = Integer.parseInt(value);
+                    case "searches-per-day" -> o.searchesPerDay = Integer.parseInt(value);
+                    case "dashboard-refreshes-per-day" -> o.dashboardRefreshesPerDay = Integer.parseInt(value);
+                    case "overdue-page-size" -> o.overduePageSize = Integer.parseInt(value);
+                    case "late-return-rate" -> o.lateReturnRate = Double.parseDouble(value);
+                    case "hold-pickup-rate" -> o.holdPickupRate = Double.parseDouble(value);
+                    default -> throw new IllegalArgumentException("Unknown option --" + name);
+                }
+            }
+            if (o.days <= 0 || o.stageDays <= 0) {
+                throw new IllegalArgumentException("days and stage-days must be positive");
+            }
+            return o;
+        }
+    }
+
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+    private static final int LOAN_DAYS = 14;
+    private static final String[] WORDS = {
+            "river", "shadow", "garden", "empire", "silent", "winter", "code", "data", "algorithm", "journey",
+            "ocean", "mountain", "history", "secret", "light", "night", "city", "machine", "theory", "storm",
+            "kingdom", "memory", "island", "forest", "letters", "science", "design", "systems", "poems", "dream",
+            "fire", "glass", "iron", "paper", "stone", "golden", "hidden", "lost", "last", "first",
+            "modern", "ancient", "brief", "complete", "practical", "quiet", "wild", "broken", "northern", "eastern"
+    };
+    private static final String[] FIRST_NAMES = {
+            "Aarav", "Priya", "Rahul", "Ananya", "Vikram", "Meera", "Arjun", "Kavya", "Rohan", "Isha"
+    };
+    private static final String[] LAST_NAMES = {
+            "Sharma", "Patel", "Iyer", "Reddy", "Gupta", "Nair", "Singh", "Das", "Mehta", "Rao"
+    };
+    private static final String[] CATEGORIES = {
+            "Fiction", "Tech", "Education", "History", "Science", "Children", "Poetry", "Biography"
+    };
+
+    private final Options options;
+    private final PrintStream out;
+    private final Random random;
+    private final SimulatedClock clock = new SimulatedClock(START, ZoneOffset.UTC);
+    private final LibraryService library = new LibraryService();
+    private final Map<Op, LatencyHistogram> latencies = new EnumMap<>(Op.class);
+
+    private final List<Integer> bookIds = new ArrayList<>();
+    private final List<Integer> memberIds = new ArrayList<>();
+    private final Map<Integer, List<int[]>> returnsByDay = new HashMap<>(); // Day -> {bookId, memberId}
+    private final List<int[]> reservations = new ArrayList<>(); // Placed and possibly since fulfilled
+    private int day;
+    private long totalCalls;
+
+    public CirculationSimulator(Options options, PrintStream out) {
+        this.options = options;
+        this.out = out;
+        this.random = new Random(options.seed);
+        for (Op op : Op.values()) {
+            latencies.put(op, new LatencyHistogram());
+        }
+        library.setClock(clock);
+    }
+
+    public static void main(String[] args) {
+        new CirculationSimulator(Options.parse(args), System.out).run();
+    }
+
+    public void run() {
+        long started = System.nanoTime();
+        for (int i = 0; i < options.initialBooks; i++) addBook();
+        for (int i = 0; i < options.initialMembers; i++) registerMember();
+
+        int stageStart = 0;
+        for (day = 0; day < options.days; day++) {
+            simulateDay();
+            if ((day + 1) % options.stageDays == 0 || day + 1 == options.days) {
+                report(stageStart, day);
+                stageStart = day + 1;
+            }
+        }
+        out.printf(Locale.ROOT, "%nSimulated %d days, %,d calls in %.1f s%n",
+                options.days, totalCalls, (System.nanoTime() - started) / 1e9);
+    }
+
+    // --- One day, hour by hour ---
+
+    private void simulateDay() {
+        List<int[]> dueBack = returnsByDay.remove(day);
+        if (dueBack == null) dueBack = List.of();
+        for (int hour = 0; hour < 24; hour++) {
+            clock.advance(Duration.ofHours(1));
+            time(Op.EXPIRE_HOLDS, library::expireHolds);
+            if (hour == 9) {
+                pickUpHolds(); // Members collect held copies when the library opens
+            }
+            repeat(share(options.booksPerDay, hour), this::addBook);
+            repeat(share(options.membersPerDay, hour), this::registerMember);
+            repeat(share(options.issuesPerDay, hour), () -> issue(pickBook(), pickMember()));
+            for (int i = cumulative(dueBack.size(), hour); i < cumulative(dueBack.size(), hour + 1); i++) {
+                int[] loan = dueBack.get(i);
+                time(Op.RETURN, () -> library.returnBook(loan[0], loan[1]));
+            }
+            repeat(share(options.reservesPerDay, hour), this::reserve);
+            repeat(share(options.cancelsPerDay, hour), this::cancelReservation);
+            repeat(share(options.detailsPerDay, hour),
+                    () -> time(Op.MEMBER_DETAILS, () -> library.getMemberDetails(pickMember())));
+            repeat(share(options.searchesPerDay, hour), this::search);
+            repeat(share(options.dashboardRefreshesPerDay, hour), this::refreshDashboard);
+        }
+    }
+
+    private void addBook() {
+        String title = capitalize(word()) + " " + capitalize(word()) + (random.nextBoolean() ? " " + capitalize(word()) : "");
+        String author = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+        int copies = 1 + random.nextInt(5);
+        Book book = time(Op.ADD_BOOK, () -> library.addBook(new Book(0, title, author, category, copies, copies, 0)));
+        bookIds.add(book.getId());
+    }
+
+    private void registerMember() {
+        int n = memberIds.size() + 1;
+        String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        Member member = new Member(0, name, "member" + n + "@sim.library", String.format("9%09d", n));
+        memberIds.add(time(Op.REGISTER_MEMBER, () -> library.registerMember(member)).getId());
+    }
+
+    private void issue(int bookId, int memberId) {
+        String result = time(Op.ISSUE, () -> library.issueBook(bookId, memberId));
+        if (result.startsWith("Book issued")) {
+            boolean late = random.nextDouble() < options.lateReturnRate;
+            int loanDays = late ? LOAN_DAYS + 1 + random.nextInt(31) : 1 + random.nextInt(LOAN_DAYS);
+            returnsByDay.computeIfAbsent(day + loanDays, d -> new ArrayList<>()).add(new int[]{bookId, memberId});
+        } else if (result.startsWith("Book unavailable. Added")) {
+            reservations.add(new int[]{bookId, memberId});
+        }
+    }
+
+    private void reserve() {
+        int bookId = pickBook();
+        int memberId = pickMember();
+        String result = time(Op.RESERVE, () -> library.reserveBook(bookId, memberId));
+        if (result.startsWith("Reserved")) {
+            reservations.add(new int[]{bookId, memberId});
+        }
+    }
+
+    // Cancels one placed reservation at random; it may already have turned into a hold or loan
+    private void cancelReservation() {
+        if (reservations.isEmpty()) return;
+        int i = random.nextInt(reservations.size());
+        int[] r = reservations.get(i);
+        reservations.set(i, reservations.get(reservations.size() - 1));
+        reservations.remove(reservations.size() - 1);
+        time(Op.CANCEL_RESERVATION, () -> library.cancelReservation(r[0], r[1]));
+    }
+
+    private void pickUpHolds() {
+        List<Hold> holds = time(Op.GET_HOLDS, library::getHolds);
+        holds.sort((a, b) -> a.getBookId() != b.getBookId()
+                ? Integer.compare(a.getBookId(), b.getBookId())
+                : Integer.compare(a.getMemberId(), b.getMemberId())); // Same order on every run
+        for (Hold hold : holds) {
+            if (random.nextDouble() < options.holdPickupRate) {
+                issue(hold.getBookId(), hold.getMemberId());
+            }
+        }
+    }
+
+    private void search() {
+        String word = word();
+        if (random.nextBoolean()) {
+            time(Op.SEARCH, () -> library.searchBooks(word, 100));
+        } else {
+            time(Op.AUTOCOMPLETE, () -> library.autocomplete(word.substring(0, Math.min(3, word.length())), 10));
+        }
+    }
+
+    private void refreshDashboard() {
+        time(Op.OVERDUE, () -> library.getOverdueBooks(0, options.overduePageSize));
+        time(Op.STATS, library::getStats);
+        String category = random.nextBoolean() ? null : CATEGORIES[random.nextInt(CATEGORIES.length)];
+        time(Op.POPULAR, () -> library.getPopularBooks(category, 10));
+    }
+
+    // --- Choices ---
+
+    // Skewed towards the oldest titles: the first tenth of the catalog draws about half the picks
+    private int pickBook() {
+        double u = random.nextDouble();
+        return bookIds.get((int) (bookIds.size() * u * u * u));
+    }
+
+    private int pickMember() {
+        return memberIds.get(random.nextInt(memberIds.size()));
+    }
+
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    // Of perDay calls spread evenly over the day, how many fall in the first hours
+    private static int cumulative(int perDay, int hours) {
+        return (int) ((long) perDay * hours / 24);
+    }
+
+    private static int share(int perDay, int hour) {
+        return cumulative(perDay, hour + 1) - cumulative(perDay, hour);
+    }
+
+    private static void repeat(int times, Runnable action) {
+        for (int i = 0; i < times; i++) action.run();
+    }
+
+    private <T> T time(Op op, Supplier<T> call) {
+        long start = System.nanoTime();
+        T result = call.get();
+        latencies.get(op).record(System.nanoTime() - start);
+        totalCalls++;
+        return result;
+    }
+
+    // --- Reporting ---
+
+    private void report(int firstDay, int lastDay) {
+        LibraryStats stats = library.getStats();
+        LocalDate from = LocalDate.ofInstant(START, ZoneOffset.UTC).plusDays(firstDay);
+        LocalDate to = LocalDate.ofInstant(START, ZoneOffset.UTC).plusDays(lastDay);
+        out.printf(Locale.ROOT, "%n== Days %d-%d (%s .. %s) ==%n", firstDay + 1, lastDay + 1, from, to);
+        out.printf(Locale.ROOT, "books %,d  members %,d  loans issued %,d  open %,d  overdue %,d  reservations %,d  holds %,d%n",
+                stats.getTotalBooks(), stats.getTotalMembers(), stats.getTimesIssued(), stats.getActiveLoans(),
+                stats.getOverdueLoans(), library.getAllReservations().size(), library.getHolds().size());
+        out.printf(Locale.ROOT, "%-18s %9s %12s %9s %9s %9s %9s %10s%n",
+                "operation", "calls", "ops/s", "mean us", "p50 us", "p90 us", "p99 us", "max us");
+        for (Op op : Op.values()) {
+            LatencyHistogram h = latencies.get(op);
+            if (h.getCount() == 0) continue;
+            double opsPerSecond = h.getTotal() == 0 ? 0 : h.getCount() * 1e9 / h.getTotal();
+            out.printf(Locale.ROOT, "%-18s %,9d %,12.0f %9.1f %9.1f %9.1f %9.1f %,10.1f%n",
+                    op.label, h.getCount(), opsPerSecond, h.getMean() / 1e3,
+                    h.getValueAtPercentile(50) / 1e3, h.getValueAtPercentile(90) / 1e3,
+                    h.getValueAtPercentile(99) / 1e3, h.getMax() / 1e3);
+            h.reset();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.library.simulation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+// A clock that only moves when told to, for replaying months of traffic in seconds
+public class SimulatedClock extends Clock {
+
+    private final ZoneId zone;
+    private volatile Instant now;
+
+    public SimulatedClock(Instant start, ZoneId zone) {
+        this.now = start;
+        this.zone = zone;
+    }
+
+    public void advance(Duration duration) {
+        now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    // Shares the instant: advancing either clock moves both
+    @Override
+    public Clock withZone(ZoneId zone) {
+        SimulatedClock parent = this;
+        return new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return zone;
+            }
+
+            @Override
+            public Clock withZone(ZoneId other) {
+                return parent.withZone(other);
+            }
+
+            @Override
+            public Instant instant() {
+                return parent.instant();
+            }
+        };
+    }
+
+    @Override
+    public Instant instant() {
+        return now;
+    }
+}
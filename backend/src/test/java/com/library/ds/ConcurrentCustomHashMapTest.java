@@ -0,0 +1,163 @@
+package com.library.ds;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reads and writes while the table doubles a few buckets at a time: a single
+ * thread checked against java.util.HashMap after every operation, so lookups
+ * land on migrated and not-yet-migrated buckets alike, then several writers
+ * and lock-free readers at once.
+ */
+class ConcurrentCustomHashMapTest {
+
+    // Few distinct hashes, so chains are long and split unevenly between the halves of a doubled bucket
+    record Key(int id) {
+        @Override
+        public int hashCode() {
+            return id % 97;
+        }
+    }
+
+    @Test
+    void operationsDuringResizesMatchHashMap() {
+        SplittableRandom random = new SplittableRandom(5);
+        ConcurrentCustomHashMap<Integer, Integer> map = new ConcurrentCustomHashMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        int resizes = 0;
+        int capacity = map.capacity();
+
+        for (int step = 0; step < 100_000; step++) {
+            int key = random.nextInt(40_000);
+            switch (random.nextInt(5)) {
+                case 0, 1 -> {
+                    map.put(key, step);
+                    expected.put(key, step);
+                }
+                case 2 -> assertEquals(expected.putIfAbsent(key, step), map.putIfAbsent(key, step));
+                case 3 -> {
+                    map.remove(key);
+                    expected.remove(key);
+                }
+                default -> assertEquals(expected.get(key), map.get(key), "get " + key);
+            }
+            assertEquals(expected.size(), map.size());
+            if (map.capacity() != capacity) {
+                capacity = map.capacity();
+                resizes++;
+                assertContents(expected, map); // Just after a resize finished
+            }
+        }
+        assertTrue(resizes >= 8, "only " + resizes + " resizes");
+        assertContents(expected, map);
+    }
+
+    @Test
+    void collidingKeysSplitAcrossResizes() {
+        ConcurrentCustomHashMap<Key, Integer> map = new ConcurrentCustomHashMap<>();
+        Map<Key, Integer> expected = new HashMap<>();
+        for (int id = 0; id < 5000; id++) {
+            map.put(new Key(id), id);
+            expected.put(new Key(id), id);
+            if (id % 3 == 0) {
+                map.remove(new Key(id / 2));
+                expected.remove(new Key(id / 2));
+            }
+            // Every key, including ones in buckets being migrated right now
+            if (id % 250 == 0) assertContents(expected, map);
+        }
+        assertContents(expected, map);
+        assertNull(map.get(new Key(-1)));
+    }
+
+    // Writers own disjoint key ranges; readers check keys that never change while the table grows under them
+    @Test
+    void concurrentReadsAndWritesDuringResizes() throws Exception {
+        int writers = 4;
+        int readers = 3;
+        int stable = 1000;
+        ConcurrentCustomHashMap<Integer, Integer> map = new ConcurrentCustomHashMap<>();
+        for (int key = 0; key < stable; key++) map.put(-1 - key, key);
+
+        ExecutorService pool = Executors.newFixedThreadPool(writers + readers);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<Map<Integer, Integer>>> writes = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int base = w * 1_000_000;
+            SplittableRandom random = new SplittableRandom(w);
+            writes.add(pool.submit(() -> {
+                Map<Integer, Integer> mine = new HashMap<>();
+                start.await();
+                for (int i = 0; i < 50_000; i++) {
+                    int key = base + random.nextInt(40_000);
+                    if (random.nextInt(4) == 0) {
+                        map.remove(key);
+                        mine.remove(key);
+                    } else {
+                        map.put(key, i);
+                        mine.put(key, i);
+                    }
+                }
+                return mine;
+            }));
+        }
+        List<Future<Long>> reads = new ArrayList<>();
+        for (int r = 0; r < readers; r++) {
+            SplittableRandom random = new SplittableRandom(100 + r);
+            reads.add(pool.submit(() -> {
+                start.await();
+                long count = 0;
+                while (writing.get()) {
+                    int key = random.nextInt(stable);
+                    Integer value = map.get(-1 - key);
+                    if (value == null || value != key) {
+                        throw new AssertionError("stable key " + (-1 - key) + " read as " + value);
+                    }
+                    count++;
+                }
+                return count;
+            }));
+        }
+        start.countDown();
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (Future<Map<Integer, Integer>> f : writes) expected.putAll(f.get(60, TimeUnit.SECONDS));
+        writing.set(false);
+        for (Future<Long> f : reads) assertTrue(f.get(60, TimeUnit.SECONDS) > 0);
+        pool.shutdown();
+
+        for (int key = 0; key < stable; key++) expected.put(-1 - key, key);
+        assertContents(expected, map);
+    }
+
+    private static <K> void assertContents(Map<K, Integer> expected, ConcurrentCustomHashMap<K, Integer> map) {
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<K, Integer> e : expected.entrySet()) {
+            assertEquals(e.getValue(), map.get(e.getKey()), "value of " + e.getKey());
+        }
+        List<K> keys = map.keySet();
+        assertEquals(expected.size(), keys.size(), "keySet has duplicates or misses");
+        assertEquals(expected.keySet(), new HashSet<>(keys));
+        List<Integer> values = map.values();
+        values.sort(null);
+        List<Integer> expectedValues = new ArrayList<>(expected.values());
+        expectedValues.sort(null);
+        assertEquals(expectedValues, values);
+    }
+}
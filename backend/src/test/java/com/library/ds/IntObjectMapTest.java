@@ -0,0 +1,162 @@
+package com.library.ds;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Puts, removes and resizes with keys that all hash to the same home slot, so
+ * every lookup walks a long probe run through live entries and tombstones, plus
+ * random operations checked against java.util.HashMap and lock-free reads
+ * while a writer keeps resizing the table.
+ */
+class IntObjectMapTest {
+
+    // Keys whose home slot is 0 in every table of up to 4096 slots (same hash as IntObjectMap)
+    private static List<Integer> collidingKeys(int count) {
+        List<Integer> keys = new ArrayList<>();
+        for (int key = 1; keys.size() < count; key++) {
+            int h = key * 0x9E3779B9;
+            if (((h ^ (h >>> 16)) & 0xFFF) == 0) keys.add(key);
+        }
+        return keys;
+    }
+
+    @Test
+    void collidingKeysSurviveRemovesAndResizes() {
+        List<Integer> keys = collidingKeys(200);
+        IntObjectMap<String> map = new IntObjectMap<>();
+        for (int key : keys) {
+            map.put(key, "v" + key);
+        }
+        assertEquals(keys.size(), map.size());
+        assertEquals(keys.size(), map.maxProbeLength(), "all keys share one probe run");
+        for (int key : keys) {
+            assertEquals("v" + key, map.get(key));
+        }
+
+        // Tombstones in the middle of the run must not cut it short
+        for (int i = 0; i < keys.size(); i += 2) {
+            map.remove(keys.get(i));
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            int key = keys.get(i);
+            if (i % 2 == 0) {
+                assertNull(map.get(key), "removed " + key);
+            } else {
+                assertEquals("v" + key, map.get(key));
+            }
+        }
+        assertEquals(keys.size() / 2, map.size());
+
+        for (int i = 0; i < keys.size(); i += 2) {
+            assertNull(map.putIfAbsent(keys.get(i), "w" + keys.get(i)));
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            int key = keys.get(i);
+            assertEquals((i % 2 == 0 ? "w" : "v") + key, map.get(key));
+        }
+        assertEquals(keys.size(), map.size());
+        assertEquals(new HashSet<>(keys), toSet(map.keys()));
+    }
+
+    // Few live keys and many removals: tombstones force same-size rehashes as well as growth
+    @Test
+    void randomOperationsMatchHashMap() {
+        SplittableRandom random = new SplittableRandom(3);
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        int[] special = {0, -1, Integer.MIN_VALUE, Integer.MAX_VALUE};
+
+        for (int step = 0; step < 200_000; step++) {
+            int range = step < 100_000 ? 64 : 5000;
+            int key = random.nextInt(20) == 0 ? special[random.nextInt(special.length)]
+                    : random.nextInt(-range, range);
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    map.put(key, step);
+                    expected.put(key, step);
+                }
+                case 1 -> assertEquals(expected.putIfAbsent(key, step), map.putIfAbsent(key, step));
+                case 2 -> {
+                    map.remove(key);
+                    expected.remove(key);
+                }
+                default -> assertEquals(expected.get(key), map.get(key), "get " + key);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (Map.Entry<Integer, Integer> e : expected.entrySet()) {
+            assertEquals(e.getValue(), map.get(e.getKey()));
+        }
+        assertEquals(expected.keySet(), toSet(map.keys()));
+        assertEquals(new HashSet<>(expected.values()), new HashSet<>(map.values()));
+    }
+
+    @Test
+    void ensureCapacityKeepsEntries() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        for (int key : collidingKeys(10)) map.put(key, "v" + key);
+        map.ensureCapacity(100_000);
+        assertTrue(map.capacity() >= 200_000);
+        for (int key : collidingKeys(10)) assertEquals("v" + key, map.get(key));
+        assertEquals(10, map.size());
+    }
+
+    @Test
+    void nullValuesAreRejected() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        assertThrows(IllegalArgumentException.class, () -> map.put(1, null));
+    }
+
+    // Readers never lock, so a key published before a resize must still be found while the table is swapped
+    @Test
+    void readersSeeEveryPublishedKeyDuringResizes() throws Exception {
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+        AtomicInteger published = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        int total = 200_000;
+
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < 3; t++) {
+            SplittableRandom random = new SplittableRandom(t);
+            readers.add(new Thread(() -> {
+                while (published.get() < total && failure.get() == null) {
+                    int upTo = published.get();
+                    if (upTo == 0) continue;
+                    int key = random.nextInt(upTo);
+                    Integer value = map.get(key);
+                    if (value == null || value != key) {
+                        failure.set(new AssertionError("key " + key + " of " + upTo + " read as " + value));
+                    }
+                }
+            }));
+        }
+        readers.forEach(Thread::start);
+        for (int key = 0; key < total; key++) {
+            map.put(key, key);
+            published.set(key + 1);
+        }
+        for (Thread reader : readers) reader.join();
+        if (failure.get() != null) throw new AssertionError(failure.get());
+        assertEquals(total, map.size());
+    }
+
+    private static HashSet<Integer> toSet(int[] keys) {
+        HashSet<Integer> set = new HashSet<>();
+        for (int key : keys) set.add(key);
+        return set;
+    }
+}
@@ -0,0 +1,135 @@
+package com.library.ds;
+
+import com.library.model.Book;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Titles from a two-letter alphabet, so nearly every insert splits an edge and
+ * prefixes end inside edges, with popularity pushed one book at a time and in
+ * batches. Every answer is checked against a scan of all titles: the cached
+ * top-k of each node on the way must reflect the counts pushed so far.
+ */
+class RadixTrieTest {
+
+    private static final Comparator<Book> POPULAR =
+            Comparator.comparingInt(Book::getTimesIssued).reversed().thenComparingInt(Book::getId);
+
+    @Test
+    void splitsKeepEveryTitleAndPrefix() {
+        RadixTrie trie = new RadixTrie();
+        List<Book> books = new ArrayList<>();
+        // Each one splits an existing edge or ends inside one
+        String[] titles = {"Romance", "Romantic", "Rome", "Rom", "R", "Roman", "Rome", "Romantic Era", "Ro"};
+        for (String title : titles) {
+            Book book = new Book(books.size() + 1, title, "Author", "Category", 1, 1, books.size() % 3);
+            books.add(book);
+            trie.insert(title, book);
+        }
+        for (String prefix : prefixesOf(books)) {
+            assertEquals(ids(expectedMatches(books, prefix)), ids(trie.searchPrefix(prefix)), "prefix " + prefix);
+            assertEquals(expectedTop(books, prefix, RadixTrie.TOP_K), trie.topK(prefix, RadixTrie.TOP_K), "top " + prefix);
+        }
+        assertEquals(2, trie.searchPrefix("ROME").size(), "duplicate titles both kept");
+        assertTrue(trie.topK("romz", 5).isEmpty());
+        assertTrue(trie.topK("romantic erax", 5).isEmpty(), "prefix longer than any title");
+    }
+
+    @Test
+    void cachedTopKFollowsPopularity() {
+        SplittableRandom random = new SplittableRandom(9);
+        RadixTrie trie = new RadixTrie();
+        List<Book> books = new ArrayList<>();
+
+        for (int round = 0; round < 60; round++) {
+            for (int i = 0; i < 50; i++) {
+                Book book = new Book(books.size() + 1, randomTitle(random), "Author", "Category", 1, 1,
+                        random.nextInt(5));
+                books.add(book);
+                trie.insert(book.getTitle(), book);
+            }
+            // Counts only grow; pushed right after each change, or later as one batch of distinct books
+            Set<Book> changed = new LinkedHashSet<>();
+            for (int i = 0; i < 80; i++) {
+                Book book = books.get(random.nextInt(books.size()));
+                book.setTimesIssued(book.getTimesIssued() + 1 + random.nextInt(random.nextInt(4) == 0 ? 30 : 2));
+                if (round % 2 == 0) {
+                    trie.updatePopularity(book);
+                } else {
+                    changed.add(book);
+                }
+            }
+            trie.updatePopularity(new ArrayList<>(changed));
+            for (int q = 0; q < 40; q++) {
+                String title = randomTitle(random);
+                String prefix = title.substring(0, Math.min(title.length(), 1 + random.nextInt(3)));
+                int k = 1 + random.nextInt(RadixTrie.TOP_K);
+                assertEquals(expectedTop(books, prefix, k), trie.topK(prefix, k), "round " + round + " prefix " + prefix);
+            }
+        }
+        assertEquals(expectedTop(books, "", RadixTrie.TOP_K), trie.topK("", RadixTrie.TOP_K));
+        for (String prefix : prefixesOf(books.subList(0, 200))) {
+            assertEquals(expectedTop(books, prefix, RadixTrie.TOP_K), trie.topK(prefix, RadixTrie.TOP_K), prefix);
+        }
+
+        // A trie built in one go from the final counts answers the same
+        RadixTrie built = new RadixTrie();
+        built.build(books);
+        for (String prefix : prefixesOf(books.subList(0, 200))) {
+            assertEquals(trie.topK(prefix, RadixTrie.TOP_K), built.topK(prefix, RadixTrie.TOP_K), "built " + prefix);
+            assertEquals(new HashSet<>(ids(trie.searchPrefix(prefix))), new HashSet<>(ids(built.searchPrefix(prefix))));
+        }
+    }
+
+    // Mixed case, so lookups must lowercase both sides the same way
+    private static String randomTitle(SplittableRandom random) {
+        StringBuilder title = new StringBuilder();
+        int length = 1 + random.nextInt(8);
+        for (int i = 0; i < length; i++) {
+            char c = random.nextBoolean() ? 'a' : 'b';
+            title.append(random.nextInt(5) == 0 ? Character.toUpperCase(c) : c);
+        }
+        return title.toString();
+    }
+
+    private static List<Book> expectedMatches(List<Book> books, String prefix) {
+        List<Book> matches = new ArrayList<>();
+        String p = prefix.toLowerCase(Locale.ROOT);
+        for (Book book : books) {
+            if (book.getTitle().toLowerCase(Locale.ROOT).startsWith(p)) matches.add(book);
+        }
+        return matches;
+    }
+
+    private static List<Book> expectedTop(List<Book> books, String prefix, int k) {
+        List<Book> matches = expectedMatches(books, prefix);
+        matches.sort(POPULAR);
+        return matches.subList(0, Math.min(Math.min(k, RadixTrie.TOP_K), matches.size()));
+    }
+
+    private static Set<String> prefixesOf(List<Book> books) {
+        Set<String> prefixes = new LinkedHashSet<>();
+        for (Book book : books) {
+            for (int i = 1; i <= book.getTitle().length(); i++) prefixes.add(book.getTitle().substring(0, i));
+        }
+        return prefixes;
+    }
+
+    private static List<Integer> ids(List<Book> books) {
+        List<Integer> ids = new ArrayList<>();
+        for (Book book : books) ids.add(book.getId());
+        ids.sort(null);
+        return ids;
+    }
+}
@@ -0,0 +1,119 @@
+package com.library.ds;
+
+import com.library.model.Book;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Random adds and updates, checked against a plain list sorted the same way.
+ * An update that changes a book's score deletes its node and inserts a new one,
+ * so long runs with many ties and score drops exercise every delete case,
+ * including the successor splice. The model keeps the score each book was last
+ * ranked with, since that is what the tree orders by.
+ */
+class RankingTreeTest {
+
+    private static final Comparator<int[]> ORDER = // {id, score}
+            Comparator.<int[]>comparingInt(e -> -e[1]).thenComparingInt(e -> e[0]);
+
+    @Test
+    void randomAddsAndUpdatesMatchSortedList() {
+        SplittableRandom random = new SplittableRandom(7);
+        RankingTree tree = new RankingTree();
+        List<Book> books = new ArrayList<>();
+        Map<Integer, Integer> ranked = new HashMap<>(); // id -> score last ranked with
+
+        for (int step = 0; step < 20_000; step++) {
+            int op = random.nextInt(10);
+            if (op < 2 || books.isEmpty()) {
+                Book book = book(books.size() + 1, random.nextInt(20));
+                books.add(book);
+                tree.add(book);
+                ranked.put(book.getId(), book.getTimesIssued());
+            } else if (op < 8) {
+                Book book = books.get(random.nextInt(books.size()));
+                // Mostly up by one, sometimes down or a jump, over a small range so scores tie
+                int delta = random.nextInt(4) == 0 ? random.nextInt(-10, 11) : 1;
+                book.setTimesIssued(Math.max(0, book.getTimesIssued() + delta));
+                tree.update(book);
+                ranked.put(book.getId(), book.getTimesIssued());
+            } else {
+                // A change not yet pushed to the tree leaves the book where it was
+                Book book = books.get(random.nextInt(books.size()));
+                book.setTimesIssued(book.getTimesIssued() + 1 + random.nextInt(5));
+            }
+            if (step % 500 == 0) assertMatches(tree, books, ranked);
+        }
+        assertMatches(tree, books, ranked);
+    }
+
+    @Test
+    void batchUpdateMatchesSingleUpdates() {
+        SplittableRandom random = new SplittableRandom(11);
+        List<Book> books = new ArrayList<>();
+        for (int i = 1; i <= 2000; i++) books.add(book(i, random.nextInt(50)));
+        RankingTree tree = new RankingTree();
+        tree.build(books);
+
+        Map<Integer, Integer> ranked = new HashMap<>();
+        for (int round = 0; round < 20; round++) {
+            List<Book> changed = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                Book book = books.get(random.nextInt(books.size()));
+                book.setTimesIssued(random.nextInt(50));
+                changed.add(book); // Repeats included
+            }
+            tree.update(changed);
+            for (Book book : books) ranked.put(book.getId(), book.getTimesIssued());
+            assertMatches(tree, books, ranked);
+        }
+    }
+
+    @Test
+    void addingRankedBookAgainKeepsOneNode() {
+        RankingTree tree = new RankingTree();
+        Book book = book(1, 3);
+        tree.add(book);
+        book.setTimesIssued(9);
+        tree.add(book);
+
+        assertEquals(1, tree.size());
+        assertEquals(1, tree.rank(book));
+        assertEquals(-1, tree.rank(book(2, 0)), "not ranked");
+    }
+
+    private static void assertMatches(RankingTree tree, List<Book> books, Map<Integer, Integer> ranked) {
+        List<int[]> expected = new ArrayList<>();
+        for (Book book : books) expected.add(new int[]{book.getId(), ranked.get(book.getId())});
+        expected.sort(ORDER);
+
+        assertEquals(expected.size(), tree.size());
+        List<Book> all = tree.topK(expected.size() + 1);
+        assertEquals(expected.size(), all.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i)[0], all.get(i).getId(), "position " + (i + 1));
+        }
+        List<Book> top = tree.topK(10);
+        assertEquals(Math.min(10, expected.size()), top.size());
+        for (int i = 0; i < top.size(); i++) {
+            assertEquals(all.get(i).getId(), top.get(i).getId());
+        }
+        Map<Integer, Book> byId = new HashMap<>();
+        for (Book book : books) byId.put(book.getId(), book);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i + 1, tree.rank(byId.get(expected.get(i)[0])), "rank of " + expected.get(i)[0]);
+        }
+    }
+
+    private static Book book(int id, int timesIssued) {
+        return new Book(id, "Title " + id, "Author", "Category", 1, 1, timesIssued);
+    }
+}
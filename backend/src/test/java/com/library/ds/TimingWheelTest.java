@@ -0,0 +1,110 @@
+package com.library.ds;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Timers on every level of the wheel, fired by advancing in steps of all sizes,
+ * checked against the deadlines themselves: nothing fires early, nothing late,
+ * and cancelled timers never fire.
+ */
+class TimingWheelTest {
+
+    // Deadlines just either side of the 64^l slot boundaries, so timers cascade from every level
+    @Test
+    void timersCascadeAcrossLevels() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 0);
+        List<Long> deadlines = new ArrayList<>();
+        for (int level = 0; level < 5; level++) {
+            long boundary = 1L << (6 * level);
+            for (long d : new long[]{boundary - 1, boundary, boundary + 1, 3 * boundary + 5}) {
+                if (d > 0 && !deadlines.contains(d)) deadlines.add(d);
+            }
+        }
+        for (long d : deadlines) wheel.schedule(d, d);
+
+        long now = 0;
+        List<Long> fired = new ArrayList<>();
+        while (wheel.size() > 0) {
+            now += 1 + now / 3; // Steps grow with the clock, crossing boundaries mid-step
+            List<Long> batch = wheel.advance(now);
+            for (long d : batch) {
+                assertTrue(d <= now, d + " fired early at " + now);
+                assertTrue(fired.isEmpty() || d >= fired.get(fired.size() - 1), "out of deadline order");
+                fired.add(d);
+            }
+            for (long d : deadlines) {
+                if (d <= now) assertTrue(fired.contains(d), d + " not fired by " + now);
+            }
+        }
+        assertEquals(deadlines.size(), fired.size());
+    }
+
+    // Random deadlines and random steps, compared with the set of deadlines passed
+    @Test
+    void firesExactlyTheDeadlinesPassed() {
+        SplittableRandom random = new SplittableRandom(42);
+        long start = 1_700_000_000_000L;
+        TimingWheel<Long> wheel = new TimingWheel<>(1, start);
+        Set<Long> pending = new HashSet<>();
+        List<TimingWheel.Timer<Long>> timers = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            long d = start + 1 + random.nextLong(1L << 26);
+            if (pending.add(d)) timers.add(wheel.schedule(d, d));
+        }
+        // Cancel every tenth timer
+        for (int i = 0; i < timers.size(); i += 10) {
+            TimingWheel.Timer<Long> timer = timers.get(i);
+            assertTrue(wheel.cancel(timer));
+            assertFalse(wheel.cancel(timer), "cancelled twice");
+            pending.remove(timer.getPayload());
+        }
+        assertEquals(pending.size(), wheel.size());
+
+        long now = start;
+        while (!pending.isEmpty()) {
+            now += random.nextInt(4) == 0 ? random.nextLong(1L << 20) : random.nextInt(200);
+            Set<Long> expected = new HashSet<>();
+            for (long d : pending) {
+                if (d <= now) expected.add(d);
+            }
+            List<Long> fired = wheel.advance(now);
+            assertEquals(expected.size(), fired.size(), "fired count at " + now);
+            assertEquals(expected, new HashSet<>(fired));
+            pending.removeAll(expected);
+            assertEquals(pending.size(), wheel.size());
+        }
+    }
+
+    // Deadlines round up to a whole tick; a deadline already passed fires on the next advance
+    @Test
+    void deadlinesRoundUpToTicks() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 100);
+        wheel.schedule("late", 115);
+        wheel.schedule("past", 50);
+
+        assertEquals(List.of("past"), wheel.advance(100));
+        assertTrue(wheel.advance(119).isEmpty(), "fired before its tick");
+        assertEquals(List.of("late"), wheel.advance(120));
+        assertTrue(wheel.advance(90).isEmpty(), "moving backwards fires nothing");
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void firedTimerCannotBeCancelled() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        TimingWheel.Timer<String> timer = wheel.schedule("a", 5000);
+        assertEquals(List.of("a"), wheel.advance(1L << 40)); // One long jump
+        assertFalse(wheel.cancel(timer));
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,222 @@
+package com.library.persistence;
+
+import com.library.model.Book;
+import com.library.model.CirculationOperation;
+import com.library.model.Hold;
+import com.library.model.IssueRecord;
+import com.library.model.LibraryStats;
+import com.library.model.Member;
+import com.library.model.OverdueRecord;
+import com.library.model.Reservation;
+import com.library.service.LibraryService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs a mixed workload with persistence on, snapshotting part way through, then
+ * starts a fresh service on the same directory and checks it recovers exactly
+ * the state the first one had: once after a crash, where everything since the
+ * snapshot comes from replaying the log, and once after a clean stop.
+ */
+class PersistenceRoundTripTest {
+
+    private static final Instant START = Instant.parse("2026-03-02T09:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void crashRecoveryReplaysLogOnTopOfSnapshot() throws Exception {
+        Clock clock = Clock.fixed(START, ZoneOffset.UTC);
+        LibraryService library = new LibraryService();
+        library.setClock(clock);
+        PersistenceManager manager = start(library);
+
+        runWorkload(library, new SplittableRandom(3), 0);
+        long snapshotSequence = manager.snapshot();
+        clock = Clock.fixed(START.plus(Duration.ofDays(20)), ZoneOffset.UTC); // Loans now overdue, holds expired
+        library.setClock(clock);
+        library.expireHolds();
+        runWorkload(library, new SplittableRandom(4), 1);
+        clock = Clock.fixed(START.plus(Duration.ofDays(40)), ZoneOffset.UTC);
+        library.setClock(clock);
+
+        WriteAheadLog wal = (WriteAheadLog) ReflectionTestUtils.getField(manager, "wal");
+        assertTrue(wal.lastSequence() > snapshotSequence + 100, "too little left for the log to replay");
+        crash(manager, library);
+
+        List<String> before = describe(library);
+        for (String kind : List.of("reservation ", "hold ", "overdue ")) {
+            assertTrue(before.stream().anyMatch(line -> line.startsWith(kind)), "workload left no " + kind.trim());
+        }
+        LibraryService recovered = new LibraryService();
+        recovered.setClock(clock);
+        PersistenceManager restarted = start(recovered);
+        assertIterableEquals(before, describe(recovered));
+
+        // Keeps going from where it left off, and survives a second restart too
+        runWorkload(recovered, new SplittableRandom(5), 2);
+        restarted.stop();
+        LibraryService again = new LibraryService();
+        again.setClock(clock);
+        start(again).stop();
+        assertIterableEquals(describe(recovered), describe(again));
+    }
+
+    @Test
+    void cleanStopRecoversFromSnapshotAlone() throws Exception {
+        Clock clock = Clock.fixed(START, ZoneOffset.UTC);
+        LibraryService library = new LibraryService();
+        library.setClock(clock);
+        PersistenceManager manager = start(library);
+        runWorkload(library, new SplittableRandom(7), 0);
+        manager.stop(); // Final snapshot covers the whole log
+
+        LibraryService recovered = new LibraryService();
+        recovered.setClock(clock);
+        PersistenceManager restarted = start(recovered);
+        assertIterableEquals(describe(library), describe(recovered));
+        assertEquals(0L, ((WriteAheadLog) ReflectionTestUtils.getField(restarted, "wal")).lastSequence()
+                - (long) ReflectionTestUtils.getField(restarted, "snapshotSequence"), "nothing to replay");
+        restarted.stop();
+    }
+
+    private PersistenceManager start(LibraryService library) throws Exception {
+        PersistenceManager manager = new PersistenceManager();
+        ReflectionTestUtils.setField(manager, "libraryService", library);
+        ReflectionTestUtils.setField(manager, "enabled", true);
+        ReflectionTestUtils.setField(manager, "dataDir", dir.toString());
+        ReflectionTestUtils.setField(manager, "fsync", false);
+        ReflectionTestUtils.setField(manager, "snapshotIntervalSeconds", 3600L); // Only when the test asks
+        ReflectionTestUtils.setField(manager, "snapshotMinEntries", 1L);
+        manager.start();
+        return manager;
+    }
+
+    // Stops without the final snapshot stop() would write, as a killed process would
+    private static void crash(PersistenceManager manager, LibraryService library) throws Exception {
+        ((ScheduledExecutorService) ReflectionTestUtils.getField(manager, "scheduler")).shutdownNow();
+        library.setMutationLog(MutationLog.NONE);
+        ((WriteAheadLog) ReflectionTestUtils.getField(manager, "wal")).close();
+    }
+
+    // New books and members, then single and batched issues, returns, reservations and cancellations
+    private static void runWorkload(LibraryService library, SplittableRandom random, int round) {
+        List<Book> added = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            int copies = 1 + random.nextInt(3);
+            added.add(new Book(0, "Recovery Title " + round + "-" + i, "Author " + i % 7, "Category " + i % 4,
+                    copies, copies, 0));
+        }
+        library.addBooks(added);
+        for (int i = 0; i < 25; i++) {
+            library.registerMember(new Member(0, "Member " + round + "-" + i, "member" + round + "-" + i + "@test.example",
+                    String.valueOf(9_000_000_000L + round * 1000L + i)));
+        }
+
+        int[] bookIds = library.getAllBooks().stream().mapToInt(Book::getId).toArray();
+        int[] memberIds = library.getAllMembers().stream().mapToInt(Member::getId).toArray();
+        for (int step = 0; step < 400; step++) {
+            int bookId = bookIds[random.nextInt(bookIds.length)];
+            int memberId = memberIds[random.nextInt(memberIds.length)];
+            switch (random.nextInt(6)) {
+                case 0, 1 -> library.issueBook(bookId, memberId);
+                case 2 -> library.returnBook(bookId, memberId);
+                case 3 -> library.reserveBook(bookId, memberId);
+                case 4 -> library.cancelReservation(bookId, memberId);
+                default -> {
+                    List<CirculationOperation> batch = new ArrayList<>();
+                    for (int i = 0; i < 8; i++) {
+                        String type = List.of("issue", "return", "reserve").get(random.nextInt(3));
+                        batch.add(new CirculationOperation(type, bookIds[random.nextInt(bookIds.length)],
+                                memberIds[random.nextInt(memberIds.length)]));
+                    }
+                    library.processBatch(batch);
+                }
+            }
+            // Return whatever is on loan now and then, so copies reach holds and reservations
+            if (step % 50 == 49) {
+                for (Member member : library.getAllMembers()) {
+                    for (int borrowed : new ArrayList<>(member.getCurrentBorrowedBooks())) {
+                        if (random.nextInt(3) == 0) library.returnBook(borrowed, member.getId());
+                    }
+                }
+            }
+        }
+    }
+
+    // Everything a client could observe, in a stable order
+    private static List<String> describe(LibraryService library) {
+        List<String> lines = new ArrayList<>();
+        LibrarySnapshot s = library.captureSnapshot(() -> 0L);
+        lines.add("next " + s.getNextBookId() + " " + s.getNextMemberId());
+        for (int i = 0; i < s.getBooks().size(); i++) {
+            Book b = s.getBooks().get(i);
+            lines.add("book " + b.getId() + " " + b.getTitle() + " | " + b.getAuthor() + " | " + b.getCategory()
+                    + " " + b.getTotalCopies() + " " + s.getAvailableCopies(i) + " " + s.getTimesIssued(i));
+        }
+        for (Member m : s.getMembers()) {
+            List<Integer> borrowed = new ArrayList<>(m.getCurrentBorrowedBooks());
+            borrowed.sort(null);
+            lines.add("member " + m.getId() + " " + m.getName() + " " + m.getEmail() + " " + m.getPhone()
+                    + " " + m.getRegistrationDate() + " " + borrowed + " " + m.getPendingFines());
+        }
+        for (IssueRecord r : s.getHistory()) {
+            lines.add("loan " + r.getBookId() + " " + r.getMemberId() + " " + r.getIssueDate() + " " + r.getDueDate()
+                    + " " + r.isReturned() + " " + s.isOpen(r));
+        }
+        for (Reservation r : s.getReservations()) {
+            lines.add("reservation " + r.getBookId() + " " + r.getMemberId() + " " + r.getReservationTime());
+        }
+        for (Hold h : s.getHolds()) {
+            lines.add("hold " + h.getBookId() + " " + h.getMemberId() + " " + h.getPlacedAt() + " " + h.getExpiresAt());
+        }
+
+        // Derived indexes are rebuilt on recovery rather than saved, so check them separately
+        for (Book b : library.getPopularBooks(null, 20)) lines.add("popular " + b.getId());
+        for (Book b : library.getPopularBooks("Category 2", 5)) lines.add("popular in category " + b.getId());
+        for (Book b : library.searchBooks("recovery title 1", 50)) lines.add("search " + b.getId());
+        for (Book b : library.autocomplete("recovery title 0-1", 10)) lines.add("autocomplete " + b.getId());
+        // Most overdue first; loans due the same day come out in whatever order the heap holds them
+        List<OverdueRecord> overdue = library.getOverdueBooks();
+        List<String> overdueLines = new ArrayList<>();
+        for (int i = 0; i < overdue.size(); i++) {
+            OverdueRecord o = overdue.get(i);
+            assertTrue(i == 0 || overdue.get(i - 1).getDaysOverdue() >= o.getDaysOverdue(), "overdue order");
+            overdueLines.add("overdue " + o.getDaysOverdue() + " " + o.getBookId() + " " + o.getMemberId()
+                    + " " + o.getFineAmount());
+        }
+        overdueLines.sort(null);
+        lines.addAll(overdueLines);
+        for (Member m : s.getMembers()) {
+            // Listed in the order they were placed, which restore only keeps per book
+            List<Integer> reserved = new ArrayList<>();
+            for (Reservation r : library.getReservationsForMember(m.getId())) reserved.add(r.getBookId());
+            reserved.sort(null);
+            List<Integer> held = new ArrayList<>();
+            for (Hold h : library.getHoldsForMember(m.getId())) held.add(h.getBookId());
+            held.sort(null);
+            lines.add("member " + m.getId() + " reserved " + reserved + " held " + held);
+        }
+        LibraryStats stats = library.getStats();
+        lines.add("stats " + stats.getTotalBooks() + " " + stats.getTotalMembers() + " " + stats.getTotalCopies()
+                + " " + stats.getAvailableCopies() + " " + stats.getTimesIssued() + " " + stats.getActiveLoans()
+                + " " + stats.getOverdueLoans() + " " + stats.getOverdueFines());
+        return lines;
+    }
+}
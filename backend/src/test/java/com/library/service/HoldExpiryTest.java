@@ -0,0 +1,146 @@
+package com.library.service;
+
+import com.library.model.Book;
+import com.library.model.Hold;
+import com.library.model.Member;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives hold expiry with a clock the test moves by hand: a returned copy is
+ * held for the first reservation, and once the pickup window has passed
+ * expireHolds hands it to the next reservation or back to the shelf.
+ */
+class HoldExpiryTest {
+
+    private static final Duration PICKUP = Duration.ofDays(3);
+
+    // A clock that only moves when told to
+    static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private MutableClock clock;
+    private LibraryService library;
+    private Book book;
+    private Member borrower, first, second;
+
+    // One copy on loan to borrower, with first and then second queued for it
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-03-01T10:00:00Z"));
+        library = new LibraryService();
+        library.setClock(clock);
+        library.setHoldPeriod(PICKUP);
+        book = LibraryServiceConcurrencyTest.addBooks(library, 1, 1).get(0);
+        List<Member> members = LibraryServiceConcurrencyTest.registerMembers(library, 3);
+        borrower = members.get(0);
+        first = members.get(1);
+        second = members.get(2);
+
+        library.issueBook(book.getId(), borrower.getId());
+        library.reserveBook(book.getId(), first.getId());
+        library.reserveBook(book.getId(), second.getId());
+    }
+
+    @Test
+    void returnedCopyIsHeldForFirstReservation() {
+        library.returnBook(book.getId(), borrower.getId());
+
+        List<Hold> holds = library.getHoldsForMember(first.getId());
+        assertEquals(1, holds.size());
+        assertEquals(clock.instant().plus(PICKUP), holds.get(0).getExpiresAt());
+        assertEquals(0, book.getAvailableCopies(), "a held copy is not on the shelf");
+        assertEquals(1, library.getReservationsForBook(book.getId()).size());
+    }
+
+    @Test
+    void expiredHoldMovesToNextReservation() {
+        library.returnBook(book.getId(), borrower.getId());
+
+        clock.advance(PICKUP.minusMinutes(1));
+        assertEquals(0, library.expireHolds(), "expired before the pickup window closed");
+        assertEquals(1, library.getHoldsForMember(first.getId()).size());
+
+        clock.advance(Duration.ofMinutes(2));
+        assertEquals(1, library.expireHolds());
+        assertTrue(library.getHoldsForMember(first.getId()).isEmpty());
+        List<Hold> next = library.getHoldsForMember(second.getId());
+        assertEquals(1, next.size());
+        assertEquals(clock.instant().plus(PICKUP), next.get(0).getExpiresAt());
+        assertEquals(0, book.getAvailableCopies(), "the copy went to the next reservation");
+        assertTrue(library.getReservationsForBook(book.getId()).isEmpty());
+    }
+
+    @Test
+    void lastExpiredHoldReturnsCopyToShelf() {
+        library.returnBook(book.getId(), borrower.getId());
+        clock.advance(PICKUP.plusMinutes(1));
+        assertEquals(1, library.expireHolds());
+        clock.advance(PICKUP.plusMinutes(1));
+        assertEquals(1, library.expireHolds());
+
+        assertTrue(library.getHolds().isEmpty());
+        assertEquals(1, book.getAvailableCopies());
+        assertEquals(0, library.expireHolds(), "nothing left to expire");
+    }
+
+    @Test
+    void pickedUpHoldNeverExpires() {
+        library.returnBook(book.getId(), borrower.getId());
+        library.issueBook(book.getId(), first.getId());
+
+        clock.advance(PICKUP.plusDays(1));
+        assertEquals(0, library.expireHolds());
+        assertTrue(first.getCurrentBorrowedBooks().contains(book.getId()));
+        assertTrue(library.getHolds().isEmpty());
+        assertEquals(1, library.getReservationsForBook(book.getId()).size(), "second is still waiting");
+    }
+
+    // A new clock moves pending deadlines onto a wheel starting at the new time
+    @Test
+    void holdsSurviveClockChange() {
+        library.returnBook(book.getId(), borrower.getId());
+        MutableClock later = new MutableClock(clock.instant().plus(Duration.ofDays(1)));
+        library.setClock(later);
+
+        later.advance(PICKUP.minusDays(1).minusMinutes(1));
+        assertEquals(0, library.expireHolds());
+        later.advance(Duration.ofMinutes(2));
+        assertEquals(1, library.expireHolds());
+        assertEquals(1, library.getHoldsForMember(second.getId()).size());
+    }
+}
@@ -0,0 +1,162 @@
+package com.library.service;
+
+import com.library.model.Book;
+import com.library.model.Hold;
+import com.library.model.IssueRecord;
+import com.library.model.Member;
+import com.library.persistence.LibrarySnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Issues and returns from many threads at once, a few hot books shared by
+ * everyone plus many books spread across the stripes, then checks that no copy
+ * was lost or invented and that every member's borrowed list matches the open
+ * issue records.
+ */
+class LibraryServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int OPS_PER_THREAD = 4000;
+    private static final int MEMBERS = 40;
+
+    // Every book has a copy for every member, so nothing is ever reserved or held
+    @Test
+    void issueAndReturnKeepCopiesConsistent() throws Exception {
+        LibraryService library = new LibraryService();
+        List<Book> books = addBooks(library, 64, MEMBERS);
+        List<Member> members = registerMembers(library, MEMBERS);
+
+        runConcurrently(library, books, members);
+
+        LibrarySnapshot snapshot = library.captureSnapshot(() -> 0L);
+        Map<Integer, Integer> loansByBook = new HashMap<>();
+        for (IssueRecord record : openRecords(snapshot)) {
+            loansByBook.merge(record.getBookId(), 1, Integer::sum);
+        }
+        for (Book book : books) {
+            int available = book.getAvailableCopies();
+            assertTrue(available >= 0 && available <= book.getTotalCopies(), "copies of " + book.getId());
+            assertEquals(book.getTotalCopies(), available + loansByBook.getOrDefault(book.getId(), 0),
+                    "available + active loans of " + book.getId());
+        }
+        assertTrue(snapshot.getHolds().isEmpty());
+        assertLoansMatchRecords(library, snapshot, members);
+    }
+
+    // Two copies each, so issues queue up and returns hand copies to holds
+    @Test
+    void scarceCopiesKeepCopiesConsistent() throws Exception {
+        LibraryService library = new LibraryService();
+        List<Book> books = addBooks(library, 16, 2);
+        List<Member> members = registerMembers(library, MEMBERS);
+
+        runConcurrently(library, books, members);
+
+        LibrarySnapshot snapshot = library.captureSnapshot(() -> 0L);
+        Map<Integer, Integer> loansByBook = new HashMap<>();
+        for (IssueRecord record : openRecords(snapshot)) {
+            loansByBook.merge(record.getBookId(), 1, Integer::sum);
+        }
+        Map<Integer, Integer> holdsByBook = new HashMap<>();
+        for (Hold hold : snapshot.getHolds()) {
+            holdsByBook.merge(hold.getBookId(), 1, Integer::sum);
+        }
+        for (Book book : books) {
+            int available = book.getAvailableCopies();
+            assertTrue(available >= 0 && available <= book.getTotalCopies(), "copies of " + book.getId());
+            // A held copy is neither on the shelf nor on loan
+            assertEquals(book.getTotalCopies(), available + loansByBook.getOrDefault(book.getId(), 0)
+                    + holdsByBook.getOrDefault(book.getId(), 0), "copies accounted for of " + book.getId());
+        }
+        assertLoansMatchRecords(library, snapshot, members);
+    }
+
+    // Half the operations go to the first four books, the rest anywhere
+    private static void runConcurrently(LibraryService library, List<Book> books, List<Member> members)
+            throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            SplittableRandom random = new SplittableRandom(t);
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    Book book = books.get(random.nextBoolean() ? random.nextInt(4) : random.nextInt(books.size()));
+                    Member member = members.get(random.nextInt(members.size()));
+                    if (random.nextBoolean()) {
+                        library.issueBook(book.getId(), member.getId());
+                    } else {
+                        library.returnBook(book.getId(), member.getId());
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+    }
+
+    private static void assertLoansMatchRecords(LibraryService library, LibrarySnapshot snapshot, List<Member> members) {
+        Map<Integer, Set<Integer>> openByMember = new HashMap<>();
+        List<IssueRecord> open = openRecords(snapshot);
+        for (IssueRecord record : open) {
+            assertTrue(openByMember.computeIfAbsent(record.getMemberId(), m -> new HashSet<>()).add(record.getBookId()),
+                    "two open records for member " + record.getMemberId() + " and book " + record.getBookId());
+        }
+        for (Member member : members) {
+            List<Integer> borrowed = member.getCurrentBorrowedBooks();
+            assertEquals(borrowed.size(), new HashSet<>(borrowed).size(), "duplicate loan for " + member.getId());
+            assertEquals(openByMember.getOrDefault(member.getId(), Set.of()), new HashSet<>(borrowed),
+                    "borrowed list of member " + member.getId());
+        }
+        assertEquals(open.size(), library.getStats().getActiveLoans());
+    }
+
+    private static List<IssueRecord> openRecords(LibrarySnapshot snapshot) {
+        List<IssueRecord> open = new ArrayList<>();
+        for (IssueRecord record : snapshot.getHistory()) {
+            if (snapshot.isOpen(record)) {
+                assertTrue(!record.isReturned(), "open record marked returned");
+                open.add(record);
+            }
+        }
+        return open;
+    }
+
+    static List<Book> addBooks(LibraryService library, int count, int copies) {
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            books.add(new Book(0, "Stress Title " + i, "Author " + i, "Category " + i % 4, copies, copies, 0));
+        }
+        return library.addBooks(books);
+    }
+
+    static List<Member> registerMembers(LibraryService library, int count) {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            members.add(library.registerMember(new Member(0, "Member " + i, "member" + i + "@test.example",
+                    String.valueOf(9_000_000_000L + i))));
+        }
+        return members;
+    }
+}
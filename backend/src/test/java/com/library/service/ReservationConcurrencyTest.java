@@ -0,0 +1,87 @@
+package com.library.service;
+
+import com.library.model.Book;
+import com.library.model.Member;
+import com.library.model.Reservation;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reserves, cancels, issues and returns single-copy books from many threads at
+ * once, so queues fill up and returns hand copies to the front of the queue,
+ * then checks that no member is queued twice for a book and that the queues
+ * and the per-member index hold exactly the same reservations.
+ */
+class ReservationConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int OPS_PER_THREAD = 4000;
+    private static final int MEMBERS = 40;
+
+    @Test
+    void queuesMatchMemberIndex() throws Exception {
+        LibraryService library = new LibraryService();
+        List<Book> books = LibraryServiceConcurrencyTest.addBooks(library, 8, 1);
+        List<Member> members = LibraryServiceConcurrencyTest.registerMembers(library, MEMBERS);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            SplittableRandom random = new SplittableRandom(t);
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    int bookId = books.get(random.nextInt(books.size())).getId();
+                    int memberId = members.get(random.nextInt(members.size())).getId();
+                    switch (random.nextInt(4)) {
+                        case 0 -> library.reserveBook(bookId, memberId);
+                        case 1 -> library.cancelReservation(bookId, memberId);
+                        case 2 -> library.issueBook(bookId, memberId);
+                        default -> library.returnBook(bookId, memberId);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        Set<String> queued = new HashSet<>();
+        for (Book book : books) {
+            Set<Integer> inQueue = new HashSet<>();
+            for (Reservation r : library.getReservationsForBook(book.getId())) {
+                assertEquals(book.getId(), r.getBookId(), "reservation in the wrong queue");
+                assertTrue(inQueue.add(r.getMemberId()),
+                        "member " + r.getMemberId() + " queued twice for book " + book.getId());
+                queued.add(r.getBookId() + ":" + r.getMemberId());
+            }
+        }
+        Set<String> indexed = new HashSet<>();
+        for (Member member : members) {
+            for (Reservation r : library.getReservationsForMember(member.getId())) {
+                assertEquals(member.getId(), r.getMemberId(), "reservation under the wrong member");
+                assertTrue(indexed.add(r.getBookId() + ":" + r.getMemberId()),
+                        "member " + member.getId() + " indexed twice for book " + r.getBookId());
+            }
+        }
+        assertEquals(queued, indexed, "queues and member index disagree");
+        assertEquals(queued.size(), library.getAllReservations().size());
+    }
+}
@@ -0,0 +1,53 @@
+package com.library.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entry point of benchmarks.jar. Takes the usual JMH options, and:
+ * - always adds the GC profiler, so every result carries its allocation rate
+ *   (gc.alloc.rate.norm is bytes allocated per operation);
+ * - accepts --threads=1,4,16 to run the selected benchmarks once per thread count.
+ *
+ * Examples:
+ *   java -jar target/benchmarks.jar AVLTreeBenchmark -p size=1000,1000000
+ *   java -jar target/benchmarks.jar ServiceBenchmark.issueAndReturn --threads=1,4,16
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        List<String> jmhArgs = new ArrayList<>();
+        List<Integer> threadCounts = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--threads=")) {
+                for (String t : arg.substring("--threads=".length()).split(",")) {
+                    threadCounts.add(Integer.parseInt(t.trim()));
+                }
+            } else {
+                jmhArgs.add(arg);
+            }
+        }
+        CommandLineOptions cmd = new CommandLineOptions(jmhArgs.toArray(new String[0]));
+        if (cmd.shouldHelp() || cmd.shouldList() || cmd.shouldListWithParams() || cmd.shouldListProfilers()
+                || cmd.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(jmhArgs.toArray(new String[0]));
+            return;
+        }
+        if (threadCounts.isEmpty()) {
+            threadCounts.add(-1); // As annotated or given with -t
+        }
+        for (int threads : threadCounts) {
+            ChainedOptionsBuilder options = new OptionsBuilder().parent(cmd).addProfiler(GCProfiler.class);
+            if (threads > 0) {
+                options.threads(threads);
+            }
+            new Runner(options.build()).run();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.library.benchmarks;
+
+import com.library.model.Book;
+import com.library.model.CirculationOperation;
+import com.library.model.CirculationResult;
+import com.library.model.Member;
+import com.library.persistence.WriteAheadLog;
+import com.library.service.LibraryService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * A checkout desk's pile: items books issued to one member and then returned,
+ * either as 2 x items single calls or as two processBatch calls. log is where
+ * the changes go: nowhere, a write-ahead log without fsync, or one with fsync,
+ * where every single call waits for its own sync and a batch waits once. Each
+ * thread has its own member and books, so --threads measures lock contention
+ * only between different piles.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CirculationBatchBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Desk {
+        @Param({"8", "32"})
+        int items;
+
+        @Param({"none", "wal", "fsync"})
+        String log;
+
+        LibraryService library;
+        WriteAheadLog wal;
+        Path dir;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            library = new LibraryService();
+            Libraries.populate(library, 1000);
+            if (!log.equals("none")) {
+                dir = Files.createTempDirectory("library-bench-");
+                wal = WriteAheadLog.open(dir, 0, log.equals("fsync"));
+                library.setMutationLog(wal);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            if (wal != null) {
+                wal.close();
+                try (Stream<Path> files = Files.walk(dir)) {
+                    for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                        Files.delete(p);
+                    }
+                }
+            }
+        }
+    }
+
+    // One member per thread with a pile of single-copy books nobody else touches
+    @State(Scope.Thread)
+    public static class Pile {
+        int memberId;
+        int[] bookIds;
+        List<CirculationOperation> issues = new ArrayList<>();
+        List<CirculationOperation> returns = new ArrayList<>();
+
+        @Setup(Level.Trial)
+        public void setup(Desk d, ThreadParams params) {
+            int thread = params.getThreadIndex();
+            Member member = d.library.registerMember(new Member(0, "Desk Patron " + thread,
+                    "desk" + thread + "@bench.example", String.valueOf(7_000_000_000L + thread)));
+            memberId = member.getId();
+            List<Book> books = new ArrayList<>();
+            for (int i = 0; i < d.items; i++) {
+                books.add(new Book(0, "Desk Pile " + thread + " Item " + i, "Bench", "Desk", 1, 1, 0));
+            }
+            d.library.addBooks(books);
+            bookIds = books.stream().mapToInt(Book::getId).toArray();
+            for (int bookId : bookIds) {
+                issues.add(new CirculationOperation("issue", bookId, memberId));
+                returns.add(new CirculationOperation("return", bookId, memberId));
+            }
+        }
+    }
+
+    @Benchmark
+    public String singleCalls(Desk d, Pile p) {
+        String last = null;
+        for (int bookId : p.bookIds) {
+            last = d.library.issueBook(bookId, p.memberId);
+        }
+        for (int bookId : p.bookIds) {
+            last = d.library.returnBook(bookId, p.memberId);
+        }
+        return last;
+    }
+
+    @Benchmark
+    public List<CirculationResult> batch(Desk d, Pile p) {
+        d.library.processBatch(p.issues);
+        return d.library.processBatch(p.returns);
+    }
+}
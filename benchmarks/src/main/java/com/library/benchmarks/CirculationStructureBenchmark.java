@@ -0,0 +1,161 @@
+package com.library.benchmarks;
+
+import com.library.ds.LatencyHistogram;
+import com.library.ds.LoanIndex;
+import com.library.ds.OverdueCounter;
+import com.library.ds.StripedLock;
+import com.library.ds.TimingWheel;
+import com.library.model.IssueRecord;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The structures behind circulation: LoanIndex (open loans, size of them),
+ * OverdueCounter and TimingWheel (size loans or holds pending), and the
+ * StripedLock and LatencyHistogram every request goes through. The shared
+ * structures are used by every thread; the counter and the wheel are not
+ * thread-safe and are per thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class CirculationStructureBenchmark {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 1, 1);
+    private static final int DUE_DAYS = 60; // Open loans fall due over this many days
+    private static final long TICK_MILLIS = 1000;
+    private static final long HOLD_MILLIS = TimeUnit.DAYS.toMillis(3);
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+        @Param({"1000", "100000", "1000000", "10000000"})
+        int size;
+
+        LoanIndex loans;
+        int memberCount;
+        int bookCount;
+        StripedLock locks;
+        LatencyHistogram histogram;
+        int[] keys;
+
+        // Loan i is member i % memberCount borrowing book i % bookCount: three loans a member, two a book
+        @Setup(Level.Trial)
+        public void setup() {
+            memberCount = Math.max(1, size / 3);
+            bookCount = Math.max(1, size / 2);
+            loans = new LoanIndex();
+            for (int i = 0; i < size; i++) {
+                loans.open(new IssueRecord(i % bookCount, i % memberCount, TODAY, TODAY.plusDays(i % DUE_DAYS)));
+            }
+            locks = new StripedLock();
+            histogram = new LatencyHistogram();
+            keys = Datasets.keys(Cursor.KEYS, size);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Own {
+        OverdueCounter overdue;
+        TimingWheel<Integer> wheel;
+        long now;
+        long[] offsets;
+        int position;
+        int bookId; // Outside the preloaded range, so no other thread changes this loan's lists
+        int memberId;
+
+        @Setup(Level.Trial)
+        public void setup(Shared shared, ThreadParams thread) {
+            SplittableRandom random = new SplittableRandom(Datasets.SEED + thread.getThreadIndex());
+            long today = TODAY.toEpochDay();
+            overdue = new OverdueCounter(today);
+            wheel = new TimingWheel<>(TICK_MILLIS, now);
+            for (int i = 0; i < shared.size; i++) {
+                overdue.add(today + i % DUE_DAYS);
+                wheel.schedule(i, now + random.nextLong(HOLD_MILLIS));
+            }
+            offsets = new long[Cursor.KEYS];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = random.nextLong(HOLD_MILLIS);
+            }
+            bookId = shared.bookCount + thread.getThreadIndex();
+            memberId = shared.memberCount + thread.getThreadIndex();
+        }
+
+        long nextOffset() {
+            return offsets[position++ & (Cursor.KEYS - 1)];
+        }
+    }
+
+    @Benchmark
+    public IssueRecord loanFind(Shared s, Cursor c) {
+        int i = c.next(s.keys);
+        return s.loans.find(i % s.bookCount, i % s.memberCount);
+    }
+
+    @Benchmark
+    public List<IssueRecord> loanOpenByMember(Shared s, Cursor c) {
+        return s.loans.openByMember(c.next(s.keys) % s.memberCount);
+    }
+
+    @Benchmark
+    public IssueRecord loanOpenClose(Shared s, Own own) {
+        s.loans.open(new IssueRecord(own.bookId, own.memberId, TODAY, TODAY.plusDays(14)));
+        return s.loans.close(own.bookId, own.memberId);
+    }
+
+    @Benchmark
+    public OverdueCounter overdueAddRemove(Own own, Cursor c, Shared s) {
+        long dueDay = TODAY.toEpochDay() + c.next(s.keys) % DUE_DAYS;
+        own.overdue.add(dueDay);
+        own.overdue.remove(dueDay);
+        return own.overdue;
+    }
+
+    // What the stats endpoint does: catch up to today, then read count and fines
+    @Benchmark
+    public long overdueQuery(Own own) {
+        own.overdue.advance(TODAY.toEpochDay());
+        return own.overdue.overdueCount() + own.overdue.overdueDays();
+    }
+
+    @Benchmark
+    public boolean wheelScheduleCancel(Own own) {
+        TimingWheel.Timer<Integer> timer = own.wheel.schedule(-1, own.now + own.nextOffset());
+        return own.wheel.cancel(timer);
+    }
+
+    // One tick of the clock: expire what falls due (about size / 259 timers) and schedule as many again
+    @Benchmark
+    public int wheelAdvanceTick(Own own) {
+        own.now += TICK_MILLIS;
+        List<Integer> fired = own.wheel.advance(own.now);
+        for (Integer payload : fired) {
+            own.wheel.schedule(payload, own.now + HOLD_MILLIS);
+        }
+        return fired.size();
+    }
+
+    @Benchmark
+    public int stripedLockUnlock(Shared s, Cursor c) {
+        int id = c.next(s.keys);
+        s.locks.lock(id);
+        try {
+            return id;
+        } finally {
+            s.locks.unlock(id);
+        }
+    }
+
+    @Benchmark
+    public LatencyHistogram histogramRecord(Shared s, Cursor c) {
+        s.histogram.record(c.next(s.keys));
+        return s.histogram;
+    }
+}
@@ -0,0 +1,28 @@
+package com.library.benchmarks;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * Per-thread position in a benchmark's shared key array, so picking the next
+ * key costs an increment rather than a random number. Threads start at
+ * different offsets and so do not probe the same keys in lockstep.
+ */
+@State(Scope.Thread)
+public class Cursor {
+
+    static final int KEYS = 1 << 16; // Length of every key array walked by a cursor
+
+    private int position;
+
+    @Setup
+    public void setup(ThreadParams thread) {
+        position = thread.getThreadIndex() * 7919;
+    }
+
+    int next(int[] keys) {
+        return keys[position++ & (KEYS - 1)];
+    }
+}
@@ -0,0 +1,80 @@
+package com.library.benchmarks;
+
+import com.library.model.Book;
+import com.library.model.Member;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic test data shared by the benchmarks. The same size and seed
+ * always give the same books, members and keys, so runs are comparable.
+ */
+public final class Datasets {
+
+    static final long SEED = 42;
+
+    static final String[] WORDS = {
+            "river", "shadow", "garden", "empire", "silent", "winter", "code", "data", "algorithm", "journey",
+            "ocean", "mountain", "history", "secret", "light", "night", "city", "machine", "theory", "storm",
+            "kingdom", "memory", "island", "forest", "letters", "science", "design", "systems", "poems", "dream",
+            "fire", "glass", "iron", "paper", "stone", "golden", "hidden", "lost", "last", "first",
+            "modern", "ancient", "brief", "complete", "practical", "quiet", "wild", "broken", "northern", "eastern"
+    };
+    static final String[] CATEGORIES = {
+            "Fiction", "Tech", "Education", "History", "Science", "Children", "Poetry", "Biography"
+    };
+
+    private Datasets() {
+    }
+
+    // Books with IDs 1..n and titles of two to four words; large catalogs repeat some titles
+    static List<Book> books(int n) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Book> books = new ArrayList<>(n);
+        for (int i = 1; i <= n; i++) {
+            StringBuilder title = new StringBuilder(capitalize(word(random)));
+            for (int w = 1 + random.nextInt(3); w > 0; w--) {
+                title.append(' ').append(capitalize(word(random)));
+            }
+            int copies = 1 + random.nextInt(5);
+            books.add(new Book(i, title.toString(), "Author " + random.nextInt(Math.max(1, n / 10)),
+                    CATEGORIES[random.nextInt(CATEGORIES.length)], copies, copies, random.nextInt(100)));
+        }
+        return books;
+    }
+
+    // Members with unique emails and phones; IDs are left for the library to assign
+    static List<Member> members(int n) {
+        List<Member> members = new ArrayList<>(n);
+        for (int i = 1; i <= n; i++) {
+            members.add(new Member(0, "Member " + i, "member" + i + "@bench.library", String.format("9%09d", i)));
+        }
+        return members;
+    }
+
+    // Keys in 0..bound-1 in random order, for lookups that miss the cache like real traffic
+    static int[] keys(int count, int bound) {
+        SplittableRandom random = new SplittableRandom(SEED + 1);
+        int[] keys = new int[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = random.nextInt(bound);
+        }
+        return keys;
+    }
+
+    // A title prefix that narrows to roughly one in a few thousand titles: "River Sha"
+    static String titlePrefix(SplittableRandom random) {
+        String second = word(random);
+        return capitalize(word(random)) + " " + capitalize(second.substring(0, Math.min(3, second.length())));
+    }
+
+    static String word(SplittableRandom random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,178 @@
+package com.library.benchmarks;
+
+import com.library.ds.ConcurrentCustomHashMap;
+import com.library.ds.CustomHashMap;
+import com.library.ds.IntObjectMap;
+import com.library.model.Book;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CustomHashMap, ConcurrentCustomHashMap and IntObjectMap, keyed by book ID,
+ * with java.util.concurrent.ConcurrentHashMap as the baseline for the
+ * concurrent map. Lookups hit existing keys or miss just past them; puts
+ * overwrite an existing key so the map keeps its size. The thread-safe maps
+ * are shared by every thread, CustomHashMap writes go to a map per thread.
+ * The *Mixed groups run three readers against one writer on the same map.
+ * CustomHashMap never grows past its 16 buckets, so it gets its own state and
+ * stops at 100k entries; the large sizes would never finish.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class HashMapBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+        @Param({"1000", "100000", "1000000", "10000000"})
+        int size;
+
+        List<Book> books;
+        ConcurrentCustomHashMap<Integer, Book> concurrentMap;
+        ConcurrentHashMap<Integer, Book> jdkConcurrentMap;
+        IntObjectMap<Book> intMap;
+        int[] keys;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            books = Datasets.books(size);
+            concurrentMap = new ConcurrentCustomHashMap<>();
+            jdkConcurrentMap = new ConcurrentHashMap<>();
+            intMap = new IntObjectMap<>();
+            for (Book b : books) {
+                concurrentMap.put(b.getId(), b);
+                jdkConcurrentMap.put(b.getId(), b);
+                intMap.put(b.getId(), b);
+            }
+            keys = Datasets.keys(Cursor.KEYS, size);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Legacy {
+        @Param({"1000", "100000"})
+        int size;
+
+        List<Book> books;
+        CustomHashMap<Integer, Book> hashMap;
+        int[] keys;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            books = Datasets.books(size);
+            hashMap = new CustomHashMap<>();
+            for (Book b : books) {
+                hashMap.put(b.getId(), b);
+            }
+            keys = Datasets.keys(Cursor.KEYS, size);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Own {
+        CustomHashMap<Integer, Book> hashMap;
+
+        @Setup(Level.Trial)
+        public void setup(Legacy legacy) {
+            hashMap = new CustomHashMap<>();
+            for (Book b : legacy.books) {
+                hashMap.put(b.getId(), b);
+            }
+        }
+    }
+
+    @Benchmark
+    public Book hashMapGet(Legacy s, Cursor c) {
+        return s.hashMap.get(c.next(s.keys) + 1);
+    }
+
+    @Benchmark
+    public Book hashMapGetMiss(Legacy s, Cursor c) {
+        return s.hashMap.get(s.size + 1 + c.next(s.keys));
+    }
+
+    @Benchmark
+    public CustomHashMap<Integer, Book> hashMapPut(Legacy s, Own own, Cursor c) {
+        int key = c.next(s.keys);
+        own.hashMap.put(key + 1, s.books.get(key));
+        return own.hashMap;
+    }
+
+    @Benchmark
+    public Book concurrentGet(Shared s, Cursor c) {
+        return s.concurrentMap.get(c.next(s.keys) + 1);
+    }
+
+    @Benchmark
+    public ConcurrentCustomHashMap<Integer, Book> concurrentPut(Shared s, Cursor c) {
+        int key = c.next(s.keys);
+        s.concurrentMap.put(key + 1, s.books.get(key));
+        return s.concurrentMap;
+    }
+
+    @Benchmark
+    public Book concurrentHashMapGet(Shared s, Cursor c) {
+        return s.jdkConcurrentMap.get(c.next(s.keys) + 1);
+    }
+
+    @Benchmark
+    public ConcurrentHashMap<Integer, Book> concurrentHashMapPut(Shared s, Cursor c) {
+        int key = c.next(s.keys);
+        s.jdkConcurrentMap.put(key + 1, s.books.get(key));
+        return s.jdkConcurrentMap;
+    }
+
+    @Benchmark
+    @Group("concurrentMixed")
+    @GroupThreads(3)
+    public Book concurrentMixedGet(Shared s, Cursor c) {
+        return s.concurrentMap.get(c.next(s.keys) + 1);
+    }
+
+    @Benchmark
+    @Group("concurrentMixed")
+    @GroupThreads(1)
+    public ConcurrentCustomHashMap<Integer, Book> concurrentMixedPut(Shared s, Cursor c) {
+        int key = c.next(s.keys);
+        s.concurrentMap.put(key + 1, s.books.get(key));
+        return s.concurrentMap;
+    }
+
+    @Benchmark
+    @Group("concurrentHashMapMixed")
+    @GroupThreads(3)
+    public Book concurrentHashMapMixedGet(Shared s, Cursor c) {
+        return s.jdkConcurrentMap.get(c.next(s.keys) + 1);
+    }
+
+    @Benchmark
+    @Group("concurrentHashMapMixed")
+    @GroupThreads(1)
+    public ConcurrentHashMap<Integer, Book> concurrentHashMapMixedPut(Shared s, Cursor c) {
+        int key = c.next(s.keys);
+        s.jdkConcurrentMap.put(key + 1, s.books.get(key));
+        return s.jdkConcurrentMap;
+    }
+
+    @Benchmark
+    public Book intMapGet(Shared s, Cursor c) {
+        return s.intMap.get(c.next(s.keys) + 1);
+    }
+
+    @Benchmark
+    public Book intMapGetMiss(Shared s, Cursor c) {
+        return s.intMap.get(s.size + 1 + c.next(s.keys));
+    }
+
+    @Benchmark
+    public IntObjectMap<Book> intMapPut(Shared s, Cursor c) {
+        int key = c.next(s.keys);
+        s.intMap.put(key + 1, s.books.get(key));
+        return s.intMap;
+    }
+}
@@ -0,0 +1,110 @@
+package com.library.benchmarks;
+
+import com.library.ds.IndexedMinHeap;
+import com.library.ds.MinHeap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MinHeap and IndexedMinHeap holding size entries. Each insert is paired
+ * with an extractMin so the heap stays at its size; IndexedMinHeap also
+ * re-keys and removes arbitrary entries, as the due-date index does on
+ * returns. Neither heap is thread-safe, so every thread has its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class HeapBenchmark {
+
+    // Identity equality, like the IssueRecords in the due-date index
+    static final class Entry implements Comparable<Entry> {
+        long key;
+
+        Entry(long key) {
+            this.key = key;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return Long.compare(key, other.key);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Heaps {
+        @Param({"1000", "100000", "1000000", "10000000"})
+        int size;
+
+        MinHeap<Entry> minHeap;
+        IndexedMinHeap<Entry> indexedHeap;
+        Entry[] entries; // Those in indexedHeap, by slot
+        long[] keys;
+        int position;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            SplittableRandom random = new SplittableRandom(Datasets.SEED);
+            minHeap = new MinHeap<>(size + 1);
+            indexedHeap = new IndexedMinHeap<>(Comparator.naturalOrder(), size + 1);
+            entries = new Entry[size];
+            for (int i = 0; i < size; i++) {
+                minHeap.insert(new Entry(random.nextLong(size * 4L)));
+                entries[i] = new Entry(random.nextLong(size * 4L));
+                indexedHeap.insert(entries[i]);
+            }
+            keys = new long[Cursor.KEYS];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = random.nextLong(size * 4L);
+            }
+        }
+
+        long nextKey() {
+            return keys[position++ & (Cursor.KEYS - 1)];
+        }
+
+        Entry nextEntry() {
+            return entries[(int) (keys[position & (Cursor.KEYS - 1)] % size)];
+        }
+    }
+
+    @Benchmark
+    public Entry minHeapInsertExtract(Heaps h) {
+        h.minHeap.insert(new Entry(h.nextKey()));
+        return h.minHeap.extractMin();
+    }
+
+    // entries[] goes stale here, which is fine: each benchmark method gets fresh state
+    @Benchmark
+    public Entry indexedInsertExtract(Heaps h) {
+        h.indexedHeap.insert(new Entry(h.nextKey()));
+        return h.indexedHeap.extractMin();
+    }
+
+    @Benchmark
+    public IndexedMinHeap<Entry> indexedUpdate(Heaps h) {
+        Entry entry = h.nextEntry();
+        entry.key = h.nextKey();
+        h.indexedHeap.update(entry);
+        return h.indexedHeap;
+    }
+
+    @Benchmark
+    public IndexedMinHeap<Entry> indexedRemoveInsert(Heaps h) {
+        Entry entry = h.nextEntry();
+        h.indexedHeap.remove(entry);
+        entry.key = h.nextKey();
+        h.indexedHeap.insert(entry);
+        return h.indexedHeap;
+    }
+
+    @Benchmark
+    public List<Entry> indexedPeekSmallest(Heaps h) {
+        return h.indexedHeap.peekSmallest(50, e -> true);
+    }
+}
@@ -0,0 +1,95 @@
+package com.library.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.library.model.ImportJob;
+import com.library.service.ImportService;
+import com.library.service.LibraryService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk import of size books or members, from CSV or NDJSON, into an empty
+ * library; each measurement is one whole import. Records per second is size
+ * divided by the reported time.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ImportBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"1000", "100000", "1000000", "10000000"})
+        int size;
+
+        @Param({"csv", "ndjson"})
+        String format;
+
+        @Param({"books", "members"})
+        String records;
+
+        byte[] body;
+        ImportService importer;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            StringBuilder text = new StringBuilder();
+            boolean csv = format.equals(ImportService.FORMAT_CSV);
+            if (records.equals("books")) {
+                if (csv) text.append("title,author,category,totalCopies\n");
+                var books = Datasets.books(size);
+                for (int i = 0; i < size; i++) {
+                    var b = books.get(i);
+                    String title = b.getTitle() + " " + (i + 1); // Unique, so none is skipped as a duplicate
+                    text.append(csv
+                            ? title + "," + b.getAuthor() + "," + b.getCategory() + "," + b.getTotalCopies()
+                            : "{\"title\":\"" + title + "\",\"author\":\"" + b.getAuthor() + "\",\"category\":\""
+                                    + b.getCategory() + "\",\"totalCopies\":" + b.getTotalCopies() + "}").append('\n');
+                }
+            } else {
+                if (csv) text.append("name,email,phone\n");
+                for (var m : Datasets.members(size)) {
+                    text.append(csv
+                            ? m.getName() + "," + m.getEmail() + "," + m.getPhone()
+                            : "{\"name\":\"" + m.getName() + "\",\"email\":\"" + m.getEmail() + "\",\"phone\":\""
+                                    + m.getPhone() + "\"}").append('\n');
+                }
+            }
+            body = text.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        // A fresh, empty library for every import
+        @Setup(Level.Invocation)
+        public void freshLibrary() throws ReflectiveOperationException {
+            importer = new ImportService();
+            inject(importer, "libraryService", new LibraryService());
+            inject(importer, "objectMapper", new ObjectMapper().registerModule(new JavaTimeModule()));
+        }
+    }
+
+    @Benchmark
+    public ImportJob importRecords(Input in) {
+        var body = new ByteArrayInputStream(in.body);
+        ImportJob job = in.records.equals("books")
+                ? in.importer.importBooks(body, in.format)
+                : in.importer.importMembers(body, in.format);
+        if (job.getStatus() == ImportJob.Status.FAILED) {
+            throw new IllegalStateException(String.join("; ", job.getErrors()));
+        }
+        return job;
+    }
+
+    // ImportService is wired by Spring field injection
+    private static void inject(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -0,0 +1,59 @@
+package com.library.benchmarks;
+
+import com.library.model.Book;
+import com.library.model.Member;
+import com.library.service.LibraryService;
+import com.library.simulation.SimulatedClock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Builds a library of a given size for the service and persistence benchmarks:
+ * size books, a member for every four books, and a loan for every eight books
+ * issued over the last 30 days, so some are overdue. Nothing is returned and
+ * books with no copy left are skipped, so no reservations or holds are left.
+ */
+final class Libraries {
+
+    static final Instant NOW = Instant.parse("2025-06-01T10:00:00Z");
+    private static final int BATCH = 10_000;
+
+    private Libraries() {
+    }
+
+    static int memberCount(int size) {
+        return Math.max(10, size / 4);
+    }
+
+    // Fills an empty service; its clock ends at NOW
+    static void populate(LibraryService library, int size) {
+        SimulatedClock clock = new SimulatedClock(NOW.minus(Duration.ofDays(30)), ZoneOffset.UTC);
+        library.setClock(clock);
+
+        List<Book> books = Datasets.books(size);
+        for (int from = 0; from < size; from += BATCH) {
+            library.addBooks(books.subList(from, Math.min(size, from + BATCH)));
+        }
+        List<Member> members = Datasets.members(memberCount(size));
+        for (int from = 0; from < members.size(); from += BATCH) {
+            library.importMembers(members.subList(from, Math.min(members.size(), from + BATCH)));
+        }
+
+        SplittableRandom random = new SplittableRandom(Datasets.SEED);
+        int loans = size / 8;
+        for (int i = 0; i < loans; i++) {
+            if (i % Math.max(1, loans / 30) == 0 && i > 0) {
+                clock.advance(Duration.ofDays(1)); // Loans spread over the 30 days
+            }
+            Book book = books.get(random.nextInt(size));
+            if (book.getAvailableCopies() > 0) {
+                library.issueBook(book.getId(), members.get(random.nextInt(members.size())).getId());
+            }
+        }
+        library.setClock(new SimulatedClock(NOW, ZoneOffset.UTC));
+    }
+}
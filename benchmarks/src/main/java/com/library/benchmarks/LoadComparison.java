@@ -0,0 +1,161 @@
+package com.library.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Runs LoadGenerator against the backend once per request-thread mode and client
+ * count, then prints the throughput side by side. Every run gets its own server
+ * process with persistence on and a fresh data directory, so the modes see the
+ * same empty library and the same write-ahead log work.
+ *
+ * Virtual request threads need the server to run on Java 21 or later; point
+ * --java at that runtime (the build itself still targets Java 17). On an older
+ * runtime the server ignores the setting, so both modes measure platform threads.
+ *
+ *   java -cp benchmarks/target/benchmarks.jar com.library.benchmarks.LoadComparison \
+ *        --java=/opt/jdk-21/bin/java --clients=1000,10000
+ *
+ * Options: --jar (the backend jar), --java, --port, --modes=platform,virtual,
+ * --clients=1000,10000 and --startup-seconds; anything else is passed through to
+ * LoadGenerator (--duration-seconds, --think-millis, ...).
+ */
+public class LoadComparison {
+
+    static class Options {
+        String jar = "backend/target/backend-0.0.1-SNAPSHOT.jar";
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        int port = 8090;
+        List<String> modes = List.of("platform", "virtual");
+        List<Integer> clients = List.of(1000, 10000);
+        int startupSeconds = 120;
+        List<String> loadArgs = new ArrayList<>();
+
+        static Options parse(String[] args) {
+            Options o = new Options();
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (!arg.startsWith("--") || eq < 0) {
+                    throw new IllegalArgumentException("Expected --name=value, got " + arg);
+                }
+                String value = arg.substring(eq + 1);
+                switch (arg.substring(2, eq)) {
+                    case "jar" -> o.jar = value;
+                    case "java" -> o.java = value;
+                    case "port" -> o.port = Integer.parseInt(value);
+                    case "modes" -> o.modes = List.of(value.split(","));
+                    case "clients" -> {
+                        List<Integer> counts = new ArrayList<>();
+                        for (String c : value.split(",")) counts.add(Integer.parseInt(c.trim()));
+                        o.clients = counts;
+                    }
+                    case "startup-seconds" -> o.startupSeconds = Integer.parseInt(value);
+                    case "url", "label" ->
+                            throw new IllegalArgumentException(arg + " is set by LoadComparison");
+                    default -> o.loadArgs.add(arg);
+                }
+            }
+            for (String mode : o.modes) {
+                if (!mode.equals("platform") && !mode.equals("virtual")) {
+                    throw new IllegalArgumentException("Unknown mode " + mode + "; expected platform or virtual");
+                }
+            }
+            return o;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        List<String> rows = new ArrayList<>();
+        for (int clients : options.clients) {
+            for (String mode : options.modes) {
+                double throughput = run(options, mode, clients);
+                rows.add(String.format(Locale.ROOT, "%-10s %,10d %,12.0f", mode, clients, throughput));
+            }
+        }
+        System.out.printf(Locale.ROOT, "%n== Summary ==%n%-10s %10s %12s%n", "mode", "clients", "req/s");
+        rows.forEach(System.out::println);
+        System.exit(0); // The HttpClient's selector threads are not daemons
+    }
+
+    // One server process and one load run; returns the measured requests per second
+    private static double run(Options options, String mode, int clients) throws Exception {
+        Path dataDir = Files.createTempDirectory("library-load-");
+        Path log = dataDir.resolve("server.log");
+        List<String> command = new ArrayList<>(List.of(options.java, "-jar", options.jar,
+                "--server.port=" + options.port,
+                "--library.persistence.enabled=true",
+                "--library.persistence.dir=" + dataDir.resolve("data"),
+                "--server.tomcat.max-connections=" + (clients + 2000),
+                "--spring.threads.virtual.enabled=" + mode.equals("virtual")));
+        System.out.printf(Locale.ROOT, "%nStarting the backend with %s request threads for %,d clients (log: %s)%n",
+                mode, clients, log);
+        Process server = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            String url = "http://localhost:" + options.port + "/api";
+            awaitReady(server, url, options.startupSeconds);
+
+            List<String> loadArgs = new ArrayList<>(options.loadArgs);
+            loadArgs.add("--url=" + url);
+            loadArgs.add("--clients=" + clients);
+            loadArgs.add("--label=" + mode);
+            LoadGenerator generator = new LoadGenerator(LoadGenerator.Options.parse(loadArgs.toArray(new String[0])),
+                    System.out);
+            try {
+                generator.setUp();
+                return generator.run();
+            } finally {
+                generator.close();
+            }
+        } finally {
+            server.destroy();
+            if (!server.waitFor(30, TimeUnit.SECONDS)) {
+                server.destroyForcibly().waitFor();
+            }
+            deleteRecursively(dataDir.resolve("data"));
+        }
+    }
+
+    // Polls /stats until the server answers
+    private static void awaitReady(Process server, String url, int timeoutSeconds)
+            throws IOException, InterruptedException {
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/stats"))
+                .timeout(Duration.ofSeconds(5)).build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        while (System.nanoTime() < deadline) {
+            if (!server.isAlive()) {
+                throw new IOException("The backend exited with " + server.exitValue() + " during startup");
+            }
+            try {
+                if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) return;
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            TimeUnit.MILLISECONDS.sleep(500);
+        }
+        throw new IOException("The backend did not start within " + timeoutSeconds + " s");
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) return;
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(p);
+            }
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.library.benchmarks;
+
+import com.library.ds.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP load test against a running backend, for comparing platform and virtual
+ * request threads under a burst of concurrent clients.
+ *
+ * Each client is a closed loop: it sends a request, waits for the answer, pauses
+ * for the think time and sends the next. Clients borrow and return books (the
+ * writes wait for the write-ahead log when persistence is on), look books up,
+ * search and open member details. The clients themselves are asynchronous
+ * requests on one HttpClient, so 10,000 of them need no more than a few threads
+ * here. Before the run the catalog and members are bulk-imported; after a
+ * warm-up the counters restart and the measured window is reported per request
+ * type: completed requests, throughput, errors and latency percentiles.
+ *
+ * Start the server in each mode with the same settings and run the same load, e.g.
+ *   java -jar backend/target/backend-0.0.1-SNAPSHOT.jar --library.persistence.enabled=true \
+ *        --server.tomcat.max-connections=12000 [--spring.threads.virtual.enabled=true]
+ *   java -cp benchmarks/target/benchmarks.jar com.library.benchmarks.LoadGenerator --clients=10000 --label=virtual
+ * Give each run a fresh data directory so the imports start from an empty library.
+ * LoadComparison does all of this for both modes and several client counts.
+ */
+public class LoadGenerator {
+
+    enum Kind {
+        GET_BOOK("GET /books/{id}"),
+        SEARCH("GET /books/search"),
+        MEMBER_DETAILS("GET /members/{id}/details"),
+        ISSUE("POST /issue"),
+        RETURN("POST /return");
+
+        final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+    }
+
+    public static class Options {
+        public String url = "http://localhost:8080/api";
+        public String label = "";
+        public int clients = 1000;
+        public int books = 5000;
+        public int warmupSeconds = 10;
+        public int durationSeconds = 30;
+        public int thinkMillis = 0;
+        public int timeoutSeconds = 30;
+        public double writeRate = 0.3; // Share of requests that issue or return
+        public long seed = 42;
+
+        // --name=value, with names as the fields above in kebab case
+        public static Options parse(String[] args) {
+            Options o = new Options();
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (!arg.startsWith("--") || eq < 0) {
+                    throw new IllegalArgumentException("Expected --name=value, got " + arg);
+                }
+                String name = arg.substring(2, eq);
+                String value = arg.substring(eq + 1);
+                switch (name) {
+                    case "url" -> o.url = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                    case "label" -> o.label = value;
+                    case "clients" -> o.clients = Integer.parseInt(value);
+                    case "books" -> o.books = Integer.parseInt(value);
+                    case "warmup-seconds" -> o.warmupSeconds = Integer.parseInt(value);
+                    case "duration-seconds" -> o.durationSeconds = Integer.parseInt(value);
+                    case "think-millis" -> o.thinkMillis = Integer.parseInt(value);
+                    case "timeout-seconds" -> o.timeoutSeconds = Integer.parseInt(value);
+                    case "write-rate" -> o.writeRate = Double.parseDouble(value);
+                    case "seed" -> o.seed = Long.parseLong(value);
+                    default -> throw new IllegalArgumentException("Unknown option --" + name);
+                }
+            }
+            if (o.clients <= 0 || o.books <= 0 || o.durationSeconds <= 0) {
+                throw new IllegalArgumentException("clients, books and duration-seconds must be positive");
+            }
+            return o;
+        }
+    }
+
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)"); // First field of each streamed line
+    private static final String[] WORDS = {
+            "river", "shadow", "garden", "empire", "silent", "winter", "code", "data", "algorithm", "journey",
+            "ocean", "mountain", "history", "secret", "light", "night", "city", "machine", "theory", "storm"
+    };
+
+    private final Options options;
+    private final PrintStream out;
+    private final ExecutorService executor;
+    private final HttpClient http;
+    private final Map<Kind, LatencyHistogram> latency = new EnumMap<>(Kind.class);
+    private final Map<Kind, AtomicLong> errors = new EnumMap<>(Kind.class);
+    private final AtomicLong failures = new AtomicLong(); // Timeouts and refused connections
+    private int[] bookIds;
+    private int[] memberIds;
+    private volatile boolean running = true;
+
+    public LoadGenerator(Options options, PrintStream out) {
+        this.options = options;
+        this.out = out;
+        this.executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(options.timeoutSeconds))
+                .executor(executor)
+                .build();
+        for (Kind kind : Kind.values()) {
+            latency.put(kind, new LatencyHistogram());
+            errors.put(kind, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadGenerator generator = new LoadGenerator(Options.parse(args), System.out);
+        generator.setUp();
+        generator.run();
+        System.exit(0); // The HttpClient's selector thread is not a daemon
+    }
+
+    // --- Setup ---
+
+    // Imports the catalog and one member per client, then reads back their IDs
+    public void setUp() throws IOException, InterruptedException {
+        StringBuilder csv = new StringBuilder("title,author,category,totalCopies\n");
+        Random random = new Random(options.seed);
+        for (int i = 0; i < options.books; i++) {
+            csv.append(WORDS[random.nextInt(WORDS.length)]).append(' ')
+                    .append(WORDS[random.nextInt(WORDS.length)]).append(" load ").append(i)
+                    .append(",Author ").append(i % 500).append(",Category ").append(i % 20)
+                    .append(',').append(1 + random.nextInt(5)).append('\n');
+        }
+        post("/import/books", "text/csv", csv.toString());
+
+        csv = new StringBuilder("name,email,phone\n");
+        for (int i = 0; i < options.clients; i++) {
+            csv.append("Load Client ").append(i).append(",client").append(i).append("@load.example,")
+                    .append(6_000_000_000L + i).append('\n');
+        }
+        post("/import/members", "text/csv", csv.toString());
+
+        bookIds = streamIds("/books/stream");
+        memberIds = streamIds("/members/stream");
+        if (bookIds.length == 0 || memberIds.length == 0) {
+            throw new IllegalStateException("The library has no books or members to load");
+        }
+        out.printf(Locale.ROOT, "Library at %s: %,d books, %,d members%n", options.url, bookIds.length, memberIds.length);
+    }
+
+    private void post(String path, String contentType, String body) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(options.url + path))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException(path + " failed with " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    private int[] streamIds(String path) throws IOException, InterruptedException {
+        HttpResponse<java.util.stream.Stream<String>> response = http.send(
+                HttpRequest.newBuilder(URI.create(options.url + path)).build(), HttpResponse.BodyHandlers.ofLines());
+        return response.body().mapToInt(line -> {
+            Matcher m = ID.matcher(line);
+            return m.find() ? Integer.parseInt(m.group(1)) : -1;
+        }).filter(id -> id > 0).toArray();
+    }
+
+    // Stops the client's threads, for running several loads in one process
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    // --- Load ---
+
+    // Runs the load and prints the report; returns the measured requests per second
+    public double run() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(options.clients);
+        Random seeds = new Random(options.seed);
+        for (int i = 0; i < options.clients; i++) {
+            new Client(memberIds[i % memberIds.length], new Random(seeds.nextLong()), done).next();
+        }
+
+        TimeUnit.SECONDS.sleep(options.warmupSeconds);
+        latency.values().forEach(LatencyHistogram::reset);
+        errors.values().forEach(e -> e.set(0));
+        failures.set(0);
+        long started = System.nanoTime();
+        TimeUnit.SECONDS.sleep(options.durationSeconds);
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long total = report(seconds); // Taken before the stragglers finish, so every count is within the window
+        running = false;
+        done.await(options.timeoutSeconds + 5L, TimeUnit.SECONDS);
+        return total / seconds;
+    }
+
+    // One simulated patron: borrows a book, browses, returns it, and so on
+    private final class Client {
+        final int memberId;
+        final Random random;
+        final CountDownLatch done;
+        int borrowed = -1; // Book the member has out, if any
+
+        Client(int memberId, Random random, CountDownLatch done) {
+            this.memberId = memberId;
+            this.random = random;
+            this.done = done;
+        }
+
+        void next() {
+            if (!running) {
+                done.countDown();
+                return;
+            }
+            Kind kind;
+            int bookId;
+            if (random.nextDouble() < options.writeRate) {
+                kind = borrowed < 0 ? Kind.ISSUE : Kind.RETURN;
+                bookId = borrowed < 0 ? bookIds[random.nextInt(bookIds.length)] : borrowed;
+            } else {
+                int r = random.nextInt(10);
+                kind = r < 6 ? Kind.GET_BOOK : r < 8 ? Kind.SEARCH : Kind.MEMBER_DETAILS;
+                bookId = bookIds[random.nextInt(bookIds.length)];
+            }
+            HttpRequest request = request(kind, bookId);
+            long sent = System.nanoTime();
+            CompletableFuture<HttpResponse<String>> call = http.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+            call.whenComplete((response, error) -> {
+                long elapsed = System.nanoTime() - sent;
+                if (error != null) {
+                    failures.incrementAndGet();
+                } else {
+                    latency.get(kind).record(elapsed);
+                    if (response.statusCode() != 200) {
+                        errors.get(kind).incrementAndGet();
+                    } else if (kind == Kind.ISSUE && response.body().startsWith("Book issued")) {
+                        borrowed = bookId;
+                    } else if (kind == Kind.RETURN) {
+                        borrowed = -1;
+                    }
+                }
+                if (options.thinkMillis > 0) {
+                    CompletableFuture.delayedExecutor(options.thinkMillis, TimeUnit.MILLISECONDS).execute(this::next);
+                } else {
+                    next();
+                }
+            });
+        }
+
+        HttpRequest request(Kind kind, int bookId) {
+            String path = switch (kind) {
+                case GET_BOOK -> "/books/" + bookId;
+                case SEARCH -> "/books/search?q=" + WORDS[random.nextInt(WORDS.length)];
+                case MEMBER_DETAILS -> "/members/" + memberId + "/details";
+                case ISSUE -> "/issue?bookId=" + bookId + "&memberId=" + memberId;
+                case RETURN -> "/return?bookId=" + bookId + "&memberId=" + memberId;
+            };
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(options.url + path))
+                    .timeout(Duration.ofSeconds(options.timeoutSeconds));
+            return kind == Kind.ISSUE || kind == Kind.RETURN
+                    ? builder.POST(HttpRequest.BodyPublishers.noBody()).build()
+                    : builder.GET().build();
+        }
+    }
+
+    // --- Report ---
+
+    // Prints the window's counts and latencies; returns the requests completed
+    private long report(double seconds) {
+        long total = 0;
+        List<String> rows = new ArrayList<>();
+        for (Kind kind : Kind.values()) {
+            LatencyHistogram h = latency.get(kind);
+            total += h.getCount();
+            rows.add(String.format(Locale.ROOT, "%-26s %,10d %,10.0f %8d %9.1f %9.1f %9.1f %9.1f",
+                    kind.label, h.getCount(), h.getCount() / seconds, errors.get(kind).get(),
+                    h.getValueAtPercentile(50) / 1e6, h.getValueAtPercentile(99) / 1e6,
+                    h.getValueAtPercentile(99.9) / 1e6, h.getMax() / 1e6));
+        }
+        out.printf(Locale.ROOT, "%n== %s%d clients, %d s ==%n", options.label.isEmpty() ? "" : options.label + ", ",
+                options.clients, Math.round(seconds));
+        out.printf(Locale.ROOT, "%-26s %10s %10s %8s %9s %9s %9s %9s%n",
+                "request", "completed", "req/s", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        rows.forEach(out::println);
+        out.printf(Locale.ROOT, "%-26s %,10d %,10.0f%n", "total", total, total / seconds);
+        out.printf(Locale.ROOT, "%,d requests timed out or were refused%n", failures.get());
+        return total;
+    }
+}
@@ -0,0 +1,109 @@
+package com.library.benchmarks;
+
+import com.library.persistence.LibrarySnapshot;
+import com.library.persistence.SnapshotStore;
+import com.library.persistence.WriteAheadLog;
+import com.library.service.LibraryService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Startup and snapshot costs for a library of size books (see Libraries).
+ * recover does what PersistenceManager does at startup - load the newest
+ * snapshot, then replay the log after it - against a data directory where the
+ * whole state is either in a snapshot ("snapshot") or only in the log
+ * ("replay"), which shows what snapshotting saves. snapshot captures and
+ * writes a full snapshot of a running library.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class PersistenceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class DataDir {
+        @Param({"1000", "100000", "1000000", "10000000"})
+        int size;
+
+        @Param({"snapshot", "replay"})
+        String startFrom;
+
+        Path dir;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            dir = Files.createTempDirectory("library-bench-");
+            LibraryService library = new LibraryService();
+            WriteAheadLog wal = WriteAheadLog.open(dir, 0, false);
+            library.setMutationLog(wal);
+            Libraries.populate(library, size);
+            if (startFrom.equals("snapshot")) {
+                new SnapshotStore(dir).write(library.captureSnapshot(wal::rotate));
+                wal.deleteOldSegments();
+            }
+            wal.close();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            delete(dir);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Running {
+        @Param({"1000", "100000", "1000000", "10000000"})
+        int size;
+
+        LibraryService library;
+        Path dir;
+        long sequence;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            library = new LibraryService();
+            Libraries.populate(library, size);
+            dir = Files.createTempDirectory("library-bench-");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            delete(dir);
+        }
+    }
+
+    @Benchmark
+    public LibraryService recover(DataDir d) throws IOException {
+        LibraryService library = new LibraryService();
+        LibrarySnapshot snapshot = new SnapshotStore(d.dir).readLatest();
+        long after = 0;
+        if (snapshot != null) {
+            library.restore(snapshot);
+            after = snapshot.getSequence();
+        }
+        WriteAheadLog.replay(d.dir, after, library::apply);
+        return library;
+    }
+
+    @Benchmark
+    public Path snapshot(Running r) throws IOException {
+        long sequence = ++r.sequence;
+        return new SnapshotStore(r.dir).write(r.library.captureSnapshot(() -> sequence));
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(p);
+            }
+        }
+    }
+}
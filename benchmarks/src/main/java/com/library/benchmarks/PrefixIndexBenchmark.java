@@ -0,0 +1,90 @@
+package com.library.benchmarks;
+
+import com.library.ds.InvertedIndex;
+import com.library.ds.RadixTrie;
+import com.library.ds.Trie;
+import com.library.model.Book;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Title and text indexes: Trie and RadixTrie (prefix listing and top-k
+ * autocomplete) and InvertedIndex (word-prefix search). All three are shared
+ * by every thread. Listing a prefix returns every match, so its cost grows
+ * with the catalog; top-k does not.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class PrefixIndexBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+        @Param({"1000", "100000", "1000000", "10000000"})
+        int size;
+
+        List<Book> books;
+        Trie trie;
+        RadixTrie radixTrie;
+        InvertedIndex invertedIndex;
+        String[] prefixes; // "River Sha"
+        String[] stems; // "riv"
+        String[] queries; // "riv sha"
+        int[] indexes;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            books = Datasets.books(size);
+            trie = new Trie();
+            for (Book b : books) {
+                trie.insert(b.getTitle(), b);
+            }
+            radixTrie = new RadixTrie();
+            radixTrie.build(books);
+            invertedIndex = new InvertedIndex();
+            invertedIndex.addAll(books);
+
+            SplittableRandom random = new SplittableRandom(Datasets.SEED);
+            prefixes = new String[Cursor.KEYS];
+            stems = new String[Cursor.KEYS];
+            queries = new String[Cursor.KEYS];
+            indexes = new int[Cursor.KEYS];
+            for (int i = 0; i < Cursor.KEYS; i++) {
+                prefixes[i] = Datasets.titlePrefix(random);
+                stems[i] = Datasets.word(random).substring(0, 3);
+                queries[i] = prefixes[i].toLowerCase();
+                indexes[i] = i;
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Book> trieSearchPrefix(Shared s, Cursor c) {
+        return s.trie.searchPrefix(s.prefixes[c.next(s.indexes)]);
+    }
+
+    @Benchmark
+    public List<Book> trieTopK(Shared s, Cursor c) {
+        return s.trie.topK(s.stems[c.next(s.indexes)], 10);
+    }
+
+    @Benchmark
+    public List<Book> radixSearchPrefix(Shared s, Cursor c) {
+        return s.radixTrie.searchPrefix(s.prefixes[c.next(s.indexes)]);
+    }
+
+    @Benchmark
+    public List<Book> radixTopK(Shared s, Cursor c) {
+        return s.radixTrie.topK(s.stems[c.next(s.indexes)], 10);
+    }
+
+    @Benchmark
+    public List<Book> invertedIndexSearch(Shared s, Cursor c) {
+        return s.invertedIndex.search(s.queries[c.next(s.indexes)], 100);
+    }
+}
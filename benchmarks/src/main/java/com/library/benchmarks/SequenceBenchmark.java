@@ -0,0 +1,125 @@
+package com.library.benchmarks;
+
+import com.library.ds.ChunkedArrayList;
+import com.library.ds.CircularQueue;
+import com.library.ds.CustomLinkedList;
+import com.library.ds.CustomStack;
+import com.library.ds.ReservationQueue;
+import com.library.model.Reservation;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequential containers holding size elements: ChunkedArrayList (the issue
+ * history), CustomLinkedList, CustomStack, CircularQueue and ReservationQueue.
+ * Adds are paired with removals so the container keeps its size, except for
+ * the append-only ChunkedArrayList, which is refilled every iteration.
+ * ChunkedArrayList and ReservationQueue are shared by every thread; the others
+ * are not thread-safe and are per thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class SequenceBenchmark {
+
+    private static final LocalDateTime RESERVED_AT = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+        @Param({"1000", "100000", "1000000", "10000000"})
+        int size;
+
+        ChunkedArrayList<Integer> history;
+        ReservationQueue queue;
+        int[] keys;
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            history = new ChunkedArrayList<>();
+            queue = new ReservationQueue();
+            for (int i = 0; i < size; i++) {
+                history.add(i);
+                queue.enqueue(new Reservation(1, i, RESERVED_AT));
+            }
+            keys = Datasets.keys(Cursor.KEYS, size);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Own {
+        CustomLinkedList<Integer> list;
+        CustomStack<Integer> stack;
+        CircularQueue<Integer> circular;
+
+        @Setup(Level.Trial)
+        public void setup(Shared shared) {
+            list = new CustomLinkedList<>();
+            stack = new CustomStack<>();
+            circular = new CircularQueue<>(shared.size + 1);
+            for (int i = 0; i < shared.size; i++) {
+                list.add(i);
+                stack.push(i);
+                circular.enqueue(i);
+            }
+        }
+    }
+
+    @Benchmark
+    public Integer chunkedGet(Shared s, Cursor c) {
+        return s.history.get(c.next(s.keys));
+    }
+
+    @Benchmark
+    public ChunkedArrayList<Integer> chunkedAdd(Shared s, Cursor c) {
+        s.history.add(c.next(s.keys));
+        return s.history;
+    }
+
+    // Walks from the head - O(index)
+    @Benchmark
+    public Integer linkedListGet(Shared s, Own own, Cursor c) {
+        return own.list.get(c.next(s.keys));
+    }
+
+    @Benchmark
+    public boolean linkedListAddFirstRemove(Own own, Cursor c, Shared s) {
+        Integer value = -1 - c.next(s.keys);
+        own.list.addFirst(value);
+        return own.list.remove(value);
+    }
+
+    @Benchmark
+    public Integer stackPushPop(Own own, Cursor c, Shared s) {
+        own.stack.push(c.next(s.keys));
+        return own.stack.pop();
+    }
+
+    @Benchmark
+    public Integer circularEnqueueDequeue(Own own, Cursor c, Shared s) {
+        own.circular.enqueue(c.next(s.keys));
+        return own.circular.dequeue();
+    }
+
+    // The front reservation is served and the member queues again at the back
+    @Benchmark
+    public int reservationRotate(Shared s) {
+        Reservation front = s.queue.dequeue();
+        return front == null ? -1 : s.queue.enqueue(front);
+    }
+
+    // A member anywhere in the queue cancels and queues again - O(1) wherever they were
+    @Benchmark
+    public int reservationCancelEnqueue(Shared s, Cursor c) {
+        Reservation cancelled = s.queue.cancel(c.next(s.keys));
+        return cancelled == null ? -1 : s.queue.enqueue(cancelled);
+    }
+
+    @Benchmark
+    public boolean reservationContains(Shared s, Cursor c) {
+        return s.queue.contains(c.next(s.keys));
+    }
+}
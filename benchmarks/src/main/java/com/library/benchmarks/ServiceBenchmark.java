@@ -0,0 +1,122 @@
+package com.library.benchmarks;
+
+import com.library.model.Book;
+import com.library.model.LibraryStats;
+import com.library.model.OverdueRecord;
+import com.library.service.LibraryService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LibraryService operations against one shared library of size books (see
+ * Libraries for what else it holds). Run with --threads=1,4,16 to see how the
+ * locks hold up under contention.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Library {
+        @Param({"1000", "100000", "1000000", "10000000"})
+        int size;
+
+        LibraryService library;
+        List<Book> books;
+        int members;
+        int[] keys;
+        String[] queries;
+        String[] prefixes;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            library = new LibraryService();
+            Libraries.populate(library, size);
+            books = library.getAllBooks();
+            members = Libraries.memberCount(size);
+            keys = Datasets.keys(Cursor.KEYS, size);
+            SplittableRandom random = new SplittableRandom(Datasets.SEED);
+            queries = new String[Cursor.KEYS];
+            prefixes = new String[Cursor.KEYS];
+            for (int i = 0; i < Cursor.KEYS; i++) {
+                queries[i] = Datasets.word(random) + " " + Datasets.word(random).substring(0, 3);
+                prefixes[i] = Datasets.titlePrefix(random);
+            }
+        }
+    }
+
+    // Members whose ID is congruent to the thread index, so threads never issue to the same member
+    @State(Scope.Thread)
+    public static class Borrower {
+        int thread;
+        int threads;
+
+        @Setup(Level.Trial)
+        public void setup(ThreadParams params) {
+            thread = params.getThreadIndex();
+            threads = params.getThreadCount();
+        }
+
+        int member(Library l, int key) {
+            int id = key % l.members;
+            id = id - id % threads + thread;
+            return (id < l.members ? id : thread % l.members) + 1;
+        }
+    }
+
+    // A full loan cycle; if every copy is out the member queues instead and cancels at once
+    @Benchmark
+    public String issueAndReturn(Library l, Borrower b, Cursor c) {
+        int key = c.next(l.keys);
+        int bookId = l.books.get(key).getId();
+        int memberId = b.member(l, key);
+        String issued = l.library.issueBook(bookId, memberId);
+        if (issued.startsWith("Book issued")) {
+            return l.library.returnBook(bookId, memberId);
+        }
+        return l.library.cancelReservation(bookId, memberId);
+    }
+
+    @Benchmark
+    public Book getBookById(Library l, Cursor c) {
+        return l.library.getBookById(l.books.get(c.next(l.keys)).getId());
+    }
+
+    @Benchmark
+    public List<Book> searchBooks(Library l, Cursor c) {
+        return l.library.searchBooks(l.queries[c.next(l.keys) & (Cursor.KEYS - 1)], 100);
+    }
+
+    @Benchmark
+    public List<Book> autocomplete(Library l, Cursor c) {
+        return l.library.autocomplete(l.prefixes[c.next(l.keys) & (Cursor.KEYS - 1)], 10);
+    }
+
+    @Benchmark
+    public List<OverdueRecord> overduePage(Library l) {
+        return l.library.getOverdueBooks(0, 50);
+    }
+
+    @Benchmark
+    public LibraryStats stats(Library l) {
+        return l.library.getStats();
+    }
+
+    @Benchmark
+    public List<Book> popularBooks(Library l) {
+        return l.library.getPopularBooks(null, 10);
+    }
+
+    @Benchmark
+    public HashMap<String, Object> memberDetails(Library l, Borrower b, Cursor c) {
+        return l.library.getMemberDetails(b.member(l, c.next(l.keys)));
+    }
+}
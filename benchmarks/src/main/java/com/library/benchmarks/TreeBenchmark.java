@@ -0,0 +1,131 @@
+package com.library.benchmarks;
+
+import com.library.ds.AVLTree;
+import com.library.ds.BinarySearchTree;
+import com.library.ds.RankingTree;
+import com.library.model.Book;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AVLTree (books by ID), BinarySearchTree and RankingTree (books by times issued).
+ * Lookups share one tree across threads; inserts into the unsynchronized trees
+ * use a tree per thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class TreeBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+        @Param({"1000", "100000", "1000000", "10000000"})
+        int size;
+
+        List<Book> books;
+        AVLTree avl;
+        BinarySearchTree bst;
+        RankingTree ranking;
+        int[] keys;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            books = Datasets.books(size);
+            avl = new AVLTree();
+            avl.bulkLoad(books);
+            bst = new BinarySearchTree();
+            List<Book> shuffled = new ArrayList<>(books);
+            Collections.shuffle(shuffled, new Random(Datasets.SEED)); // Sorted inserts would make a list
+            for (Book b : shuffled) {
+                bst.insert(b.getId(), b);
+            }
+            ranking = new RankingTree();
+            ranking.build(books);
+            keys = Datasets.keys(Cursor.KEYS, size);
+        }
+    }
+
+    // A tree per thread that grows during the iteration and is rebuilt before the next
+    @State(Scope.Thread)
+    public static class Growing {
+        AVLTree avl;
+        int nextKey;
+
+        @Setup(Level.Iteration)
+        public void setup(Shared shared) {
+            avl = new AVLTree();
+            avl.bulkLoad(shared.books);
+            nextKey = shared.size + 1;
+        }
+    }
+
+    // Each thread re-ranks only its own share of the books, so no two threads change one book
+    @State(Scope.Thread)
+    public static class OwnBooks {
+        int[] keys;
+        int position;
+
+        @Setup(Level.Trial)
+        public void setup(Shared shared, ThreadParams thread) {
+            int threads = thread.getThreadCount();
+            keys = new int[Cursor.KEYS];
+            for (int i = 0; i < keys.length; i++) {
+                int k = shared.keys[i] - shared.keys[i] % threads + thread.getThreadIndex();
+                keys[i] = k < shared.size ? k : thread.getThreadIndex();
+            }
+        }
+
+        int next() {
+            return keys[position++ & (Cursor.KEYS - 1)];
+        }
+    }
+
+    @Benchmark
+    public Book avlSearch(Shared s, Cursor c) {
+        return s.avl.search(c.next(s.keys) + 1);
+    }
+
+    @Benchmark
+    public List<Book> avlRangeAfter(Shared s, Cursor c) {
+        return s.avl.rangeAfter(c.next(s.keys), 50);
+    }
+
+    @Benchmark
+    public AVLTree avlInsert(Shared s, Growing g) {
+        g.avl.insert(g.nextKey, s.books.get(g.nextKey % s.size));
+        g.nextKey++;
+        return g.avl;
+    }
+
+    @Benchmark
+    public Book bstSearch(Shared s, Cursor c) {
+        return s.bst.search(c.next(s.keys) + 1);
+    }
+
+    @Benchmark
+    public List<Book> rankingTopK(Shared s) {
+        return s.ranking.topK(10);
+    }
+
+    @Benchmark
+    public int rankingRank(Shared s, Cursor c) {
+        return s.ranking.rank(s.books.get(c.next(s.keys)));
+    }
+
+    // One more issue of a book: re-position it in the ranking
+    @Benchmark
+    public RankingTree rankingUpdate(Shared s, OwnBooks own) {
+        Book book = s.books.get(own.next());
+        book.setTimesIssued(book.getTimesIssued() + 1);
+        s.ranking.update(book);
+        return s.ranking;
+    }
+}
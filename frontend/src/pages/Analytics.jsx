@@ -1,6 +1,6 @@
 import React, { useEffect, useState } from 'react';
 import { BarChart3, PieChart } from 'lucide-react';
-import { getBooks, getMembers } from '../services/api';
+import { getStats } from '../services/api';
 
 const Analytics = () => {
     const [stats, setStats] = useState({
@@ -12,19 +12,14 @@ const Analytics = () => {
     useEffect(() => {
         const fetchData = async () => {
             try {
-                const books = (await getBooks()).data;
+                const data = (await getStats()).data;
 
                 const categories = {};
-                let copies = 0;
-                let issued = 0;
-
-                books.forEach(book => {
-                    categories[book.category] = (categories[book.category] || 0) + 1;
-                    copies += book.totalCopies;
-                    issued += book.timesIssued;
+                data.categories.forEach(c => {
+                    categories[c.category] = c.books;
                 });
 
-                setStats({ categories, totalCopies: copies, totalIssued: issued });
+                setStats({ categories, totalCopies: data.totalCopies, totalIssued: data.timesIssued });
             } catch (err) {
                 console.error(err);
             }
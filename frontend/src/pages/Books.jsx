@@ -1,10 +1,11 @@
 import React, { useEffect, useState } from 'react';
 import { Plus, Search, Book as BookIcon, ArrowLeftRight, Clock } from 'lucide-react';
-import { getBooks, addBook, searchBooks, getBookReservations } from '../services/api';
+import { getBooksPage, addBook, searchBooks, getBookReservations } from '../services/api';
 import { motion, AnimatePresence } from 'framer-motion';
 
 const Books = () => {
     const [books, setBooks] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
     const [loading, setLoading] = useState(true);
     const [searchQuery, setSearchQuery] = useState('');
     const [selectedBook, setSelectedBook] = useState(null);
@@ -25,8 +26,9 @@ const Books = () => {
     const fetchBooks = async () => {
         setLoading(true);
         try {
-            const res = await getBooks();
-            setBooks(res.data);
+            const res = await getBooksPage(0);
+            setBooks(res.data.items);
+            setNextCursor(res.data.nextCursor);
         } catch (err) {
             console.error("Error fetching books", err);
         } finally {
@@ -34,6 +36,16 @@ const Books = () => {
         }
     };
 
+    const fetchMoreBooks = async () => {
+        try {
+            const res = await getBooksPage(nextCursor);
+            setBooks(prev => [...prev, ...res.data.items]);
+            setNextCursor(res.data.nextCursor);
+        } catch (err) {
+            console.error("Error fetching more books", err);
+        }
+    };
+
     useEffect(() => {
         fetchBooks();
     }, []);
@@ -48,6 +60,7 @@ const Books = () => {
         try {
             const res = await searchBooks(searchQuery);
             setBooks(res.data);
+            setNextCursor(null);
         } catch (err) {
             console.error("Search failed", err);
         } finally {
@@ -171,6 +184,17 @@ const Books = () => {
                 </div>
             )}
 
+            {!loading && nextCursor && (
+                <div className="flex justify-center">
+                    <button
+                        onClick={fetchMoreBooks}
+                        className="px-6 py-2 rounded-lg border border-slate-200 bg-white text-slate-700 hover:bg-slate-50 font-medium shadow-sm"
+                    >
+                        Load more
+                    </button>
+                </div>
+            )}
+
             {/* Add Book Modal */}
             {showModal && (
                 <div className="fixed inset-0 bg-black/50 backdrop-blur-sm z-50 flex items-center justify-center p-4">
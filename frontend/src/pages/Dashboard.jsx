@@ -2,7 +2,7 @@ import React, { useEffect, useState } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { BookOpen, Users, Clock, AlertTriangle } from 'lucide-react';
 import { motion } from 'framer-motion';
-import { getBooks, getMembers } from '../services/api';
+import { getStats } from '../services/api';
 
 const StatCard = ({ icon: Icon, title, value, color, delay }) => (
     <motion.div
@@ -27,21 +27,21 @@ const Dashboard = () => {
     const [stats, setStats] = useState({
         totalBooks: 0,
         totalMembers: 0,
-        activeIssues: 12, // Mock data for now
-        overdueBooks: 5,  // Mock data for now
+        activeIssues: 0,
+        overdueBooks: 0,
     });
 
     useEffect(() => {
         // Fetch real stats
         const fetchData = async () => {
             try {
-                const booksRes = await getBooks();
-                const membersRes = await getMembers();
-                setStats(prev => ({
-                    ...prev,
-                    totalBooks: booksRes.data.length,
-                    totalMembers: membersRes.data.length
-                }));
+                const { data } = await getStats();
+                setStats({
+                    totalBooks: data.totalBooks,
+                    totalMembers: data.totalMembers,
+                    activeIssues: data.activeLoans,
+                    overdueBooks: data.overdueLoans
+                });
             } catch (error) {
                 console.error("Failed to fetch dashboard data", error);
             }
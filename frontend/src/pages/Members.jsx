@@ -1,10 +1,11 @@
 import React, { useEffect, useState } from 'react';
 import { Plus, Users, UserPlus, Mail, Phone, Calendar, BookOpen, Clock, X } from 'lucide-react';
-import { getMembers, registerMember, getMemberDetails } from '../services/api';
+import { getMembersPage, registerMember, getMemberDetails } from '../services/api';
 import { motion, AnimatePresence } from 'framer-motion';
 
 const Members = () => {
     const [members, setMembers] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
     const [loading, setLoading] = useState(true);
     const [showModal, setShowModal] = useState(false);
     const [showDetailModal, setShowDetailModal] = useState(false);
@@ -20,8 +21,9 @@ const Members = () => {
     const fetchMembers = async () => {
         setLoading(true);
         try {
-            const res = await getMembers();
-            setMembers(res.data);
+            const res = await getMembersPage(0);
+            setMembers(res.data.items);
+            setNextCursor(res.data.nextCursor);
         } catch (err) {
             console.error("Error fetching members", err);
         } finally {
@@ -29,6 +31,16 @@ const Members = () => {
         }
     };
 
+    const fetchMoreMembers = async () => {
+        try {
+            const res = await getMembersPage(nextCursor);
+            setMembers(prev => [...prev, ...res.data.items]);
+            setNextCursor(res.data.nextCursor);
+        } catch (err) {
+            console.error("Error fetching more members", err);
+        }
+    };
+
     useEffect(() => {
         fetchMembers();
     }, []);
@@ -134,6 +146,17 @@ const Members = () => {
                 </div>
             )}
 
+            {!loading && nextCursor && (
+                <div className="flex justify-center">
+                    <button
+                        onClick={fetchMoreMembers}
+                        className="px-6 py-2 rounded-lg border border-slate-200 bg-white text-slate-700 hover:bg-slate-50 font-medium shadow-sm"
+                    >
+                        Load more
+                    </button>
+                </div>
+            )}
+
             {/* Register Member Modal */}
             {showModal && (
                 <div className="fixed inset-0 bg-black/50 backdrop-blur-sm z-50 flex items-center justify-center p-4">
@@ -1,21 +1,32 @@
 import React, { useEffect, useState } from 'react';
 import { AlertTriangle, Calendar, DollarSign, User, BookOpen } from 'lucide-react';
-import { getOverdueBooks } from '../services/api';
+import { getOverdueBooks, getStats } from '../services/api';
 import { motion, AnimatePresence } from 'framer-motion';
 
+// The server returns at most 1000 records per request, most overdue first
+const PAGE_SIZE = 100;
+
 const Overdue = () => {
     const [overdueRecords, setOverdueRecords] = useState([]);
+    const [hasMore, setHasMore] = useState(false);
+    const [totals, setTotals] = useState({ loans: 0, fines: 0 });
     const [loading, setLoading] = useState(true);
 
     useEffect(() => {
         fetchOverdueBooks();
     }, []);
 
+    // Totals come from the stats endpoint, so they cover pages not loaded yet
     const fetchOverdueBooks = async () => {
         setLoading(true);
         try {
-            const res = await getOverdueBooks();
+            const [res, stats] = await Promise.all([
+                getOverdueBooks({ offset: 0, limit: PAGE_SIZE }),
+                getStats(),
+            ]);
             setOverdueRecords(res.data);
+            setHasMore(res.data.length === PAGE_SIZE);
+            setTotals({ loans: stats.data.overdueLoans, fines: stats.data.overdueFines });
         } catch (err) {
             console.error("Error fetching overdue books", err);
         } finally {
@@ -23,6 +34,20 @@ const Overdue = () => {
         }
     };
 
+    const fetchMoreOverdueBooks = async () => {
+        try {
+            const res = await getOverdueBooks({ offset: overdueRecords.length, limit: PAGE_SIZE });
+            // Loans returned since the last page shift the offsets; skip rows already shown
+            setOverdueRecords(prev => {
+                const shown = new Set(prev.map(r => `${r.bookId}-${r.memberId}`));
+                return [...prev, ...res.data.filter(r => !shown.has(`${r.bookId}-${r.memberId}`))];
+            });
+            setHasMore(res.data.length === PAGE_SIZE);
+        } catch (err) {
+            console.error("Error fetching more overdue books", err);
+        }
+    };
+
     const getSeverityColor = (daysOverdue) => {
         if (daysOverdue > 10) return { bg: 'bg-red-50', border: 'border-red-200', text: 'text-red-700', badge: 'bg-red-500' };
         if (daysOverdue > 5) return { bg: 'bg-orange-50', border: 'border-orange-200', text: 'text-orange-700', badge: 'bg-orange-500' };
@@ -34,10 +59,12 @@ const Overdue = () => {
             <div className="flex justify-between items-center">
                 <div>
                     <h1 className="text-3xl font-bold text-slate-900">Overdue Books & Fines</h1>
-                    <p className="text-slate-500 mt-1">Managed priority queue using MinHeap</p>
+                    <p className="text-slate-500 mt-1">
+                        Most overdue first • showing {overdueRecords.length} of {totals.loans}
+                    </p>
                 </div>
                 <div className="bg-rose-100 text-rose-700 px-4 py-2 rounded-lg font-bold">
-                    ₹{overdueRecords.reduce((sum, r) => sum + r.fine, 0).toFixed(2)} Total Fines
+                    ₹{totals.fines.toFixed(2)} Total Fines
                 </div>
             </div>
 
@@ -60,7 +87,7 @@ const Overdue = () => {
                                     layout
                                     initial={{ opacity: 0, x: -20 }}
                                     animate={{ opacity: 1, x: 0 }}
-                                    transition={{ delay: index * 0.05 }}
+                                    transition={{ delay: (index % PAGE_SIZE) * 0.05 }}
                                     className={`${colors.bg} border ${colors.border} p-6 rounded-2xl shadow-sm hover:shadow-md transition-shadow`}
                                 >
                                     <div className="flex items-start justify-between">
@@ -100,6 +127,17 @@ const Overdue = () => {
                     </AnimatePresence>
                 </div>
             )}
+
+            {!loading && hasMore && (
+                <div className="flex justify-center">
+                    <button
+                        onClick={fetchMoreOverdueBooks}
+                        className="px-6 py-2 rounded-lg border border-slate-200 bg-white text-slate-700 hover:bg-slate-50 font-medium shadow-sm"
+                    >
+                        Load more
+                    </button>
+                </div>
+            )}
         </div>
     );
 };
@@ -1,40 +1,60 @@
 import React, { useState, useEffect } from 'react';
 import { Search as SearchIcon, BookOpen } from 'lucide-react';
-import { searchBooks } from '../services/api';
+import { autocompleteBooks, searchBooks } from '../services/api';
 import { motion, AnimatePresence } from 'framer-motion';
 
 const SearchPage = () => {
     const [query, setQuery] = useState('');
     const [results, setResults] = useState([]);
     const [loading, setLoading] = useState(false);
+    const [suggestions, setSuggestions] = useState([]);
+    const [showSuggestions, setShowSuggestions] = useState(false);
 
-    // Debounced search
+    // Debounced search: results come from the word index, suggestions from the trie's cached top-k
     useEffect(() => {
+        let cancelled = false;
         const timer = setTimeout(async () => {
-            if (query.trim()) {
+            const q = query.trim();
+            if (q) {
                 setLoading(true);
                 try {
-                    const res = await searchBooks(query);
-                    setResults(res.data);
+                    const [res, suggested] = await Promise.all([
+                        searchBooks(q),
+                        /^\d+$/.test(q) ? Promise.resolve({ data: [] }) : autocompleteBooks(query, 8),
+                    ]);
+                    if (!cancelled) {
+                        setResults(res.data);
+                        setSuggestions(suggested.data);
+                    }
                 } catch (err) {
                     console.error(err);
                 } finally {
-                    setLoading(false);
+                    if (!cancelled) setLoading(false);
                 }
             } else {
                 setResults([]);
+                setSuggestions([]);
             }
         }, 300);
 
-        return () => clearTimeout(timer);
+        return () => {
+            cancelled = true;
+            clearTimeout(timer);
+        };
     }, [query]);
 
+    const pickSuggestion = (book) => {
+        setQuery(book.title);
+        setShowSuggestions(false);
+    };
+
     return (
         <div className="max-w-4xl mx-auto space-y-8">
             <div className="text-center space-y-4 py-8">
                 <h1 className="text-4xl font-bold text-slate-900">Search Collection</h1>
                 <p className="text-slate-500 text-lg">
-                    Find books by title, author, or ID using our <span className="text-indigo-600 font-semibold">Trie-based</span> instant search.
+                    Find books by any word of the title, author or category, or by ID, using our <span className="text-indigo-600 font-semibold">full-text</span> instant search.
+                    Suggestions show the most borrowed titles starting with what you type.
                 </p>
 
                 <div className="relative max-w-2xl mx-auto">
@@ -44,7 +64,12 @@ const SearchPage = () => {
                         placeholder="Start typing to search..."
                         className="w-full pl-12 pr-4 py-4 rounded-2xl border border-slate-200 focus:ring-4 focus:ring-indigo-100 focus:border-indigo-500 outline-none text-lg shadow-sm"
                         value={query}
-                        onChange={e => setQuery(e.target.value)}
+                        onChange={e => {
+                            setQuery(e.target.value);
+                            setShowSuggestions(true);
+                        }}
+                        onFocus={() => setShowSuggestions(true)}
+                        onBlur={() => setShowSuggestions(false)}
                         autoFocus
                     />
                     {loading && (
@@ -52,6 +77,24 @@ const SearchPage = () => {
                             <div className="w-5 h-5 border-2 border-indigo-500 border-t-transparent rounded-full animate-spin"></div>
                         </div>
                     )}
+                    {showSuggestions && suggestions.length > 0 && (
+                        <ul className="absolute z-10 left-0 right-0 mt-2 bg-white rounded-xl shadow-lg border border-slate-100 text-left overflow-hidden">
+                            {suggestions.map((book) => (
+                                <li
+                                    key={book.id}
+                                    // mouseDown fires before the input's blur hides the list
+                                    onMouseDown={e => {
+                                        e.preventDefault();
+                                        pickSuggestion(book);
+                                    }}
+                                    className="px-4 py-2 cursor-pointer hover:bg-indigo-50 flex justify-between"
+                                >
+                                    <span className="text-slate-900">{book.title}</span>
+                                    <span className="text-slate-400 text-sm">by {book.author}</span>
+                                </li>
+                            ))}
+                        </ul>
+                    )}
                 </div>
             </div>
 
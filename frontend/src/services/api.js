@@ -11,26 +11,38 @@ const api = axios.create({
 });
 
 export const getBooks = () => api.get('/books');
+export const getBooksPage = (cursor, limit = 60) => api.get('/books', { params: { cursor, limit } });
 export const getBook = (id) => api.get(`/books/${id}`);
 export const addBook = (book) => api.post('/books', book);
-export const searchBooks = (query) => api.get(`/books/search?q=${query}`);
+export const searchBooks = (query) => api.get('/books/search', { params: { q: query } });
+export const autocompleteBooks = (prefix, k = 10) => api.get('/books/autocomplete', { params: { prefix, k } });
 export const getBooksByCategory = (category) => api.get(`/books/category/${category}`);
+export const getPopularBooks = (category, k = 10) => api.get('/books/popular', { params: { category, k } });
 
 export const getMembers = () => api.get('/members');
+export const getMembersPage = (cursor, limit = 60) => api.get('/members', { params: { cursor, limit } });
 export const registerMember = (member) => api.post('/members', member);
 export const getMember = (id) => api.get(`/members/${id}`);
 
 export const issueBook = (bookId, memberId) => api.post(`/issue?bookId=${bookId}&memberId=${memberId}`);
 export const returnBook = (bookId, memberId) => api.post(`/return?bookId=${bookId}&memberId=${memberId}`);
+export const processCirculationBatch = (operations) => api.post('/circulation/batch', operations);
 
 // Overdue &  Fines
-export const getOverdueBooks = () => api.get('/overdue');
+export const getOverdueBooks = (params) => api.get('/overdue', { params });
 
 // Reservations
 export const reserveBook = (bookId, memberId) =>
     api.post('/reserve', null, { params: { bookId, memberId } });
+export const cancelReservation = (bookId, memberId) =>
+    api.post('/reserve/cancel', null, { params: { bookId, memberId } });
 export const getReservations = () => api.get('/reservations');
 export const getBookReservations = (bookId) => api.get(`/reservations/${bookId}`);
+export const getHolds = (memberId) => api.get('/holds', { params: { memberId } });
+
+// Statistics
+export const getStats = () => api.get('/stats');
+export const getMetrics = () => api.get('/metrics');
 
 // Enhanced Member Details
 export const getMemberDetails = (id) => api.get(`/members/${id}/details`);